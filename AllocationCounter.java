@@ -0,0 +1,65 @@
+package indy;
+
+import java.lang.management.ManagementFactory;
+
+/**
+ * This is the AllocationCounter class. It measures how many bytes of memory the current thread creates
+ * between calls to start and stop, adding the result to a running total. The Simulation uses one around
+ * the part of each tick that shoots and moves the darts, to check that (once the pools of darts have
+ * filled up) a tick creates nothing at all. It relies on the JVM's own per-thread count of allocated
+ * bytes, so it works without any display and adds no cost when no counter is set.
+ */
+public class AllocationCounter {
+
+    private com.sun.management.ThreadMXBean threads;
+    private long startBytes;
+    private long totalBytes;
+    private long periods;
+
+    /**
+     * This is the AllocationCounter class' Constructor. It finds the JVM's thread bean and makes sure
+     * that it is counting allocations.
+     */
+    public AllocationCounter(){
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * This method is called just before the code being measured.
+     */
+    public void start(){
+        this.startBytes = this.threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * This method is called just after the code being measured, and it adds the bytes created since
+     * start was called to the total.
+     */
+    public void stop(){
+        this.totalBytes += this.threads.getCurrentThreadAllocatedBytes() - this.startBytes;
+        this.periods++;
+    }
+
+    /**
+     * This method sets the total and the number of periods measured back to zero.
+     */
+    public void reset(){
+        this.totalBytes = 0;
+        this.periods = 0;
+    }
+
+    /**
+     * Accessor method to get the total number of bytes created across every measured period.
+     */
+    public long getTotalBytes(){
+        return this.totalBytes;
+    }
+
+    /**
+     * Accessor method to get the number of periods measured since the last reset.
+     */
+    public long getPeriods(){
+        return this.periods;
+    }
+}
\ No newline at end of file
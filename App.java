@@ -2,6 +2,7 @@ package indy;
 
 import javafx.application.Application;
 import javafx.scene.Scene;
+import javafx.scene.input.KeyEvent;
 import javafx.stage.Stage;
 import static indy.Constants.*;
 
@@ -13,11 +14,14 @@ import static indy.Constants.*;
 
 public class App extends Application {
 
+    private PaneOrganizer organizer;
+
     @Override
     public void start(Stage stage) {
-        PaneOrganizer organizer = new PaneOrganizer();
-        Scene scene = new Scene(organizer.getRoot(),
+        this.organizer = new PaneOrganizer();
+        Scene scene = new Scene(this.organizer.getRoot(),
                 SCENE_WIDTH, SCENE_HEIGHT);
+        scene.setOnKeyPressed((KeyEvent e) -> this.organizer.handleKeyPress(e));
 
         stage.setScene(scene);
         stage.setResizable(false);
@@ -25,6 +29,11 @@ public class App extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        this.organizer.close();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
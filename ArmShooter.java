@@ -1,6 +1,5 @@
 package indy;
 
-import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.*;
@@ -10,54 +9,29 @@ import static indy.Constants.*;
 /**
  * This is the abstract ArmShooter class. It is the superclass for the NinjaMonkey and DartMonkey to
  * account for much of their shared functionality with animation and appearance. It contains instance
- * variables for monkey properties and animation, along with the DartOrganizer and the monkeys' shapes.
+ * variables for the monkeys' shapes and the base position of the arm, which is animated as they shoot.
  */
 abstract class ArmShooter extends Monkey {
 
-    private DartOrganizer dartOrg;
     private Shape[] shapes;
     private Rectangle arm;
     private Circle hand;
     private Pane monkeyPane;
-    private Node target;
-    private double animationClock;
-    private double xMove;
-    private double yMove;
     private double baseX;
     private double baseY;
-    private int sharpness;
-    private int range;
-    private int type;
-    private boolean piercing;
-    private boolean shooting;
-    private boolean camo;
 
     /**
      * This is the ArmShooter class' Constructor. It calls the superclass' Constructor, passing in all
      * relevant parameters, and sets up the rest of the ArmShooter's unique instance variables. The
-     * ArmShooter is uniquely associated with the DartOrganizer, and takes in arguments for the range,
-     * dart-sharpness, and camo properties.
+     * ArmShooter is uniquely associated with the monkey pane, and takes in the type of the monkey.
      */
-    public ArmShooter(Pane myMonkeyPane, DoublyLinkedList bloons, DartOrganizer darts,
-                      Pane myHitBoxPane, Pane myRangePane, ArrayList<Shape> myHitBoxes, int myRange,
-                      ArrayList<Monkey> monkeys, int mySharpness, boolean canSeeCamo){
-        super(bloons, myHitBoxPane, myRangePane, myHitBoxes, myRange, monkeys, canSeeCamo);
+    public ArmShooter(Pane myMonkeyPane, Pane myHitBoxPane, Pane myRangePane, ArrayList<Shape> myHitBoxes,
+                      int type, ArrayList<Monkey> monkeys){
+        super(myHitBoxPane, myRangePane, myHitBoxes, type, monkeys);
 
-        this.dartOrg = darts;
         this.monkeyPane = myMonkeyPane;
-
-        this.shooting = false;
-        this.piercing = false;
-        this.camo = canSeeCamo;
-
-        this.range = myRange;
-        this.sharpness = mySharpness;
-        this.animationClock = 0;
-        this.xMove = 0;
-        this.yMove = 0;
-        this.type = 0;
-
-        this.target = null;
+        this.baseX = 0;
+        this.baseY = 0;
     }
 
     /**
@@ -158,54 +132,29 @@ abstract class ArmShooter extends Monkey {
     }
 
     /**
-     * An implementation of the abstract shoot method defined in the superclass... It calls the superclass'
-     * aim method, and then if the monkey targets a Bloon, it creates a dart and begins an animation, which
-     * moves the monkey's hand and arm forward in the direction of the Bloon and then back into its body.
+     * This method overrides the superclass' render method. It rotates the monkey, and then uses the
+     * MonkeyModel's animation clock to move the monkey's hand and arm forward in the direction of the Bloon
+     * it shot at while the clock is between ANIMATION_START and ANIMATION_MID, and then back into its body
+     * while the clock is between ANIMATION_MID and ANIMATION_END.
      */
     @Override
-    public void shoot(){
-
-        // If the monkey is not in the act of shooting, re-assign the monkey's target Node...
-        if (!this.shooting){
-            this.target = super.aim();
-        }
-        // Otherwise, if the monkey is shooting, call the superclass' aim method and increment the timer.
-        else {
-            super.aim();
-            this.animationClock += ARM_ANIMATION_INCREMENT;
+    public void render(){
+        super.render();
+        double clock = super.getModel().getAnimationClock();
+
+        // Find how many ticks' worth of movement the arm should be away from its base.
+        double steps = 0;
+        if (clock > ANIMATION_START && clock < ANIMATION_MID){
+            steps = (clock - ANIMATION_START) / ARM_ANIMATION_INCREMENT;
         }
-
-        // Find the x and y increments needed to move the monkey's arm in the correct direction...
-        double angle = super.getRotate().getAngle() + QUART_CIRCLE;
-        if (this.target != null){
-            this.shooting = true;
-            this.xMove = ARM_ANIMATION_MULT * Math.cos(angle * Math.PI / HALF_CIRCLE);
-            this.yMove = ARM_ANIMATION_MULT * Math.sin(angle * Math.PI / HALF_CIRCLE);
+        else if (clock > ANIMATION_MID && clock <= ANIMATION_END){
+            steps = (2*ANIMATION_MID - ANIMATION_START - clock) / ARM_ANIMATION_INCREMENT;
         }
 
-        // When the animation begins, create a dart at the position of the hand and continue the animation.
-        if (this.animationClock > 0 && this.animationClock < ANIMATION_START){
-            this.dartOrg.newDart(this.hand.getTranslateX() - this.range, this.hand.getTranslateY()
-                            - this.range, angle - QUART_CIRCLE, this.range + DART_RANGE_INCREASE,
-                            this.type, this.piercing, this.sharpness, this.camo, 0);
-            this.animationClock = ANIMATION_START;
-        }
-        // While the clock is between ANIMATION_START and ANIMATION_MID, move the hand outward.
-        else if (this.animationClock > ANIMATION_START && this.animationClock < ANIMATION_MID){
-            this.moveArmHand(this.arm.getTranslateX(), this.arm.getTranslateY(),
-                    this.hand.getTranslateX(), this.hand.getTranslateY(), -this.xMove, -this.yMove);
-        }
-        // While the clock is between ANIMATION_MID and ANIMATION_END, move the hand back inward.
-        else if (this.animationClock > ANIMATION_MID && this.animationClock <= ANIMATION_END){
-            this.moveArmHand(this.arm.getTranslateX(), this.arm.getTranslateY(),
-                    this.hand.getTranslateX(), this.hand.getTranslateY(), this.xMove, this.yMove);
-        }
-        // When the animation ends, reset the position of the hand to account for any error and reset the clock.
-        else if (this.animationClock > ANIMATION_END){
-            this.animationClock = 0;
-            this.moveArmHand(this.baseX, this.baseY, this.baseX, this.baseY, 0, 0);
-            this.shooting = false;
-        }
+        // Move the arm that far in the direction that the monkey is facing.
+        double angle = Math.toRadians(super.getModel().getAngle());
+        this.moveArmHand(this.baseX, this.baseY, this.baseX, this.baseY,
+                steps * ARM_ANIMATION_MULT * Math.sin(angle), -steps * ARM_ANIMATION_MULT * Math.cos(angle));
     }
 
     /**
@@ -235,31 +184,10 @@ abstract class ArmShooter extends Monkey {
      * This method overrides the superclass' method, in order to additionally move the monkey's shapes.
      */
     @Override
-    public void mouseFollow(MouseEvent a){
-        super.mouseFollow(a);
+    public void follow(double newX, double newY){
+        super.follow(newX, newY);
         for (Shape shape : this.shapes){
             super.relocate(shape);
         }
     }
-
-    /**
-     * Mutator method to adjust the dart-type shot by the monkey, used to upgrade to targeting darts.
-     */
-    public void setDartType(int value){
-        this.type = value;
-    }
-
-    /**
-     * Mutator method to adjust the sharpness of the monkey's darts, used when upgrading sharpness.
-     */
-    public void setSharpness(int value){
-        this.sharpness = value;
-    }
-
-    /**
-     * Mutator method to set a monkey's darts to piercing, used when upgrading piercing.
-     */
-    public void upgradePiercing(){
-        this.piercing = true;
-    }
 }
\ No newline at end of file
@@ -1,77 +1,80 @@
 package indy;
 
-import javafx.scene.layout.Pane;
+import java.nio.ByteBuffer;
 import static indy.Constants.*;
+import static indy.SimConstants.*;
 
 /**
- * This is the BloonOrganizer class. It deals with the DoublyLinkedList of Nodes
- * (and consequently Bloons),and contains instance variables to track the specific Bloon
- * properties of a given level as the player moves through the game.
+ * This is the BloonOrganizer class. It deals with the BloonStore (which holds every Bloon),
+ * popping, splitting, and leaking Bloons, and contains instance variables to track the specific
+ * Bloon properties of a given level as the player moves through the game.
  */
 public class BloonOrganizer {
 
-    private DoublyLinkedList myBloons;
-    private int[][][] bloonLevels;
+    private BloonStore myBloons;
+    private SpatialGrid grid;
+    private WaveSchedule schedule;
     private MoneyTracker bank;
-    private Pane andyPane;
-    private Pane bloonPane;
-    private Pane popPane;
-    private double bloonTimer;
-    private double bloonSpacing;
+    private SimulationListener listener;
     private int lives;
     private int level;
-    private int wave;
-    private int bloonStrength;
-    private int bloonCount;
-    private boolean camo;
+    private int levelTick;
+    private int nextEvent;
     private boolean inLevel;
     private boolean victory;
 
     /**
-     * This is the BloonOrganizer class' Constructor. It is associated with the balloon, pop, and andy
-     * panes, the DoublyLinkedList for the Bloons and the MonkeyTracker. It initializes all necessary
-     * instance variables and calls the clear method to prepare for gameplay.
+     * This is the BloonOrganizer class' Constructor. It is associated with the BloonStore for the
+     * Bloons, the MoneyTracker, and the SimulationListener that is told about new and removed Bloons. It
+     * initializes all necessary instance variables and calls the clear method to prepare for gameplay.
      */
-    public BloonOrganizer(Pane balloonPane, Pane myPopPane, Pane myAndyPane,
-                          DoublyLinkedList bloons, MoneyTracker myBank){
-        this.bloonPane = balloonPane;
-        this.popPane = myPopPane;
-        this.andyPane = myAndyPane;
+    public BloonOrganizer(BloonStore bloons, MoneyTracker myBank, SimulationListener myListener){
+        this.listener = myListener;
         this.myBloons = bloons;
-        this.bloonLevels = LEVELS;
+        this.grid = new SpatialGrid(SCENE_WIDTH, SCENE_HEIGHT, GRID_CELL_SIZE);
+        this.schedule = WAVES;
         this.bank = myBank;
         this.clear();
     }
 
     /**
      * This method is called when the game is started and then when it is subsequently restarted, and
-     * it resets all relevant level-tracking variables and clears all major panes of their game objects.
+     * it resets all relevant level-tracking variables and clears the store of Bloons, telling the
+     * listener about each Bloon that is removed.
      */
     public void clear(){
-        this.bloonPane.getChildren().clear();
-        this.andyPane.getChildren().clear();
+        for (int slot = 0; slot < this.myBloons.getSize(); slot++){
+            if (this.myBloons.isAlive(slot)){
+                this.listener.bloonRemoved(this.myBloons.getId(slot));
+            }
+        }
         this.myBloons.clear();
 
         this.lives = STARTING_LIVES;
         this.level = STARTING_LEVEL;
-        this.wave = 0;
-        this.updateLevelProperties();
+        this.startSchedule();
 
         this.inLevel = false;
         this.victory = false;
     }
 
     /**
-     * This method is called from the timeline to move the tail bloon (which is the furthest along
-     * the track). It then is recursively called for all Nodes in the DoublyLinkedList. It also calls
-     * the moveForward method when necessary to re-order the linked list by distance traveled.
+     * This method is called on every tick of the Simulation to move every Bloon, starting with the one
+     * furthest along the track, in a single pass over the store. Any Bloon that reaches the end of the
+     * track takes away lives and is removed. Every other Bloon is kept: it is copied down over the gaps
+     * left by removed Bloons and shifted forward past any Bloon it has just overtaken, so that once the
+     * pass is over the store has no gaps and slot 0 is still the furthest along.
      */
-    public void moveAllBloons(Node node){
-        if (node != null) {
+    public void moveAllBloons(){
+        int kept = 0;
+        for (int slot = 0; slot < this.myBloons.getSize(); slot++){
+            if (!this.myBloons.isAlive(slot)){
+                continue;
+            }
 
             // Move the bloon and check if it has finished the map.
-            if (!node.getBloon().move()) {
-                int strength = node.getBloon().getStrength();
+            if (!this.myBloons.move(slot)) {
+                int strength = this.myBloons.getStrength(slot);
                 if (strength > LEAD_STRENGTH){
                     // Game Over if AndyBloon makes it through.
                     this.lives = 0;
@@ -81,105 +84,261 @@ public class BloonOrganizer {
                     this.lives -= strength * 2;
                 }
                 else{
-                    this.lives -= node.getBloon().getStrength();
+                    this.lives -= strength;
                 }
-                this.myBloons.removeLast();
+                this.removeBloon(slot);
+                continue;
             }
 
-            // If there is a bloon ahead, check if the current bloon has passed it and swap them.
-            if (node.getNext() != null){
-                if (node.getBloon().getDistanceTraveled() >
-                        node.getNext().getBloon().getDistanceTraveled()){
-                    this.myBloons.moveForward(node);
-                }
-            }
+            // Otherwise, keep the bloon and move it into place.
+            this.myBloons.keep(slot, kept);
+            kept++;
+        }
+        this.myBloons.truncate(kept);
+    }
 
-            // If there is a bloon behind, recursively call this method to move it...
-            if (node.getPrev() != null) {
-                this.moveAllBloons(node.getPrev());
-            }
+    /**
+     * This method spawns a number of Bloons of the strength passed in at the start of the track all at
+     * once, rather than spaced out over a wave. It is only used by the Headless class' stress mode.
+     */
+    public void spawnBloons(int strength, boolean isCamo, int count){
+        for (int i = 0; i < count; i++){
+            this.myBloons.sift(this.addBloon(strength, isCamo, 0, 0));
         }
     }
 
     /**
-     * This method is called from the timeline to add new Bloons to the screen while a level
-     * is active. It adds Bloons to the linked list until a particular wave is complete, then
-     * either moves onto the next wave or the next level of the game.
+     * This method is called on every tick of the Simulation to add new Bloons to the screen while a level
+     * is active. It spawns every Bloon in the WaveSchedule that is due on this tick of the level (adding
+     * each to the store in order of distance), moving the cursor past them, and once the level has
+     * spawned everything it moves on to the next level of the game.
      */
     public void addBloons(){
-        if (this.inLevel && this.level < this.bloonLevels.length && !this.victory){
-
-            // Repeat this loop until all the bloons have been spawned for a given wave.
-            if (this.bloonCount < this.bloonLevels[this.level][this.wave][COUNT_INDEX]){
-                this.bloonTimer += BLOON_TIMER_INCREMENT;
-
-                // Whenever the timer reaches the wave's spacing value, spawn a bloon.
-                if (this.bloonTimer >= this.bloonSpacing){
-                    this.bloonTimer = 0;
-                    this.bloonCount++;
-
-                    // If bloon strength is 0 then there is a pause between waves...
-                    if (this.bloonStrength > 0){
-                        this.myBloons.addFirst(new Node(
-                                new Bloon(this.bloonPane, this.popPane, this.bloonStrength, this.camo, X_START,
-                                        Y_START, 0, 0, this.bank, this.andyPane)));
-                    }
-                }
+        if (this.inLevel && this.level < this.schedule.getLevelCount() && !this.victory){
+
+            // Spawn every Bloon that is due on this tick, all at once.
+            int end = this.schedule.getFirstEvent(this.level + 1);
+            while (this.nextEvent < end && this.schedule.getTick(this.nextEvent) <= this.levelTick){
+                this.myBloons.sift(this.addBloon(this.schedule.getStrength(this.nextEvent),
+                        this.schedule.getCamo(this.nextEvent), 0, 0));
+                this.nextEvent++;
             }
 
-            // At the end of a wave/level, increment the wave/level counter and update bloon properties.
-            else if (this.wave < (this.bloonLevels[this.level].length - 1)){
-                this.wave++;
-                this.updateLevelProperties();
-            } else if (this.wave == (this.bloonLevels[this.level].length - 1)){
+            // At the end of the level, move on to the next one.
+            if (this.levelTick >= this.schedule.getLength(this.level)){
                 this.level++;
-                if (this.level < this.bloonLevels.length){
-                    this.wave = 0;
-                    this.updateLevelProperties();
+                if (this.level < this.schedule.getLevelCount()){
+                    this.startSchedule();
                     this.inLevel = false;
                 }
                 else {
                     this.victory = true;
                 }
+                return;
+            }
+            this.levelTick++;
+        }
+    }
+
+    /**
+     * This method is called from the Simulation before it skips over quiet ticks. It returns how many
+     * of the upcoming ticks (up to 'limit') are sure to pass without a Bloon being spawned, the level
+     * ending, or any Bloon leaking or finishing its spawn pause.
+     */
+    public long quietTicks(long limit){
+        long quiet = this.myBloons.quietTicks(limit);
+        if (this.inLevel && this.level < this.schedule.getLevelCount() && !this.victory){
+            int due = this.schedule.getLength(this.level);
+            if (this.nextEvent < this.schedule.getFirstEvent(this.level + 1)){
+                due = Math.min(due, this.schedule.getTick(this.nextEvent));
             }
+            quiet = Math.min(quiet, due - this.levelTick);
         }
+        return Math.max(0, quiet);
+    }
+
+    /**
+     * This method is called from the Simulation to skip over a number of quiet ticks at once. It moves
+     * the Bloons forward by that many ticks and counts them towards the level, exactly as that many
+     * calls to moveAllBloons and addBloons would have.
+     */
+    public void skip(long ticks){
+        this.myBloons.skip(ticks);
+        if (this.inLevel && this.level < this.schedule.getLevelCount() && !this.victory){
+            this.levelTick += (int) ticks;
+        }
+    }
+
+    /**
+     * This method is called when the game is restarted or when a level ends, and it points the
+     * cursor at the first event of the current level and starts counting the level's ticks from 0.
+     */
+    private void startSchedule(){
+        this.levelTick = 0;
+        this.nextEvent = this.schedule.getFirstEvent(this.level);
+    }
+
+    /**
+     * This method is called when a Bloon is popped that is supposed to split into two. It adds a
+     * new Bloon with all the old Bloon's properties to the store. The new Bloon does not have to be
+     * inserted in the middle of the store because it will be sorted into place on the next tick. It
+     * returns the new Bloon's slot.
+     */
+    public int splitBloon(int slot, Dart dart){
+        int newSlot = this.addBloon(this.myBloons.getStrength(slot) - 1, this.myBloons.getCamo(slot),
+                this.myBloons.getDistance(slot), this.myBloons.getSegment(slot));
+        dart.addHit(this.myBloons.getId(newSlot));
+        return newSlot;
     }
 
     /**
-     * This method is called when the game is restarted, when a wave ends, or when a level ends,
-     * and it updates the properties of the Bloons for a particular wave.
+     * This method is called from the DartOrganizer whenever a Cannonball explodes, while the SpatialGrid
+     * lists every Bloon for the tick's collision checks. It only loops through the Bloons in the grid
+     * cells that the blast's box touches, taking each Bloon in the cell its center is in, and checks
+     * whether the Bloon is poppable and within the blast radius (comparing squared distances, so no
+     * square root is needed). If so, the Bloon pops, and the listener is told to show the explosion.
      */
-    private void updateLevelProperties(){
-        this.bloonTimer = 0;
-        this.bloonCount = 0;
-        this.bloonSpacing = this.bloonLevels[this.level][this.wave][SPACING_INDEX];
-        this.bloonStrength = this.bloonLevels[this.level][this.wave][STRENGTH_INDEX];
+    public void explode(double x, double y, int boomSize){
+        double reach = (double) boomSize * boomSize;
+        int firstColumn = this.grid.getColumn(x - boomSize);
+        int lastColumn = this.grid.getColumn(x + boomSize);
+        int lastRow = this.grid.getRow(y + boomSize);
+        for (int row = this.grid.getRow(y - boomSize); row <= lastRow; row++){
+            for (int column = firstColumn; column <= lastColumn; column++){
+                int cell = this.grid.getCell(row, column);
+                for (int entry = this.grid.first(cell); entry >= 0; entry = this.grid.next(entry)){
+                    int slot = this.grid.getSlot(entry);
 
-        // If the camo index == 1, the bloons are camo; if it's 0, they're normal.
-        if (this.bloonLevels[this.level][this.wave][CAMO_INDEX] == 1){
-            this.camo = true;
+                    // Black Bloons are immune to explosive attacks.
+                    if (this.myBloons.isAlive(slot) && this.myBloons.getStrength(slot) != BLACK_STRENGTH
+                            && this.grid.cellAt(this.myBloons.getX(slot), this.myBloons.getY(slot)) == cell
+                            && this.myBloons.distanceSquaredTo(slot, x, y) <= reach){
+                        this.popBloon(slot, false);
+                    }
+                }
+            }
+        }
+        this.listener.explosion(x, y, boomSize);
+    }
+
+    /**
+     * This method is called whenever a dart or explosion pops the Bloon in the slot passed in. It takes
+     * away a layer of the Bloon (two if the dart is piercing and the Bloon is between 6 and 1 strength),
+     * paying the player for each layer, and removes the Bloon if its strength reaches 0. It returns
+     * true if the Bloon was removed.
+     */
+    public boolean popBloon(int slot, boolean piercing){
+        int strength = this.myBloons.getStrength(slot);
+        if (piercing && strength > 1 && strength <= PINK_STRENGTH){
+            strength--;
+            this.bank.modifyCash(1);
+        }
+        strength--;
+        this.bank.modifyCash(1);
+
+        // Andy is popped when his strength reaches a threshold...
+        if (strength < ANDY_POP){
+            this.listener.bloonPopped(this.myBloons.getX(slot), this.myBloons.getY(slot));
+            if (strength == 0){
+                this.removeBloon(slot);
+                return true;
+            }
+            this.myBloons.setStrength(slot, strength);
+            this.myBloons.setUpBloon(slot);
         }
         else {
-            this.camo = false;
+            this.myBloons.setStrength(slot, strength);
         }
+        return false;
+    }
+
+    /**
+     * This helper method adds a new Bloon to the store, tells the listener about it, and returns its slot.
+     */
+    private int addBloon(int strength, boolean isCamo, double distance, int segment){
+        int slot = this.myBloons.add(strength, isCamo, distance, segment);
+        this.listener.bloonAdded(this.myBloons, slot);
+        return slot;
+    }
+
+    /**
+     * This method removes the Bloon in the slot passed in from the game, whether it was popped or leaked,
+     * and tells the listener that it is gone.
+     */
+    public void removeBloon(int slot){
+        this.listener.bloonRemoved(this.myBloons.getId(slot));
+        this.myBloons.kill(slot);
+    }
+
+    /**
+     * This method is called between levels when the levels have been reloaded, and it switches to the
+     * newly compiled WaveSchedule, starting the upcoming level from its beginning. The new schedule must
+     * still have the upcoming level in it, or an IllegalArgumentException is thrown and nothing changes.
+     */
+    public void setSchedule(WaveSchedule newSchedule){
+        if (this.level >= newSchedule.getLevelCount()){
+            throw new IllegalArgumentException("the new levels stop at level " + newSchedule.getLevelCount()
+                    + ", before level " + this.getLevel());
+        }
+        this.schedule = newSchedule;
+        this.startSchedule();
+    }
+
+    /**
+     * This method writes the level's progress (lives, level, how far through the level's schedule it is,
+     * and whether a level is being played or the game has been won) and every Bloon into the buffer
+     * passed in for a save file. The checksum of the WaveSchedule goes first, since the cursor into the
+     * schedule only makes sense for the same levels.
+     */
+    public void save(ByteBuffer buffer){
+        buffer.putInt(this.schedule.checksum());
+        buffer.putInt(this.lives);
+        buffer.putInt(this.level);
+        buffer.putInt(this.levelTick);
+        buffer.putInt(this.nextEvent);
+        buffer.put((byte) (this.inLevel ? 1 : 0));
+        buffer.put((byte) (this.victory ? 1 : 0));
+        this.myBloons.save(buffer);
+    }
+
+    /**
+     * This method reads back everything written by the save method, telling the listener about every
+     * Bloon that is removed and every Bloon that is loaded. If the save was made with different levels,
+     * it throws an IllegalArgumentException before anything changes.
+     */
+    public void load(ByteBuffer buffer){
+        if (buffer.getInt() != this.schedule.checksum()){
+            throw new IllegalArgumentException("the game was saved with different levels");
+        }
+        this.clear();
+        this.lives = buffer.getInt();
+        this.level = buffer.getInt();
+        this.levelTick = buffer.getInt();
+        this.nextEvent = buffer.getInt();
+        this.inLevel = buffer.get() == 1;
+        this.victory = buffer.get() == 1;
+        this.myBloons.load(buffer);
+        for (int slot = 0; slot < this.myBloons.getSize(); slot++){
+            this.listener.bloonAdded(this.myBloons, slot);
+        }
+    }
+
+    /**
+     * Accessor method to get the WaveSchedule that the levels are spawned from.
+     */
+    public WaveSchedule getSchedule(){
+        return this.schedule;
     }
 
     /**
-     * This method is called when a Bloon is popped that is supposed to split into two. It creates a
-     * new Bloon with all the old Bloon's properties and adds it to the list. The new Bloon does not have
-     * to be inserted in the middle of the list because it will be very quickly sorted as the Bloons move.
+     * Accessor method to get the SpatialGrid that the DartOrganizer lists the Bloons in every tick.
      */
-    public void splitBloon(Node node, Dart dart){
-        Bloon old = node.getBloon();
-        Bloon newBloon = new Bloon(this.bloonPane, this.popPane,
-                old.getStrength() - 1, old.getCamo(), old.getX(), old.getY(),
-                old.getDistanceTraveled(), old.getCheckpoint(), this.bank, this.andyPane);
-        this.myBloons.addFirst(new Node(newBloon));
-        dart.getBloonsHit().add(newBloon);
+    public SpatialGrid getGrid(){
+        return this.grid;
     }
 
     /**
-     * Mutator method to tell the BloonsGame that a new level has started.
+     * Mutator method to tell the BloonOrganizer that a new level has started.
      */
     public void setInLevel(boolean bool){
         this.inLevel = bool;
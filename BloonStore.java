@@ -0,0 +1,643 @@
+package indy;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import static indy.Constants.*;
+import static indy.SimConstants.*;
+
+/**
+ * This is the BloonStore class. It holds every Bloon in the game as a row across a set of parallel
+ * primitive arrays (one array per property, such as x, y, or strength), rather than as one object per
+ * Bloon, so that even a hundred thousand Bloons fit in a few megabytes and can be scanned quickly. A
+ * Bloon is referred to by its slot, which is its position in the arrays, and slot 0 is always the Bloon
+ * that is furthest along the track (the arrays are re-sorted by distance traveled as the Bloons move).
+ *
+ * Since darts and explosions pop Bloons while the arrays are being looped through, a popped or leaked
+ * Bloon is only marked as dead (its strength is set to 0) and skipped by every loop, and the dead rows
+ * are squeezed out all at once, either by the compact method or during the next movement pass. Every
+ * Bloon also has an id that never changes, which is how the darts and the renderer keep track of a Bloon
+ * as its slot moves around. A Bloon's place on the track is just its distance traveled, and its x and y
+ * position are looked up from the PathTable. Like the old Bloon class, the set-up method uses Factory
+ * Pattern to determine the size and speed of a Bloon as it is popped and changes strength.
+ */
+public class BloonStore {
+
+    private PathTable path;
+    private int size;
+    private int count;
+    private int nextId;
+    private double[] x;
+    private double[] y;
+    private double[] prevX;
+    private double[] prevY;
+    private double[] xRad;
+    private double[] yRad;
+    private double[] speed;
+    private double[] distance;
+    private double[] spawnDelay;
+    private int[] strength;
+    private int[] segment;
+    private int[] id;
+    private boolean[] camo;
+    private boolean[] andyMode;
+
+    /**
+     * This is the BloonStore class' Constructor. It uses the TRACK PathTable for Bloon positions and
+     * creates all of the arrays with the starting capacity, which is doubled whenever the store fills up.
+     */
+    public BloonStore(){
+        this.path = TRACK;
+        this.allocate(STARTING_BLOON_CAPACITY);
+        this.clear();
+    }
+
+    /**
+     * This helper method creates (or re-sizes) every array to the capacity passed in, keeping the
+     * Bloons that are already stored.
+     */
+    private void allocate(int capacity){
+        this.x = this.grow(this.x, capacity);
+        this.y = this.grow(this.y, capacity);
+        this.prevX = this.grow(this.prevX, capacity);
+        this.prevY = this.grow(this.prevY, capacity);
+        this.xRad = this.grow(this.xRad, capacity);
+        this.yRad = this.grow(this.yRad, capacity);
+        this.speed = this.grow(this.speed, capacity);
+        this.distance = this.grow(this.distance, capacity);
+        this.spawnDelay = this.grow(this.spawnDelay, capacity);
+        this.strength = this.grow(this.strength, capacity);
+        this.segment = this.grow(this.segment, capacity);
+        this.id = this.grow(this.id, capacity);
+        this.camo = this.grow(this.camo, capacity);
+        this.andyMode = this.grow(this.andyMode, capacity);
+    }
+
+    /**
+     * These helper methods return a copy of the array passed in with the new capacity (or a new array
+     * if there isn't one yet).
+     */
+    private double[] grow(double[] array, int capacity){
+        return array == null ? new double[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private int[] grow(int[] array, int capacity){
+        return array == null ? new int[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    private boolean[] grow(boolean[] array, int capacity){
+        return array == null ? new boolean[capacity] : Arrays.copyOf(array, capacity);
+    }
+
+    /**
+     * This method is called when the game is started and whenever it is restarted, and it removes
+     * every Bloon from the store (the arrays keep their capacity).
+     */
+    public void clear(){
+        this.size = 0;
+        this.count = 0;
+        this.nextId = 0;
+    }
+
+    /**
+     * This method adds a new Bloon to the end of the arrays and returns its slot. It takes in the
+     * strength and camo of the Bloon, how far along the track it is, and the segment of the track it
+     * was last on (0 for new Bloons), and sets up its position, size, and speed. An AndyBloon starts
+     * a little further back, behind the start of the track.
+     */
+    public int add(int myStrength, boolean isCamo, double distanceStart, int segmentStart){
+        if (this.size == this.x.length){
+            this.allocate(this.x.length * 2);
+        }
+        int slot = this.size;
+        this.size++;
+        this.count++;
+
+        this.strength[slot] = myStrength;
+        this.camo[slot] = isCamo;
+        this.andyMode[slot] = false;
+        this.distance[slot] = (myStrength == ANDY_STRENGTH) ? distanceStart + ANDY_OFFSET : distanceStart;
+        this.segment[slot] = this.path.segmentAt(this.distance[slot], segmentStart);
+        this.x[slot] = this.path.getX(this.segment[slot], this.distance[slot]);
+        this.y[slot] = this.path.getY(this.segment[slot], this.distance[slot]);
+        this.prevX[slot] = this.x[slot];
+        this.prevY[slot] = this.y[slot];
+        this.spawnDelay[slot] = 0;
+        this.id[slot] = this.nextId;
+        this.nextId++;
+
+        this.setUpBloon(slot);
+        return slot;
+    }
+
+    /**
+     * This method is called when a Bloon is added, and every time a Bloon is popped whose strength is
+     * below ANDY_POP. It redefines the size and speed of the Bloon to match its new strength using
+     * Factory Pattern.
+     */
+    public void setUpBloon(int slot){
+        switch (this.strength[slot]){
+            case RED_STRENGTH:
+                this.setBloon(slot, RED_XRAD, RED_YRAD, RED_SPEED);
+                break;
+            case BLUE_STRENGTH:
+                this.setBloon(slot, BLUE_XRAD, BLUE_YRAD, BLUE_SPEED);
+                break;
+            case GREEN_STRENGTH:
+                this.setBloon(slot, GREEN_XRAD, GREEN_YRAD, GREEN_SPEED);
+                break;
+            case YELLOW_STRENGTH:
+                this.setBloon(slot, YELLOW_XRAD, YELLOW_YRAD, YELLOW_SPEED);
+                break;
+            case PINK_STRENGTH:
+                this.setBloon(slot, PINK_XRAD, PINK_YRAD, PINK_SPEED);
+                break;
+            case BLACK_STRENGTH:
+                this.setBloon(slot, BLACK_XRAD, BLACK_YRAD, BLUE_SPEED);
+                break;
+            case LEAD_STRENGTH:
+                this.setBloon(slot, BLUE_XRAD, BLUE_YRAD, RED_SPEED);
+                break;
+            case ANDY_STRENGTH:
+                this.setBloon(slot, ANDY_XRAD, ANDY_YRAD, ANDY_SPEED);
+                this.andyMode[slot] = true;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * This helper method is called from the above setUpBloon, taking in the new radii and speed of the
+     * Bloon when it changes strength. The speed is rounded to a whole number of SPEED_STEPS, so that
+     * every distance along the track is exact in binary and moving a Bloon forward by several ticks at
+     * once (see the skip method) lands it on exactly the same spot as moving it one tick at a time.
+     */
+    private void setBloon(int slot, double myXRad, double myYRad, double newSpeed){
+        this.xRad[slot] = myXRad;
+        this.yRad[slot] = myYRad;
+        this.speed[slot] = Math.rint(newSpeed * SPEED_STEPS) / SPEED_STEPS;
+    }
+
+    /**
+     * This method is called from the BloonOrganizer. The Bloon has a brief pause when it is first
+     * spawned so that duplicated Bloons are offset slightly from one another, and then it is moved
+     * forward along the track by its speed, and its position is looked up in the PathTable. When it
+     * reaches the end of the track, the method returns false.
+     */
+    public boolean move(int slot){
+        // Remember where the bloon was so that it can be drawn between ticks.
+        this.prevX[slot] = this.x[slot];
+        this.prevY[slot] = this.y[slot];
+
+        // Pause the balloon when it is spawned so separate stacked bloons...
+        if (this.spawnDelay[slot] < 1){
+            this.spawnDelay[slot] += SPAWN_DELAY_INCREMENT;
+            return true;
+        }
+
+        // Tell the BloonOrganizer if the bloon has leaked.
+        double traveled = this.distance[slot] + this.speed[slot];
+        this.distance[slot] = traveled;
+        if (traveled >= this.path.getLength()){
+            return false;
+        }
+        this.moveTo(slot, traveled);
+        return true;
+    }
+
+    /**
+     * This helper method puts the Bloon in the slot passed in at the distance along the track passed in,
+     * looking up its segment and position in the PathTable.
+     */
+    private void moveTo(int slot, double traveled){
+        int onSegment = this.path.segmentAt(traveled, this.segment[slot]);
+        this.segment[slot] = onSegment;
+        this.distance[slot] = traveled;
+        this.x[slot] = this.path.getX(onSegment, traveled);
+        this.y[slot] = this.path.getY(onSegment, traveled);
+    }
+
+    /**
+     * This method is called from the BloonOrganizer before the Simulation skips over quiet ticks. It
+     * returns how many of the upcoming ticks (up to 'limit') are sure to pass without any Bloon leaking
+     * or finishing its spawn pause, so that every Bloon either sits still or moves steadily along the
+     * track the whole time.
+     */
+    public long quietTicks(long limit){
+        long quiet = limit;
+        for (int slot = 0; slot < this.size && quiet > 0; slot++){
+            if (this.strength[slot] > 0){
+                quiet = Math.min(quiet, this.ticksBefore(slot, this.path.getLength()));
+            }
+        }
+        return quiet;
+    }
+
+    /**
+     * This method returns how many of the upcoming ticks the Bloon in the slot passed in is sure to
+     * spend short of the distance 'target' along the track. It errs on the low side (by a tick, to be
+     * safe from rounding in the division), and a Bloon still in its spawn pause is only counted until
+     * the pause is over.
+     */
+    public long ticksBefore(int slot, double target){
+        if (this.distance[slot] >= target){
+            return 0;
+        }
+        if (this.spawnDelay[slot] < 1){
+            long ticks = 0;
+            for (double delay = this.spawnDelay[slot]; delay < 1; delay += SPAWN_DELAY_INCREMENT){
+                ticks++;
+            }
+            return ticks;
+        }
+        return Math.max(0, (long) Math.floor((target - this.distance[slot]) / this.speed[slot]) - 1);
+    }
+
+    /**
+     * This method is called from the BloonOrganizer to skip over a number of quiet ticks (no more than
+     * the quietTicks method allowed) at once. Each Bloon in its spawn pause counts the pause down tick by
+     * tick, as the move method would, and every other Bloon jumps straight to where it would be after
+     * that many ticks, which is exact since its speed is a whole number of SPEED_STEPS. Since the Bloons
+     * moved steadily, sorting them once at the end gives the same order as sorting them on every tick.
+     */
+    public void skip(long ticks){
+        for (int slot = 0; slot < this.size; slot++){
+            if (this.strength[slot] <= 0){
+                continue;
+            }
+            if (this.spawnDelay[slot] < 1){
+                for (long tick = 0; tick < ticks; tick++){
+                    this.spawnDelay[slot] += SPAWN_DELAY_INCREMENT;
+                }
+                this.prevX[slot] = this.x[slot];
+                this.prevY[slot] = this.y[slot];
+                continue;
+            }
+
+            // Find where the bloon was a tick before the end, so that it can still be drawn between ticks.
+            double start = this.distance[slot];
+            if (ticks > 1){
+                this.moveTo(slot, start + (ticks - 1) * this.speed[slot]);
+            }
+            this.prevX[slot] = this.x[slot];
+            this.prevY[slot] = this.y[slot];
+            this.moveTo(slot, start + ticks * this.speed[slot]);
+        }
+        for (int slot = 1; slot < this.size; slot++){
+            this.sift(slot);
+        }
+    }
+
+    /**
+     * This method returns a checksum of every living Bloon's id, strength, camo, and exact distance
+     * along the track and position, in the order they are stored.
+     */
+    public int checksum(){
+        int hash = this.count;
+        for (int slot = 0; slot < this.size; slot++){
+            if (this.strength[slot] > 0){
+                hash = 31 * hash + this.id[slot];
+                hash = 31 * hash + this.strength[slot];
+                hash = 31 * hash + Boolean.hashCode(this.camo[slot]);
+                hash = 31 * hash + Double.hashCode(this.distance[slot]);
+                hash = 31 * hash + Double.hashCode(this.x[slot]);
+                hash = 31 * hash + Double.hashCode(this.y[slot]);
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * This method writes every living Bloon into the buffer passed in for a save file, along with the id
+     * that the next Bloon will get. Every property is written exactly, so a loaded game carries on just
+     * as the saved one would have.
+     */
+    public void save(ByteBuffer buffer){
+        buffer.putInt(this.nextId);
+        buffer.putInt(this.count);
+        for (int slot = 0; slot < this.size; slot++){
+            if (this.strength[slot] > 0){
+                buffer.putDouble(this.x[slot]);
+                buffer.putDouble(this.y[slot]);
+                buffer.putDouble(this.prevX[slot]);
+                buffer.putDouble(this.prevY[slot]);
+                buffer.putDouble(this.xRad[slot]);
+                buffer.putDouble(this.yRad[slot]);
+                buffer.putDouble(this.speed[slot]);
+                buffer.putDouble(this.distance[slot]);
+                buffer.putDouble(this.spawnDelay[slot]);
+                buffer.putInt(this.strength[slot]);
+                buffer.putInt(this.segment[slot]);
+                buffer.putInt(this.id[slot]);
+                buffer.put((byte) (this.camo[slot] ? 1 : 0));
+                buffer.put((byte) (this.andyMode[slot] ? 1 : 0));
+            }
+        }
+    }
+
+    /**
+     * This method empties the store and reads back the Bloons written by the save method, in the same
+     * order, so slot 0 is still the furthest along.
+     */
+    public void load(ByteBuffer buffer){
+        this.clear();
+        this.nextId = buffer.getInt();
+        int loaded = buffer.getInt();
+        if (loaded > this.x.length){
+            this.allocate(Integer.highestOneBit(loaded) * 2);
+        }
+        for (int slot = 0; slot < loaded; slot++){
+            this.x[slot] = buffer.getDouble();
+            this.y[slot] = buffer.getDouble();
+            this.prevX[slot] = buffer.getDouble();
+            this.prevY[slot] = buffer.getDouble();
+            this.xRad[slot] = buffer.getDouble();
+            this.yRad[slot] = buffer.getDouble();
+            this.speed[slot] = buffer.getDouble();
+            this.distance[slot] = buffer.getDouble();
+            this.spawnDelay[slot] = buffer.getDouble();
+            this.strength[slot] = buffer.getInt();
+            this.segment[slot] = buffer.getInt();
+            this.id[slot] = buffer.getInt();
+            this.camo[slot] = buffer.get() == 1;
+            this.andyMode[slot] = buffer.get() == 1;
+        }
+        this.size = loaded;
+        this.count = loaded;
+    }
+
+    /**
+     * This method marks the Bloon in the slot passed in as dead, whether it was popped or leaked. It is
+     * skipped by every loop from then on, and its row is removed the next time the store is compacted.
+     */
+    public void kill(int slot){
+        if (this.strength[slot] > 0){
+            this.strength[slot] = 0;
+            this.count--;
+        }
+    }
+
+    /**
+     * This method squeezes the rows of every dead Bloon out of the arrays in a single pass, keeping the
+     * living Bloons in the same order. It is called once the Bloons are done being popped for a tick.
+     */
+    public void compact(){
+        if (this.count == this.size){
+            return;
+        }
+        int to = 0;
+        for (int from = 0; from < this.size; from++){
+            if (this.strength[from] > 0){
+                if (to != from){
+                    this.copy(from, to);
+                }
+                to++;
+            }
+        }
+        this.size = to;
+    }
+
+    /**
+     * This method is called from the BloonOrganizer's single pass over the Bloons, once the Bloon in
+     * the 'from' slot has moved and is still in the game. It copies the Bloon down into the 'to' slot
+     * (the next slot that is kept), and then shifts it towards the front past any kept Bloon that it
+     * has overtaken, which is one step of an insertion sort by distance traveled. Bloons only ever
+     * overtake one another a little at a time, so this almost never has to shift at all.
+     */
+    public void keep(int from, int to){
+        if (to != from){
+            this.copy(from, to);
+        }
+        this.sift(to);
+    }
+
+    /**
+     * This method shifts the Bloon in the slot passed in towards the front of the arrays past any Bloon
+     * that is not as far along the track, so that the Bloons stay sorted by distance traveled. It is
+     * used by the keep method, and for newly spawned Bloons (which are added to the end of the arrays).
+     */
+    public void sift(int slot){
+        int j = slot;
+        while (j > 0 && this.distance[j - 1] < this.distance[j]){
+            this.swap(j - 1, j);
+            j--;
+        }
+    }
+
+    /**
+     * This method is called at the end of the BloonOrganizer's pass over the Bloons, and it drops
+     * every slot from the one passed in onwards, since all of the Bloons that were kept have been
+     * copied below it.
+     */
+    public void truncate(int newSize){
+        this.size = newSize;
+    }
+
+    /**
+     * This helper method copies every property of the Bloon in one slot into another slot.
+     */
+    private void copy(int from, int to){
+        this.x[to] = this.x[from];
+        this.y[to] = this.y[from];
+        this.prevX[to] = this.prevX[from];
+        this.prevY[to] = this.prevY[from];
+        this.xRad[to] = this.xRad[from];
+        this.yRad[to] = this.yRad[from];
+        this.speed[to] = this.speed[from];
+        this.distance[to] = this.distance[from];
+        this.spawnDelay[to] = this.spawnDelay[from];
+        this.strength[to] = this.strength[from];
+        this.segment[to] = this.segment[from];
+        this.id[to] = this.id[from];
+        this.camo[to] = this.camo[from];
+        this.andyMode[to] = this.andyMode[from];
+    }
+
+    /**
+     * This helper method swaps every property of the Bloons in the two slots passed in.
+     */
+    private void swap(int a, int b){
+        double tempX = this.x[a]; this.x[a] = this.x[b]; this.x[b] = tempX;
+        double tempY = this.y[a]; this.y[a] = this.y[b]; this.y[b] = tempY;
+        double tempPrevX = this.prevX[a]; this.prevX[a] = this.prevX[b]; this.prevX[b] = tempPrevX;
+        double tempPrevY = this.prevY[a]; this.prevY[a] = this.prevY[b]; this.prevY[b] = tempPrevY;
+        double tempXRad = this.xRad[a]; this.xRad[a] = this.xRad[b]; this.xRad[b] = tempXRad;
+        double tempYRad = this.yRad[a]; this.yRad[a] = this.yRad[b]; this.yRad[b] = tempYRad;
+        double tempSpeed = this.speed[a]; this.speed[a] = this.speed[b]; this.speed[b] = tempSpeed;
+        double tempDist = this.distance[a]; this.distance[a] = this.distance[b]; this.distance[b] = tempDist;
+        double tempDelay = this.spawnDelay[a]; this.spawnDelay[a] = this.spawnDelay[b]; this.spawnDelay[b] = tempDelay;
+        int tempStrength = this.strength[a]; this.strength[a] = this.strength[b]; this.strength[b] = tempStrength;
+        int tempSeg = this.segment[a]; this.segment[a] = this.segment[b]; this.segment[b] = tempSeg;
+        int tempId = this.id[a]; this.id[a] = this.id[b]; this.id[b] = tempId;
+        boolean tempCamo = this.camo[a]; this.camo[a] = this.camo[b]; this.camo[b] = tempCamo;
+        boolean tempAndy = this.andyMode[a]; this.andyMode[a] = this.andyMode[b]; this.andyMode[b] = tempAndy;
+    }
+
+    /**
+     * This method returns the straight-line distance from the point passed in to the Bloon in the slot
+     * passed in.
+     */
+    public double distanceTo(int slot, double myX, double myY){
+        double X = myX - this.x[slot];
+        double Y = myY - this.y[slot];
+        return Math.sqrt(X*X + Y*Y);
+    }
+
+    /**
+     * This method returns the square of the straight-line distance from the point passed in to the Bloon
+     * in the slot passed in, which is all that is needed to compare the distance against a radius.
+     */
+    public double distanceSquaredTo(int slot, double myX, double myY){
+        double X = myX - this.x[slot];
+        double Y = myY - this.y[slot];
+        return X*X + Y*Y;
+    }
+
+    /**
+     * This method returns the angle (in degrees, from 0 to 360) of the line from the Bloon in the slot
+     * passed in to the point passed in.
+     */
+    public double angleFrom(int slot, double myX, double myY){
+        double X = myX - this.x[slot];
+        double Y = myY - this.y[slot];
+        double angle = Math.atan(Y/X)  * HALF_CIRCLE / Math.PI;
+
+        // Adjust the angle so that it points in the correct quadrant...
+        if (X < 0){
+            angle += HALF_CIRCLE;
+        }
+        else if (Y < 0){
+            angle += CIRCLE;
+        }
+        return angle;
+    }
+
+    /**
+     * This method returns the slot of the closest living Bloon to the slot passed in, in the direction
+     * passed in (-1 for further along the track, 1 for further back), or -1 if there isn't one.
+     */
+    public int nextAlive(int slot, int direction){
+        int next = slot + direction;
+        while (next >= 0 && next < this.size){
+            if (this.strength[next] > 0){
+                return next;
+            }
+            next += direction;
+        }
+        return -1;
+    }
+
+    /**
+     * Accessor method that tells whether the Bloon in the slot passed in is still in the game.
+     */
+    public boolean isAlive(int slot){
+        return this.strength[slot] > 0;
+    }
+
+    /**
+     * Accessor method to get the number of slots in use, including Bloons that are dead but have
+     * not been compacted away yet. Loops over the Bloons go up to this number.
+     */
+    public int getSize(){
+        return this.size;
+    }
+
+    /**
+     * Accessor method to get the number of living Bloons.
+     */
+    public int getCount(){
+        return this.count;
+    }
+
+    /**
+     * Mutator method to set the strength of the Bloon in the slot passed in, used when it is popped.
+     */
+    public void setStrength(int slot, int myStrength){
+        this.strength[slot] = myStrength;
+    }
+
+    /**
+     * Accessor method to get the id of the Bloon in the slot passed in, which never changes.
+     */
+    public int getId(int slot){
+        return this.id[slot];
+    }
+
+    /**
+     * Accessor method to get the X center of the Bloon.
+     */
+    public double getX(int slot){
+        return this.x[slot];
+    }
+
+    /**
+     * Accessor method to get the Y center of the Bloon.
+     */
+    public double getY(int slot){
+        return this.y[slot];
+    }
+
+    /**
+     * Accessor method to get the X center of the Bloon before its last move.
+     */
+    public double getPrevX(int slot){
+        return this.prevX[slot];
+    }
+
+    /**
+     * Accessor method to get the Y center of the Bloon before its last move.
+     */
+    public double getPrevY(int slot){
+        return this.prevY[slot];
+    }
+
+    /**
+     * Accessor method to get the horizontal radius of the Bloon.
+     */
+    public double getXRad(int slot){
+        return this.xRad[slot];
+    }
+
+    /**
+     * Accessor method to get the vertical radius of the Bloon.
+     */
+    public double getYRad(int slot){
+        return this.yRad[slot];
+    }
+
+    /**
+     * Accessor method to get the strength of the Bloon.
+     */
+    public int getStrength(int slot){
+        return this.strength[slot];
+    }
+
+    /**
+     * Accessor method to get the Bloon's camo property.
+     */
+    public boolean getCamo(int slot){
+        return this.camo[slot];
+    }
+
+    /**
+     * Accessor method to get whether the Bloon started out as an AndyBloon.
+     */
+    public boolean getAndyMode(int slot){
+        return this.andyMode[slot];
+    }
+
+    /**
+     * Accessor method to get the Bloon's distance traveled along the track, which is the exact length
+     * of track it has covered.
+     */
+    public double getDistance(int slot){
+        return this.distance[slot];
+    }
+
+    /**
+     * Accessor method to get the segment of the track that the Bloon is on.
+     */
+    public int getSegment(int slot){
+        return this.segment[slot];
+    }
+}
\ No newline at end of file
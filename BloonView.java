@@ -0,0 +1,237 @@
+package indy;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Rectangle;
+import static indy.Constants.*;
+
+/**
+ * This is the BloonView class. It draws a single Bloon on the screen, using an Ellipse for its body,
+ * a thin Ellipse for its camo film, and a Polygon for its tail. It reads the Bloon's row of the
+ * BloonStore every frame, and uses Factory Pattern to restyle itself whenever the Bloon is popped and
+ * changes strength. If the Bloon is an AndyBloon, it also shows Andy's picture and his health bar.
+ * The views are reused: when a Bloon is popped or leaks, the SceneRenderer detaches its view (which hides
+ * the shapes but leaves them in the pane) and later attaches it to a newly spawned Bloon.
+ */
+public class BloonView {
+
+    private BloonStore bloons;
+    private boolean camo;
+    private Ellipse body;
+    private Ellipse camoFilm;
+    private Polygon tail;
+    private Pane bloonPane;
+    private Pane andyPane;
+    private ImageView andy;
+    private Rectangle andyHealthBorder;
+    private Rectangle andyHealth;
+    private Rectangle andyHealthBack;
+    private int strength;
+
+    /**
+     * This is the BloonView class' Constructor. It is associated with the BloonStore, along with the bloon
+     * and andy panes. It sets up the bloon's shapes and adds them to the pane, hidden until the view is
+     * attached to a Bloon.
+     */
+    public BloonView(BloonStore myBloons, Pane myBloonPane, Pane myAndyPane){
+        this.bloons = myBloons;
+        this.bloonPane = myBloonPane;
+        this.andyPane = myAndyPane;
+
+        this.tail = new Polygon(0, 0, -TAIL_RAD, 0, TAIL_RAD, 0);
+        this.tail.setStrokeWidth(BLOON_BORDER_WIDTH);
+        this.body = new Ellipse(RED_XRAD, RED_YRAD);
+        this.body.setStrokeWidth(BLOON_BORDER_WIDTH);
+        this.camoFilm = new Ellipse(RED_XRAD, CAMO_FILM_HEIGHT);
+        this.setVisible(false);
+        this.bloonPane.getChildren().addAll(this.tail, this.body, this.camoFilm);
+    }
+
+    /**
+     * This method is called from the SceneRenderer when a Bloon is added to the game, and it starts
+     * drawing the Bloon in the slot passed in, styling the shapes based on its current strength.
+     */
+    public void attach(int slot){
+        this.camo = this.bloons.getCamo(slot);
+        this.strength = 0;
+
+        // Visually remove the camo film if not camo.
+        if (!this.camo){
+            this.camoFilm.setFill(INVISIBLE);
+            this.camoFilm.setStroke(null);
+        }
+        this.update(slot, 1);
+        this.setVisible(true);
+    }
+
+    /**
+     * This helper method shows or hides all of the bloon's shapes.
+     */
+    private void setVisible(boolean visible){
+        this.tail.setVisible(visible);
+        this.body.setVisible(visible);
+        this.camoFilm.setVisible(visible);
+    }
+
+    /**
+     * This method is called from the SceneRenderer on every frame with the Bloon's current slot. It
+     * restyles the bloon (and shrinks Andy's health bar) only if it has been popped since the last frame,
+     * and then moves all of its shapes to the Bloon's position, 'alpha' of the way between where it was
+     * before the last tick (0) and where it is now (1).
+     */
+    public void update(int slot, double alpha){
+        if (this.bloons.getStrength(slot) != this.strength){
+            this.strength = this.bloons.getStrength(slot);
+            this.setUpBloon(slot);
+            if (this.andy != null){
+                this.andyHealth.setWidth(HEALTH_WIDTH-(ANDY_STRENGTH-(float)this.strength)
+                        /(ANDY_STRENGTH-ANDY_POP)*HEALTH_WIDTH);
+            }
+        }
+        double prevX = this.bloons.getPrevX(slot);
+        double prevY = this.bloons.getPrevY(slot);
+        double x = prevX + (this.bloons.getX(slot) - prevX) * alpha;
+        double y = prevY + (this.bloons.getY(slot) - prevY) * alpha;
+
+        this.body.setCenterX(x);
+        this.body.setCenterY(y);
+        this.camoFilm.setCenterX(x);
+        this.camoFilm.setCenterY(y);
+        this.tail.setTranslateX(x);
+        this.tail.setTranslateY(y);
+
+        // Move andy image if it's an andy bloon.
+        if (this.andy != null){
+            this.andy.setX(x - ANDY_DIMENSIONS/2);
+            this.andy.setY(y - ANDY_DIMENSIONS/2);
+        }
+    }
+
+    /**
+     * This method is called from the update method whenever the Bloon's strength changes. It redefines
+     * the style and appearance of the bloon to match its new strength using Factory Pattern, and sets
+     * up or takes down Andy's picture accordingly.
+     */
+    private void setUpBloon(int slot){
+        switch (this.strength){
+            case RED_STRENGTH:
+                this.setBloon(slot, RED_COLOR, Color.MAROON, RED_Y1, RED_Y2);
+                break;
+            case BLUE_STRENGTH:
+                this.setBloon(slot, BLUE_COLOR, Color.BLUE, BLUE_Y1, BLUE_Y2);
+                break;
+            case GREEN_STRENGTH:
+                this.setBloon(slot, GREEN_COLOR, Color.GREEN, GREEN_Y1, GREEN_Y2);
+                break;
+            case YELLOW_STRENGTH:
+                this.setBloon(slot, YELLOW_COLOR, YELLOW_BORDER, YELLOW_Y1, YELLOW_Y2);
+                break;
+            case PINK_STRENGTH:
+                this.setBloon(slot, PINK_COLOR, PINK_BORDER, PINK_Y1, PINK_Y2);
+                break;
+            case BLACK_STRENGTH:
+                this.setBloon(slot, BLACK_COLOR, Color.BLACK, BLACK_Y1, BLACK_Y2);
+                break;
+            case LEAD_STRENGTH:
+                this.setBloon(slot, Color.DARKGRAY, BLACK_COLOR, BLUE_Y1, BLUE_Y2);
+                break;
+            default:
+                break;
+        }
+
+        // Andy is shown until his strength drops below the pop threshold...
+        if (this.strength >= ANDY_POP && this.andy == null){
+            this.setBloon(slot, Color.BLACK, Color.BLACK, 0, 0);
+            this.setUpAndy();
+        }
+        else if (this.strength < ANDY_POP && this.andy != null){
+            this.removeAndy();
+        }
+    }
+
+    /**
+     * This method is called from the above setUpBloon method if the bloon's strength is equal to
+     * that of an AndyBloon. It visually sets up both the AndyBloon image and the health bar...
+     */
+    private void setUpAndy(){
+        this.andy = new ImageView(new Image("indy/A.N.D.Y.png"));
+        this.andy.setPreserveRatio(false);
+        this.andy.setFitWidth(ANDY_DIMENSIONS);
+        this.andy.setFitHeight(ANDY_DIMENSIONS);
+        this.andy.setX(ANDY_START);
+        this.andy.setY(ANDY_START);
+
+        this.andyHealthBorder = new Rectangle(HEALTH_X, HEALTH_Y, HEALTH_WIDTH, HEALTH_HEIGHT);
+        this.andyHealthBorder.setStroke(Color.BLACK);
+        this.andyHealthBorder.setStrokeWidth(HEALTH_BORDER);
+        this.andyHealthBorder.setFill(INVISIBLE);
+
+        this.andyHealth = new Rectangle(HEALTH_X, HEALTH_Y, HEALTH_WIDTH, HEALTH_HEIGHT);
+        this.andyHealth.setFill(HEALTH_COLOR);
+
+        this.andyHealthBack = new Rectangle(HEALTH_X, HEALTH_Y, HEALTH_WIDTH, HEALTH_HEIGHT);
+        this.andyHealthBack.setFill(Color.LIGHTGRAY);
+
+        this.andyPane.getChildren().addAll(this.andy, this.andyHealthBack,
+                this.andyHealth, this.andyHealthBorder);
+    }
+
+    /**
+     * This helper method takes Andy's picture and health bar off the screen.
+     */
+    private void removeAndy(){
+        this.andyPane.getChildren().removeAll(this.andy, this.andyHealth,
+                this.andyHealthBack, this.andyHealthBorder);
+        this.andy = null;
+    }
+
+    /**
+     * This method is called from the above setUpBloon, taking in necessary parameters to resize and
+     * recolor the balloon when it changes strength. It reshapes the tail in place (the tail is moved
+     * with a translation, so its points never include the bloon's position) and adjusts the camo
+     * film's color if the bloon is a camo bloon.
+     */
+    private void setBloon(int slot, Color fill, Color border, double tailY1, double tailY2){
+        // Move the tail's tip and its two back corners to match the new bloon type.
+        this.tail.getPoints().set(1, tailY1);
+        this.tail.getPoints().set(3, tailY2);
+        this.tail.getPoints().set(5, tailY2);
+
+        // Set the size of the body to match new bloon type.
+        this.body.setRadiusX(this.bloons.getXRad(slot));
+        this.body.setRadiusY(this.bloons.getYRad(slot));
+
+        // Color the different bloon parts based on camo status.
+        if (this.camo){
+            this.camoFilm.setRadiusX(this.bloons.getXRad(slot));
+            this.camoFilm.setStroke(border);
+            this.camoFilm.setFill(fill);
+
+            this.body.setFill(CAMO_LIGHT);
+            this.body.setStroke(CAMO_DARK);
+            this.tail.setFill(CAMO_LIGHT);
+            this.tail.setStroke(CAMO_LIGHT);
+        }
+        else{
+            this.body.setFill(fill);
+            this.body.setStroke(border);
+            this.tail.setFill(fill);
+            this.tail.setStroke(border);
+        }
+    }
+
+    /**
+     * This method is called when the Bloon is removed from the game, whether it was popped or leaked,
+     * and it hides all of the bloon's shapes until the view is attached to another Bloon.
+     */
+    public void detach(){
+        this.setVisible(false);
+        if (this.andy != null){
+            this.removeAndy();
+        }
+    }
+}
\ No newline at end of file
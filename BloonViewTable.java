@@ -0,0 +1,145 @@
+package indy;
+
+import java.util.Arrays;
+import static indy.Constants.*;
+
+/**
+ * This is the BloonViewTable class. It is how the SceneRenderer finds the BloonView that draws each
+ * Bloon, by the Bloon's id. It is an open-addressed hash table of ints, like the HitSet: an id is hashed
+ * to a spot in the table and, if that spot is taken, the spots after it are tried in turn. Unlike a
+ * HashMap, it never boxes an id or creates an entry, so spawning, splitting, and drawing Bloons allocate
+ * nothing once the table has grown to fit the most Bloons that are ever on the screen at once.
+ *
+ * When a view is removed, the views after it that hashed to an earlier spot are moved back to fill the
+ * gap, so that looking an id up never has to step over removed spots.
+ */
+public class BloonViewTable {
+
+    private int[] ids;
+    private BloonView[] views;
+    private int size;
+    private int mask;
+
+    /**
+     * This is the BloonViewTable class' Constructor. It creates an empty table of BLOON_VIEW_TABLE_CAPACITY
+     * spots (which must be a power of two, so that a hash can be turned into a spot with a mask).
+     */
+    public BloonViewTable(){
+        this.ids = new int[BLOON_VIEW_TABLE_CAPACITY];
+        this.views = new BloonView[BLOON_VIEW_TABLE_CAPACITY];
+        this.mask = BLOON_VIEW_TABLE_CAPACITY - 1;
+    }
+
+    /**
+     * This method returns the view for the id passed in, or null if there isn't one.
+     */
+    public BloonView get(int id){
+        for (int spot = this.spotOf(id); this.views[spot] != null; spot = (spot + 1) & this.mask){
+            if (this.ids[spot] == id){
+                return this.views[spot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method adds the view passed in for the id passed in, replacing any view that id already had.
+     * The table doubles in size once it is half full.
+     */
+    public void put(int id, BloonView view){
+        int spot = this.spotOf(id);
+        while (this.views[spot] != null){
+            if (this.ids[spot] == id){
+                this.views[spot] = view;
+                return;
+            }
+            spot = (spot + 1) & this.mask;
+        }
+        this.ids[spot] = id;
+        this.views[spot] = view;
+        this.size++;
+        if (this.size * 2 > this.ids.length){
+            this.grow();
+        }
+    }
+
+    /**
+     * This method removes the id passed in from the table, and returns its view (or null if it had none).
+     */
+    public BloonView remove(int id){
+        int spot = this.spotOf(id);
+        while (this.views[spot] != null && this.ids[spot] != id){
+            spot = (spot + 1) & this.mask;
+        }
+        BloonView removed = this.views[spot];
+        if (removed == null){
+            return null;
+        }
+        this.size--;
+
+        // Move back any view further along the run that could sit in the gap, until the run ends.
+        int gap = spot;
+        for (int next = (gap + 1) & this.mask; this.views[next] != null; next = (next + 1) & this.mask){
+            int home = this.spotOf(this.ids[next]);
+            if (((next - home) & this.mask) >= ((next - gap) & this.mask)){
+                this.ids[gap] = this.ids[next];
+                this.views[gap] = this.views[next];
+                gap = next;
+            }
+        }
+        this.views[gap] = null;
+        return removed;
+    }
+
+    /**
+     * This method empties the table, keeping its size.
+     */
+    public void clear(){
+        Arrays.fill(this.views, null);
+        this.size = 0;
+    }
+
+    /**
+     * Accessor method to get the number of spots in the table, for going through every view with getView.
+     */
+    public int getCapacity(){
+        return this.views.length;
+    }
+
+    /**
+     * Accessor method to get the view in the spot passed in, which is null if the spot is empty.
+     */
+    public BloonView getView(int spot){
+        return this.views[spot];
+    }
+
+    /**
+     * This helper method returns the spot that the id passed in hashes to. Bloon ids are handed out in
+     * order, so they are mixed up by a multiplication first to keep neighbouring ids from bunching up.
+     */
+    private int spotOf(int id){
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    /**
+     * This helper method doubles the size of the table, putting every view back in at its new spot.
+     */
+    private void grow(){
+        int[] oldIds = this.ids;
+        BloonView[] oldViews = this.views;
+        this.ids = new int[oldIds.length * 2];
+        this.views = new BloonView[oldIds.length * 2];
+        this.mask = this.ids.length - 1;
+        for (int i = 0; i < oldIds.length; i++){
+            if (oldViews[i] != null){
+                int spot = this.spotOf(oldIds[i]);
+                while (this.views[spot] != null){
+                    spot = (spot + 1) & this.mask;
+                }
+                this.ids[spot] = oldIds[i];
+                this.views[spot] = oldViews[i];
+            }
+        }
+    }
+}
\ No newline at end of file
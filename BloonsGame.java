@@ -1,67 +1,83 @@
 package indy;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
-import javafx.event.ActionEvent;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javafx.animation.AnimationTimer;
+import javafx.application.Platform;
 import javafx.scene.control.Label;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import javafx.scene.text.Text;
-import javafx.util.Duration;
 import static indy.Constants.*;
+import static indy.SimConstants.*;
 
 /**
  * This is the BloonsGame class. It contains a variety of instance variables to track game states,
- * along with the MonkeyOrganizer and the BloonOrganizer. It deals with all pause/play and timeline
- * functionalities, as well as restarts, win & loss screen visuals, and other general game logic.
+ * along with the Simulation, the GameRenderer that draws it, the Hud, and the MonkeyOrganizer. It deals with all
+ * pause/play and game loop functionalities, as well as restarts, win & loss screen visuals, and other
+ * general game logic. The game itself is advanced one fixed-length tick at a time by the Simulation, and
+ * an AnimationTimer draws it once per display frame, using the GameClock to decide how many ticks to run.
  */
 public class BloonsGame {
 
-    private BloonOrganizer bloonOrg;
+    private Simulation sim;
+    private GameRenderer renderer;
     private MonkeyOrganizer monkeyOrg;
-    private DartOrganizer dartOrg;
-    private MoneyTracker bank;
-    private DoublyLinkedList bloons;
-    private Timeline timeline;
-    private KeyFrame fast;
-    private KeyFrame slow;
+    private AnimationTimer loop;
+    private GameClock clock;
     private BorderPane root;
     private Pane loss;
     private Pane win;
     private Text playPause;
-    private Label livesText;
-    private Label levelText;
+    private Hud hud;
+    private ExecutorService saver;
+    private Path savePath;
+    private ArrayDeque<ByteBuffer> levelStarts;
     private boolean paused;
-    private boolean speedy;
+    private boolean running;
+    private double speed;
 
     /**
-     * This is the BloonsGame class' Constructor. It takes in the Lives, Cash, and Level labels; the
+     * This is the BloonsGame class' Constructor. It takes in the Lives, Cash, Level, and message labels; the
      * root, loss, win, primary, and rightSide panes; and the playPause text through association. It
-     * sets up the timeline and MoneyTracker, and calls the setUpPanes method.
+     * sets up the Hud that keeps the labels up to date, the game loop, and calls the setUpPanes method.
      */
-    public BloonsGame(Pane primary, Label myLives, Label myCash, Label myLevel,
+    public BloonsGame(Pane primary, Label myLives, Label myCash, Label myLevel, Label myMessage,
                       BorderPane myRoot, Pane myLoss, Pane myWin, Text myPlayPause, BorderPane rightSide){
-        this.livesText = myLives;
-        this.levelText = myLevel;
+        this.hud = new Hud(myCash, myLives, myLevel, myMessage);
         this.playPause = myPlayPause;
 
         this.paused = true;
-        this.speedy = false;
+        this.speed = SPEED_SLOW;
+        this.running = false;
 
         this.root = myRoot;
         this.loss = myLoss;
         this.win = myWin;
+        this.savePath = Path.of(System.getProperty(SAVE_PROPERTY, SAVE_FILE));
+        this.levelStarts = new ArrayDeque<>();
+        this.saver = Executors.newSingleThreadExecutor((Runnable task) -> {
+            Thread thread = new Thread(task, "saver");
+            thread.setDaemon(true);
+            return thread;
+        });
 
-        this.setUpTimeline();
-        this.bank = new MoneyTracker(myCash);
+        this.setUpLoop();
         this.setUpPanes(primary, rightSide);
+        this.hud.setLevelCount(this.sim.getSchedule().getLevelCount());
     }
 
     /**
      * This method is called from the Constructor, and it layers a variety of Panes to logically set up the
-     * structure on which the visual aspects will be displayed. It then creates a DoublyLinkedList for the
-     * bloons and instantiates the BloonOrganizer and MonkeyOrganizer, passing in all relevant arguments...
+     * structure on which the visual aspects will be displayed. It then creates the GameRenderer, which
+     * draws the bloons and darts (using Factory Pattern to pick the SceneRenderer, CanvasRenderer, or
+     * PixelRenderer from the indy.renderer property), and instantiates the Simulation and MonkeyOrganizer,
+     * passing in all relevant arguments. If the indy.record property names a file, the game is recorded to it...
      */
     private void setUpPanes(Pane primaryPane, BorderPane rightSide){
         Pane dartPane = new Pane();
@@ -74,147 +90,360 @@ public class BloonsGame {
         primaryPane.getChildren().addAll(dartPane, bloonPane, popPane,
                 rangePane, monkeyPane, andyPane, hitBoxPane);
 
-        this.bloons = new DoublyLinkedList();
-        this.bloonOrg = new BloonOrganizer(bloonPane, popPane, andyPane, this.bloons, this.bank);
-        this.dartOrg = new DartOrganizer(dartPane, this.bloons, this.bloonOrg);
-        this.monkeyOrg = new MonkeyOrganizer(this.bloons, monkeyPane, hitBoxPane,
-                primaryPane, rangePane, this.root, rightSide, this.bank, this.dartOrg);
+        switch (System.getProperty(RENDERER_PROPERTY, NODE_RENDERER)){
+            case CANVAS_RENDERER:
+                this.renderer = new CanvasRenderer(dartPane, bloonPane, popPane, andyPane);
+                break;
+            case PIXEL_RENDERER:
+                this.renderer = new PixelRenderer(bloonPane, andyPane);
+                break;
+            default:
+                this.renderer = new SceneRenderer(dartPane, bloonPane, popPane, andyPane);
+                break;
+        }
+        this.sim = new Simulation(this.renderer);
+        String record = System.getProperty(RECORD_PROPERTY);
+        if (record != null){
+            try {
+                this.sim.setRecorder(new ReplayRecorder(Path.of(record)));
+            }
+            catch (UncheckedIOException e){
+                this.hud.showMessage("The game is not being recorded: " + e.getMessage());
+            }
+        }
+        this.monkeyOrg = new MonkeyOrganizer(this.sim, monkeyPane, hitBoxPane,
+                primaryPane, rangePane, this.root, rightSide, this.sim.getBank());
     }
 
     /**
-     * This method is called from the Constructor, and it sets up the timeline, including both the slow
-     * and fast KeyFrames, which will be switched in and out as the user speeds-up / slows-down the game.
+     * This method is called from the Constructor, and it sets up the GameClock, which starts out at the
+     * slow tick length and will be switched as the user speeds-up / slows-down the game, and the
+     * AnimationTimer that runs the game loop once per display frame. The AnimationTimer is started here
+     * and never stopped, so that pops and explosions keep playing between levels; the game itself only
+     * runs while 'running' is true.
      */
-    private void setUpTimeline(){
-        this.slow = new KeyFrame(Duration.millis(SLOW_TIMELINE),
-                (ActionEvent e) -> this.updatePositions());
-        this.fast = new KeyFrame(Duration.millis(FAST_TIMELINE),
-                (ActionEvent e) -> this.updatePositions());
-        this.timeline = new Timeline(this.slow);
-        this.timeline.setCycleCount(Animation.INDEFINITE);
+    private void setUpLoop(){
+        this.clock = new GameClock(SLOW_TICK, MAX_CATCH_UP_TICKS, CARRY_BACKLOG);
+        this.loop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                BloonsGame.this.runFrame(now);
+            }
+        };
+        this.loop.start();
     }
 
     /**
-     * This method is called repeated from the timeline. It moves all bloons, adds any new bloons,
-     * checks for a game over, victory, or new level, and updates the labels in the top-left.
+     * This method is called from the AnimationTimer on every display frame. It steps the pop and explosion
+     * effects, advances the game if it is running, and then brings the labels up to date (at most once
+     * per frame, whether or not the game is running, since buying monkeys changes the cash too).
      */
-    private void updatePositions(){
-        this.bloonOrg.moveAllBloons(this.bloons.getTail());
-        this.bloonOrg.addBloons();
+    private void runFrame(long now){
+        this.renderer.animate(now);
+        if (this.running){
+            this.advance(now);
+        }
+        this.hud.update(this.sim.getBank().getCash(), this.sim.getLives());
+    }
+
+    /**
+     * This method is called from the runFrame method while the game is running. It runs as many ticks as
+     * the GameClock says are owed (stopping early if the level or game ends), and then draws the game once,
+     * interpolating the bloons and darts between the last two ticks. At turbo speeds the game isn't
+     * interpolated, so a frame in which no tick was run leaves the screen untouched.
+     */
+    private void advance(long now){
+        this.clock.startFrame(now);
+        while (this.running && this.clock.shouldTick()){
+            this.updatePositions();
+        }
+
+        boolean interpolate = this.speed != SPEED_MAX && this.speed < INTERPOLATE_BELOW;
+        if (this.running && !interpolate && this.clock.getTicksThisFrame() == 0){
+            return;
+        }
+        this.renderer.render(this.sim.getBloons(), this.running && interpolate ? this.clock.getAlpha() : 1);
+        this.monkeyOrg.render();
+    }
+
+    /**
+     * This method starts the game running, resetting the clock so that time spent paused isn't caught up on.
+     */
+    private void startLoop(){
+        this.clock.reset();
+        this.running = true;
+    }
+
+    /**
+     * This method stops the game running, either because a level ended or because the game is over.
+     */
+    private void stopLoop(){
+        this.running = false;
+    }
 
-        // Update lives and aim/shoot at bloons.
-        this.livesText.setText("Lives  " + this.bloonOrg.getLives());
-        this.monkeyOrg.aimAndShoot();
-        this.dartOrg.moveDarts();
+    /**
+     * This method is called from the game loop for every tick of the Simulation. It advances the
+     * Simulation by one tick and checks for a game over, victory, or new level.
+     */
+    private void updatePositions(){
+        this.sim.step();
 
         // Check both win and loss conditions...
-        if (this.bloonOrg.getLives() <= 0){
-            this.livesText.setText("Lives  0");
+        if (this.sim.isLost()){
             this.gameOver();
         }
-        else if (this.bloonOrg.getVictory() && this.bloons.getSize() < 1){
+        else if (this.sim.isWon()){
             this.win();
         }
 
         // Check if the level is over.
-        if (this.bloons.getSize() < 1 && !this.bloonOrg.getInLevel()){
+        if (this.sim.isLevelOver()){
             this.newLevel();
         }
     }
 
     /**
      * This method is called from the updatePositions method above whenever a level ends. It stops
-     * the timeline and makes necessary adjustments in preparation for the next level.
+     * the game loop and makes necessary adjustments in preparation for the next level, and then takes a
+     * snapshot of the game, which is both kept so that the next level can be retried and saved.
      */
     private void newLevel(){
-        this.timeline.stop();
-        this.dartOrg.clear();
+        this.stopLoop();
+        this.sim.endLevel();
         this.playPause.setText("Play");
-        this.bank.modifyCash(LEVEL_CASH);
         this.paused = true;
+        if (!this.sim.isLost() && !this.sim.isWon()){
+            ByteBuffer snapshot = SaveFile.snapshot(this.sim);
+            this.keepLevelStart(snapshot);
+            this.write(snapshot);
+        }
+    }
+
+    /**
+     * This method keeps the snapshot passed in, taken between levels, so that the level after it can be
+     * retried. Only the last RETRY_LEVELS snapshots are kept. Between levels there are no Bloons or darts,
+     * so each one only holds the level's progress, the cash, and the monkeys, in a few hundred bytes.
+     */
+    private void keepLevelStart(ByteBuffer snapshot){
+        if (this.levelStarts.size() == RETRY_LEVELS){
+            this.levelStarts.removeFirst();
+        }
+        this.levelStarts.addLast(snapshot);
+    }
+
+    /**
+     * This method is called when the retry button on the loss screen is clicked, and it puts the game back
+     * to how it was just before the level that was lost, with the monkeys and cash from then, ready for
+     * the player to try again. The snapshot is kept, so the level can be retried as many times as needed.
+     */
+    public void retryLevel(){
+        if (this.levelStarts.isEmpty()){
+            return;
+        }
+        SaveFile.load(this.sim, this.levelStarts.getLast());
+        this.showLoadedGame();
+    }
+
+    /**
+     * This method is called at the end of every level and whenever the user presses S (unless the game is
+     * over). It takes a snapshot of the Simulation straight away, which only copies its state into a
+     * buffer, and hands the snapshot to the saver thread to write to the save file, so the game never
+     * waits on the disk. The saver writes the snapshots one at a time, in order, so the file always ends
+     * up with the latest one.
+     */
+    public void save(){
+        if (this.sim.isLost() || this.sim.isWon()){
+            return;
+        }
+        this.write(SaveFile.snapshot(this.sim));
+    }
+
+    /**
+     * This helper method hands the snapshot passed in to the saver thread to be written to the save file.
+     * If it can't be written, the saver hands the reason back to the JavaFX thread to be shown in the Hud.
+     */
+    private void write(ByteBuffer snapshot){
+        this.saver.execute(() -> {
+            try {
+                SaveFile.write(snapshot, this.savePath);
+            }
+            catch (UncheckedIOException e){
+                Platform.runLater(() -> this.hud.showMessage("The game was not saved: " + e.getMessage()));
+            }
+        });
+    }
+
+    /**
+     * This method is called when the user presses L, and it loads the save file (once any save that is
+     * still being written has finished) and shows it in place of the game on the screen. If the file can't
+     * be loaded, nothing changes, and the reason is shown in the Hud. None of the levels from before the load
+     * can be retried, but a game saved between levels keeps its snapshot so the next level can be.
+     */
+    public void load(){
+        try {
+            this.saver.submit(() -> {}).get();
+            SaveFile.load(this.sim, this.savePath);
+        }
+        catch (IllegalArgumentException | UncheckedIOException | ExecutionException e){
+            this.hud.showMessage("The game was not loaded: " + e.getMessage());
+            return;
+        }
+        catch (InterruptedException e){
+            Thread.currentThread().interrupt();
+            return;
+        }
+        this.levelStarts.clear();
+        if (this.sim.isLevelOver()){
+            this.keepLevelStart(SaveFile.snapshot(this.sim));
+        }
+        this.showLoadedGame();
+    }
+
+    /**
+     * This helper method is called once a saved game or a snapshot has been loaded into the Simulation,
+     * and it shows the loaded game in place of the old one: the Simulation has already told the
+     * GameRenderer about every bloon and dart that was removed and loaded, and the MonkeyOrganizer puts a
+     * monkey down for every MonkeyModel. A game from between levels is shown paused, and one from partway
+     * through a level carries on straight away.
+     */
+    private void showLoadedGame(){
+        this.stopLoop();
+        this.monkeyOrg.clear();
+        this.monkeyOrg.restore();
+        this.renderer.setSeed(this.sim.getSeed());
+        this.renderer.render(this.sim.getBloons(), 1);
+        this.monkeyOrg.render();
+
+        this.root.getChildren().remove(this.loss);
+        this.root.getChildren().remove(this.win);
+        this.hud.setLevel(this.sim.getLevel());
+        this.hud.setLevelCount(this.sim.getSchedule().getLevelCount());
+        this.playPause.setText("Play");
+        this.paused = this.sim.isLevelOver();
+        if (!this.paused){
+            this.setSpeed(this.speed);
+            this.startLoop();
+        }
     }
 
     /**
      * This method is called from the updatePositions method above whenever lives drop to 0,
-     * and it simply stops the timeline and displays the loss pane (passed in from PaneOrganizer).
+     * and it simply stops the game loop and displays the loss pane (passed in from PaneOrganizer).
      */
     private void gameOver(){
-        this.timeline.stop();
+        this.stopLoop();
+        this.sim.flushRecording();
         this.root.getChildren().add(this.loss);
     }
 
     /**
      * This method is called from the updatePositions method when the final level is over,
-     * and it simply stops the timeline and displays the win pane (passed in from PaneOrganizer).
+     * and it simply stops the game loop and displays the win pane (passed in from PaneOrganizer).
      */
     private void win(){
-        this.timeline.stop();
+        this.stopLoop();
+        this.sim.flushRecording();
         this.root.getChildren().add(this.win);
     }
 
     /**
      * This method is called when the play button is pressed. If a level is not active, it starts
-     * the next level. If a level is active, it either speeds up or slows down the timeline...
+     * the next level. If a level is active, it either speeds up or slows down the game clock...
      */
     public void play(){
         if (this.paused){
 
             // START THE GAME IF ALREADY PAUSED
-            this.timeline.play();
-            this.bloonOrg.setInLevel(true);
-            this.levelText.setText("Level  " + this.bloonOrg.getLevel() + "/30");
+            this.startLoop();
+            this.sim.startLevel();
+            this.hud.setLevel(this.sim.getLevel());
             this.paused = false;
-            if (this.speedy){
-                this.playPause.setText("Slow");
-            }
-            else{
-                this.playPause.setText("Fast");
-            }
+            this.setSpeed(this.speed);
         }
-        else if (!this.speedy){
+        else if (this.speed == SPEED_SLOW){
 
             // IF NOT PAUSED AND ALREADY SLOW, MAKE IT FAST
-            this.timeline.stop();
-            this.timeline = new Timeline(this.fast);
-            this.timeline.setCycleCount(Animation.INDEFINITE);
-            this.timeline.play();
-            this.playPause.setText("Slow");
-            this.speedy = true;
+            this.setSpeed(SPEED_FAST);
         }
         else {
 
-            // IF NOT PAUSED AND ALREADY FAST, MAKE IT SLOW
-            this.timeline.stop();
-            this.timeline = new Timeline(this.slow);
-            this.timeline.setCycleCount(Animation.INDEFINITE);
-            this.timeline.play();
-            this.playPause.setText("Fast");
-            this.speedy = false;
+            // IF NOT PAUSED AND ALREADY FAST (OR TURBO), MAKE IT SLOW
+            this.setSpeed(SPEED_SLOW);
+        }
+    }
+
+    /**
+     * This method is called from the play method above and whenever the user presses one of the speed
+     * keys. It tells the GameClock how many times faster than normal to run (SPEED_MAX runs as many ticks
+     * as each frame allows), and, if a level is active, sets the play button to offer the opposite speed.
+     */
+    public void setSpeed(double newSpeed){
+        this.speed = newSpeed;
+        this.clock.setSpeed(newSpeed);
+        this.sim.setSpeed(newSpeed);
+        if (!this.paused){
+            if (this.speed == SPEED_SLOW){
+                this.playPause.setText("Fast");
+            }
+            else{
+                this.playPause.setText("Slow");
+            }
         }
     }
 
     /**
      * This method is called when the game is first started and then again whenever it is restarted.
-     * It stops the timeline, clears the screen graphically and logically of all monkeys, darts, and
-     * bloons, and resets the cash and all the labels in the upper-left corner to default.
+     * It stops the game loop, clears the screen graphically and logically of all monkeys, darts, and
+     * bloons, and resets the cash and the level shown in the upper-left corner to default. Each game gets
+     * a new seed for its random numbers, which is recorded along with everything else.
      */
     public void restart(){
-        this.timeline.stop();
-        this.timeline = new Timeline(this.slow);
-        this.timeline.setCycleCount(Animation.INDEFINITE);
-        this.speedy = false;
+        this.stopLoop();
         this.paused = true;
+        this.setSpeed(SPEED_SLOW);
 
         this.monkeyOrg.clear();
-        this.bloonOrg.clear();
-        this.dartOrg.clear();
+        this.sim.restart(System.nanoTime());
+        this.renderer.clear();
+        this.renderer.setSeed(this.sim.getSeed());
+        this.levelStarts.clear();
+        this.keepLevelStart(SaveFile.snapshot(this.sim));
 
         this.root.getChildren().remove(this.loss);
         this.root.getChildren().remove(this.win);
 
-        this.bank.resetCash();
-        this.livesText.setText("Lives  " + this.bloonOrg.getLives());
-        this.levelText.setText("Level  " + this.bloonOrg.getLevel() + "/30");
+        this.hud.setLevel(this.sim.getLevel());
+        this.hud.setLevelCount(this.sim.getSchedule().getLevelCount());
+    }
+
+    /**
+     * This method is called when the user presses R, and it reloads the levels from their file between
+     * levels (while a level is being played it does nothing). The LevelLoader says which file that is. The
+     * file is read, checked, and compiled before anything changes, so if it has a mistake in it the game
+     * just carries on with the levels it already had. Either way, the Hud says what happened, along with
+     * the line of any mistake.
+     */
+    public void reloadLevels(){
+        if (!this.paused){
+            return;
+        }
+        try {
+            WaveSchedule schedule = new WaveSchedule(LevelLoader.load());
+            this.sim.setSchedule(schedule);
+            this.hud.setLevelCount(schedule.getLevelCount());
+            this.hud.showMessage("Reloaded " + schedule.getLevelCount() + " levels");
+        }
+        catch (IllegalArgumentException | UncheckedIOException e){
+            this.hud.showMessage("The levels were not reloaded: " + e.getMessage());
+        }
+    }
+
+    /**
+     * This method is called when the game is quit or its window is closed, and it finishes the recording
+     * of the game, if it is being recorded.
+     */
+    public void close(){
+        this.sim.closeRecording();
     }
 
     /**
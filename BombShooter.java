@@ -9,41 +9,28 @@ import java.util.ArrayList;
 import static indy.Constants.*;
 
 /**
- * This is the BombShooter class. It contains instance variables for monkey properties, along with
- * the DartOrganizer and ImageViews used to visually represent the monkey. This monkey was created last,
+ * This is the BombShooter class. It contains the ImageViews used to visually represent the monkey, whose
+ * stats and upgrades live in the MonkeyModel. This monkey was created last,
  * and I went with a different approach where I created the monkey in an outside software and used the
  * imported images. This was easier since the BombShooter has no animation (while the ArmShooters do),
  * and it reduced a lot of code required to set up the shapes for the other monkeys...
  */
 public class BombShooter extends Monkey {
 
-    private DartOrganizer dartOrg;
     private ImageView bomber;
     private ImageView selected;
     private Pane monkeyPane;
-    private boolean[] upgradeStatus;
-    private int range;
-    private int boom;
 
     /**
      * This is the BombShooter class' Constructor. It calls the superclass' constructor and sets up the
      * instance variables unique to the BombShooter, and calls the setUpBomber method to visually set it up.
      */
-    public BombShooter(Pane myMonkeyPane, DoublyLinkedList bloons, DartOrganizer darts, Pane myHitBoxPane,
-                       Pane myRangePane, ArrayList<Shape> myHitBoxes, ArrayList<Monkey> monkeys){
-        super(bloons, myHitBoxPane, myRangePane, myHitBoxes,
-                BOMB_SHOOTER_RANGE, monkeys, false);
+    public BombShooter(Pane myMonkeyPane, Pane myHitBoxPane, Pane myRangePane,
+                       ArrayList<Shape> myHitBoxes, ArrayList<Monkey> monkeys){
+        super(myHitBoxPane, myRangePane, myHitBoxes, BOMB_SHOOTER_TYPE, monkeys);
 
-        this.dartOrg = darts;
         this.monkeyPane = myMonkeyPane;
-
-        this.upgradeStatus = new boolean[NUM_UPGRADES];
-
-        this.boom = START_EXPLOSION_RADIUS;
-        this.range = BOMB_SHOOTER_RANGE;
-
         this.setUpBomber();
-        super.setShotSpeed(START_BOMB_SPEED);
     }
 
     /**
@@ -78,14 +65,6 @@ public class BombShooter extends Monkey {
         image.getTransforms().add(super.getRotate());
     }
 
-    /**
-     * This accessor method returns the monkey's type so the UpgradePanel knows which monkey it represents.
-     */
-    @Override
-    public int getMonkeyType(){
-        return BOMB_SHOOTER_TYPE;
-    }
-
     /**
      * This method overrides the superclass' selectMe method, and if it returns true—meaning that the
      * monkey can be selected—it sets the image to the 'selected' image, which is slightly different from
@@ -144,21 +123,6 @@ public class BombShooter extends Monkey {
         return result;
     }
 
-    /**
-     * This method defines the abstract shoot method from the superclass. It calls the superclass' aim
-     * method, and if it doesn't return null, then it shoots a dart in the direction that the superclass
-     * is facing. The BombShooter does not have a shooting animation.
-     */
-    @Override
-    public void shoot(){
-        if (super.aim() != null){
-            this.dartOrg.newDart(this.bomber.getTranslateX() + BOMB_SHOOTER_WIDTH/2,
-                    this.bomber.getTranslateY() + BOMB_SHOOTER_HEIGHT/2, super.getRotate().getAngle(),
-                    this.range + DART_RANGE_INCREASE, BOMB_SHOOTER_TYPE, false, 1,
-                    false, this.boom);
-        }
-    }
-
     /**
      * This method overrides the superclass' method, in order to additionally remove the monkey's images.
      */
@@ -172,46 +136,8 @@ public class BombShooter extends Monkey {
      * This method overrides the superclass' method, in order to additionally move the monkey's image.
      */
     @Override
-    public void mouseFollow(MouseEvent a){
-        super.mouseFollow(a);
+    public void follow(double newX, double newY){
+        super.follow(newX, newY);
         super.relocate(this.bomber);
     }
-
-    /**
-     * Accessor method to get the array of boolean values that tracks which upgrades the monkey has bought.
-     */
-    @Override
-    public boolean[] getUpgradeStatus() {
-        return this.upgradeStatus;
-    }
-
-    /**
-     * This method is called whenever the user clicks on an upgrade button to try and buy an upgrade. It
-     * returns true if the user has enough cash to buy the upgrade, and if the upgrade has not already been
-     * bought for the given monkey. In this case, it uses a switch statement to do whatever is necessary
-     * to implement the upgrade that corresponds with the 'upgradeNum' passed in.
-     */
-    @Override
-    public boolean upgrade(int upgradeNum, int cash, int cost){
-        if (cash >= cost){
-            if (!this.upgradeStatus[upgradeNum]){
-                switch(upgradeNum){
-                    case TOP_UPGRADE:
-                        super.setShotSpeed(NEW_BOMB_SPEED);
-                        break;
-                    case MID_UPGRADE:
-                        this.boom = NEW_EXPLOSION_RADIUS;
-                        break;
-                    case BOT_UPGRADE:
-                        super.upgradeRange();
-                        break;
-                    default:
-                        break;
-                }
-                this.upgradeStatus[upgradeNum] = true;
-                return true;
-            }
-        }
-        return false;
-    }
 }
\ No newline at end of file
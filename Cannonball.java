@@ -1,115 +1,89 @@
 package indy;
 
-import javafx.geometry.Bounds;
-import javafx.scene.layout.Pane;
-import javafx.scene.shape.Circle;
-import javafx.scene.shape.Shape;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import static indy.Constants.*;
 
 /**
- * This is the Cannonball class, which inherits from the Dart class. It is represented by a single Circle,
- * and it has fewer variable properties than the Dart class from which it inherits. A cannonball always
- * ends in an explosion, either upon contact with any Bloon or when it reaches the end of its range.
+ * This is the Cannonball class, which inherits from the Dart class. It is a small ball, and it has fewer
+ * variable properties than the Dart class from which it inherits. A cannonball always ends in an
+ * explosion, either upon contact with any Bloon or when it reaches the end of its range.
  */
 public class Cannonball extends Dart {
 
-    private DoublyLinkedList myBloons;
-    private Circle ball;
-    private Pane cannonballPane;
-    private double distanceTraveled;
-    private int range;
+    private BloonOrganizer bloonOrg;
     private int bigBoom;
 
     /**
-     * This is the Cannonball class' Constructor. It is associated with the DoublyLinkedList of Bloons
-     * and takes in various properties necessary for the Dart's constructor. It calls the super's
-     * Constructor and then initializes all of its relevant instance variables...
+     * This is the Cannonball class' Constructor. It is associated with the BloonOrganizer, which pops the
+     * Bloons caught in its explosion, and it calls the super's Constructor...
      */
-    public Cannonball (Pane myPane, Double angle, double x, double y, int myRange, boolean canTarget,
-                       int maxPops, ArrayList<Bloon> bloonsHit, boolean piercingUp, boolean canHitCamo,
-                       DoublyLinkedList bloons, int boomSize){
-        super(myPane, angle, x, y, myRange, canTarget, maxPops, bloonsHit, piercingUp, canHitCamo);
-
-        this.cannonballPane = myPane;
-        this.distanceTraveled = 0;
-        this.range = myRange;
-        this.myBloons = bloons;
-        this.bigBoom = boomSize;
+    public Cannonball(BloonOrganizer bloonOrganizer){
+        super();
+        this.bloonOrg = bloonOrganizer;
     }
 
     /**
-     * This method is overridden from the superclass because the cannonball explodes on contact with
-     * any type of Bloon, making its collision checking much simpler than that of the dart. If it does
-     * have a collision, it creates an Explosion but always returns false because the cannonball can
-     * not go through Bloons and continue traveling.
+     * This method is called from the DartOrganizer whenever the cannonball is shot. A cannonball never
+     * targets or pierces and always has exactly one pop, so it only takes in its position, direction,
+     * range, whether it can hit camo Bloons, and the size of its explosion.
      */
-    @Override
-    public boolean checkCollision(Bloon bloon){
-        if (bloon.getBody().intersects(this.ball.getBoundsInParent())){
-            this.cannonballPane.getChildren().remove(this.ball);
-            new Explosion(bloon.getBody().getCenterX(), bloon.getBody().getCenterY() +
-                    EXPLOSION_OFFSET, this.cannonballPane, this.myBloons, this.bigBoom);
-            super.dropPop();
-        }
-        return false;
+    public void launch(double angle, double x, double y, int myRange, boolean canHitCamo, int boomSize){
+        super.launch(angle, x, y, myRange, false, 1, false, canHitCamo);
+        this.bigBoom = boomSize;
     }
 
     /**
-     * This method is overridden from the superclass because the cannonball must move its Circle as
-     * opposed to the Dart's Rectangle. Instead of simply disappearing when it reaches the end of its
-     * range, the Cannonball also creates an explosion at its location upon death.
+     * These methods are overridden from the superclass to also save and load the size of the blast.
      */
     @Override
-    public boolean move(){
-        this.ball.setCenterY(this.ball.getCenterY() - CANNONBALL_SPEED);
-        this.distanceTraveled += CANNONBALL_SPEED;
-        if (this.distanceTraveled > this.range){
-            this.cannonballPane.getChildren().remove(this.ball);
-
-            // Make a new explosion at the Cannonball's last location.
-            Bounds bounds = this.ball.getBoundsInParent();
-            double x = ((bounds.getMaxX() + bounds.getMinX()) / 2);
-            double y = ((bounds.getMaxY() + bounds.getMinY()) / 2);
-            new Explosion(x, y, this.cannonballPane, this.myBloons, this.bigBoom);
-
-            return false;
-        }
-        return true;
+    public void save(ByteBuffer buffer){
+        super.save(buffer);
+        buffer.putInt(this.bigBoom);
     }
 
-    /**
-     * This method is overridden from the superclass because the cannonball is now made up of a Circle,
-     * as opposed to a thin Rectangle, and it is never targeting so doesn't need to limit the max range.
-     */
     @Override
-    public void setUpDart(double x, double y, Pane pane){
-        this.ball = new Circle(x, y, CANNONBALL_RADIUS);
-        this.ball.getTransforms().add(super.getRotate());
-        pane.getChildren().add(this.ball);
+    public void load(ByteBuffer buffer){
+        super.load(buffer);
+        this.bigBoom = buffer.getInt();
     }
 
     /**
-     * This accessor method is overridden to get the X center of the Cannonball's Circle.
+     * This method is overridden from the superclass because the cannonball explodes on contact with
+     * any type of Bloon, making its collision checking much simpler than that of the dart. If it does
+     * have a collision, it explodes but always returns false because the cannonball can
+     * not go through Bloons and continue traveling.
      */
     @Override
-    public double getX(){
-        return this.ball.getCenterX();
+    public boolean checkCollision(BloonStore bloons, int slot){
+        if (this.hits(bloons, slot)){
+            this.bloonOrg.explode(bloons.getX(slot), bloons.getY(slot) + EXPLOSION_OFFSET, this.bigBoom);
+            super.dropPop();
+        }
+        return false;
     }
 
     /**
-     * This accessor method is overridden to get the Y center of the Cannonball's Circle.
+     * This method is overridden from the superclass because the cannonball is a circle rather than a
+     * thin rectangle, so it checks whether the Bloon's ellipse overlaps the ball's circle.
      */
     @Override
-    public double getY(){
-        return this.ball.getCenterY();
+    protected boolean hits(BloonStore bloons, int slot){
+        return Collisions.ellipseHitsCircle(bloons.getX(slot), bloons.getY(slot), bloons.getXRad(slot),
+                bloons.getYRad(slot), this.getX(), this.getY(), CANNONBALL_RADIUS);
     }
 
     /**
-     * This accessor method is overridden to get the Cannonball's Circle (as opposed to Rectangle).
+     * This method is overridden from the superclass because the cannonball travels at its own speed.
+     * Instead of simply disappearing when it reaches the end of its range, the Cannonball also creates
+     * an explosion at its location upon death.
      */
     @Override
-    public Shape getDart(){
-        return this.ball;
+    public boolean move(){
+        if (!this.travel(CANNONBALL_SPEED)){
+            // Make a new explosion at the Cannonball's last location.
+            this.bloonOrg.explode(this.getX(), this.getY(), this.bigBoom);
+            return false;
+        }
+        return true;
     }
 }
\ No newline at end of file
@@ -0,0 +1,317 @@
+package indy;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import static indy.Constants.*;
+
+/**
+ * This is the CanvasRenderer class. It is the GameRenderer used when the game is started with
+ * -Dindy.renderer=canvas, and instead of keeping a set of shapes in the scene graph for every bloon, dart,
+ * and effect (as the SceneRenderer does), it draws them all onto one Canvas per layer on every frame:
+ * darts and explosions in the dart pane, bloons in the bloon pane, pops in the pop pane, and Andy and
+ * his health bar in the andy pane. The number of nodes on screen therefore stays the same no matter how
+ * many Bloons there are. The Canvases ignore the mouse, so monkeys are placed and picked just as before.
+ *
+ * Bloons are drawn grouped by their style (which depends on their strength) and camo, so that each
+ * fill and stroke colour is only set once per group, but each bloon is drawn with the same shapes,
+ * sizes, and colours as a BloonView.
+ */
+public class CanvasRenderer implements GameRenderer {
+
+    // The bloon styles, indexed by strength (every strength from ANDY_POP up is drawn as Andy's body).
+    private static final Color[] FILLS = {null, RED_COLOR, BLUE_COLOR, GREEN_COLOR, YELLOW_COLOR,
+            PINK_COLOR, BLACK_COLOR, Color.DARKGRAY, Color.BLACK};
+    private static final Color[] BORDERS = {null, Color.MAROON, Color.BLUE, Color.GREEN, YELLOW_BORDER,
+            PINK_BORDER, Color.BLACK, BLACK_COLOR, Color.BLACK};
+    private static final double[] TAIL_Y1 = {0, RED_Y1, BLUE_Y1, GREEN_Y1, YELLOW_Y1, PINK_Y1, BLACK_Y1,
+            BLUE_Y1, 0};
+    private static final double[] TAIL_Y2 = {0, RED_Y2, BLUE_Y2, GREEN_Y2, YELLOW_Y2, PINK_Y2, BLACK_Y2,
+            BLUE_Y2, 0};
+    private static final int GROUPS = (ANDY_POP + 1) * 2;
+
+    private GraphicsContext dartLayer;
+    private GraphicsContext boomLayer;
+    private GraphicsContext bloonLayer;
+    private GraphicsContext popLayer;
+    private GraphicsContext andyLayer;
+    private ArrayList<Dart> darts;
+    private EffectScheduler effects;
+    private Image andy;
+    private int[] groupStart;
+    private int[] order;
+    private double[] xs;
+    private double[] ys;
+    private boolean effectsShown;
+
+    /**
+     * This is the CanvasRenderer class' Constructor. It is associated with the dart, bloon, pop, and andy
+     * panes, and it adds a Canvas covering the play field to each of them (two to the dart pane, so that
+     * explosions are drawn over the darts), along with the EffectScheduler that steps the effects.
+     */
+    public CanvasRenderer(Pane dartPane, Pane bloonPane, Pane popPane, Pane andyPane){
+        this.dartLayer = this.addCanvas(dartPane);
+        this.boomLayer = this.addCanvas(dartPane);
+        this.bloonLayer = this.addCanvas(bloonPane);
+        this.popLayer = this.addCanvas(popPane);
+        this.andyLayer = this.addCanvas(andyPane);
+        this.bloonLayer.setLineWidth(BLOON_BORDER_WIDTH);
+
+        this.darts = new ArrayList<>();
+        this.effects = new EffectScheduler(null, null);
+        this.andy = new Image("indy/A.N.D.Y.png");
+        this.groupStart = new int[GROUPS + 1];
+        this.order = new int[STARTING_BLOON_CAPACITY];
+        this.xs = new double[4];
+        this.ys = new double[4];
+    }
+
+    /**
+     * This helper method adds a Canvas the size of the play field to the pane passed in, and returns
+     * the Canvas' GraphicsContext.
+     */
+    private GraphicsContext addCanvas(Pane pane){
+        Canvas canvas = new Canvas(SCENE_WIDTH, SCENE_HEIGHT);
+        canvas.setMouseTransparent(true);
+        pane.getChildren().add(canvas);
+        return canvas.getGraphicsContext2D();
+    }
+
+    /**
+     * This method is called from the BloonsGame once per display frame with the Simulation's BloonStore,
+     * and it redraws the bloon, andy, and dart Canvases, placing everything 'alpha' of the way through
+     * the current tick.
+     */
+    @Override
+    public void render(BloonStore bloons, double alpha){
+        this.bloonLayer.clearRect(0, 0, SCENE_WIDTH, SCENE_HEIGHT);
+        this.andyLayer.clearRect(0, 0, SCENE_WIDTH, SCENE_HEIGHT);
+        this.dartLayer.clearRect(0, 0, SCENE_WIDTH, SCENE_HEIGHT);
+
+        this.sortBloons(bloons);
+        for (int group = 0; group < GROUPS; group++){
+            if (this.groupStart[group] < this.groupStart[group + 1]){
+                this.drawGroup(bloons, group, alpha);
+            }
+        }
+        this.drawDarts(alpha);
+    }
+
+    /**
+     * This helper method sorts the slots of the live Bloons by group (their style and camo) with a
+     * counting sort, keeping them in the store's order (furthest along first) within each group.
+     */
+    private void sortBloons(BloonStore bloons){
+        if (this.order.length < bloons.getSize()){
+            this.order = new int[Math.max(bloons.getSize(), this.order.length * 2)];
+        }
+        Arrays.fill(this.groupStart, 0);
+        for (int slot = 0; slot < bloons.getSize(); slot++){
+            if (bloons.isAlive(slot)){
+                this.groupStart[this.groupOf(bloons, slot) + 1]++;
+            }
+        }
+        for (int group = 0; group < GROUPS; group++){
+            this.groupStart[group + 1] += this.groupStart[group];
+        }
+        for (int slot = 0; slot < bloons.getSize(); slot++){
+            if (bloons.isAlive(slot)){
+                int group = this.groupOf(bloons, slot);
+                this.order[this.groupStart[group]] = slot;
+                this.groupStart[group]++;
+            }
+        }
+
+        // The last pass moved each group's start up to the next group's, so shift them back down.
+        for (int group = GROUPS; group > 0; group--){
+            this.groupStart[group] = this.groupStart[group - 1];
+        }
+        this.groupStart[0] = 0;
+    }
+
+    /**
+     * This helper method returns the group of the Bloon in the slot passed in: its style, doubled, plus
+     * one if it is camo.
+     */
+    private int groupOf(BloonStore bloons, int slot){
+        int style = Math.min(bloons.getStrength(slot), ANDY_POP);
+        return style * 2 + (bloons.getCamo(slot) ? 1 : 0);
+    }
+
+    /**
+     * This helper method draws every Bloon in a group: first all of their tails, then their bodies, and
+     * then (for camo Bloons) their camo films, setting the colours only once for each. Andy's picture and
+     * health bar are drawn onto the andy Canvas.
+     */
+    private void drawGroup(BloonStore bloons, int group, double alpha){
+        int style = group / 2;
+        boolean camo = group % 2 == 1;
+        Color fill = FILLS[style];
+        Color border = BORDERS[style];
+        GraphicsContext gc = this.bloonLayer;
+
+        gc.setFill(camo ? CAMO_LIGHT : fill);
+        gc.setStroke(camo ? CAMO_LIGHT : border);
+        for (int i = this.groupStart[group]; i < this.groupStart[group + 1]; i++){
+            int slot = this.order[i];
+            double x = this.lerp(bloons.getPrevX(slot), bloons.getX(slot), alpha);
+            double y = this.lerp(bloons.getPrevY(slot), bloons.getY(slot), alpha);
+            this.xs[0] = x;
+            this.ys[0] = y + TAIL_Y1[style];
+            this.xs[1] = x - TAIL_RAD;
+            this.ys[1] = y + TAIL_Y2[style];
+            this.xs[2] = x + TAIL_RAD;
+            this.ys[2] = y + TAIL_Y2[style];
+            gc.fillPolygon(this.xs, this.ys, 3);
+            gc.strokePolygon(this.xs, this.ys, 3);
+        }
+
+        gc.setStroke(camo ? CAMO_DARK : border);
+        for (int i = this.groupStart[group]; i < this.groupStart[group + 1]; i++){
+            int slot = this.order[i];
+            double x = this.lerp(bloons.getPrevX(slot), bloons.getX(slot), alpha);
+            double y = this.lerp(bloons.getPrevY(slot), bloons.getY(slot), alpha);
+            double xRad = bloons.getXRad(slot);
+            double yRad = bloons.getYRad(slot);
+            gc.fillOval(x - xRad, y - yRad, xRad * 2, yRad * 2);
+            gc.strokeOval(x - xRad, y - yRad, xRad * 2, yRad * 2);
+        }
+
+        if (camo){
+            gc.setFill(fill);
+            gc.setStroke(border);
+            for (int i = this.groupStart[group]; i < this.groupStart[group + 1]; i++){
+                int slot = this.order[i];
+                double x = this.lerp(bloons.getPrevX(slot), bloons.getX(slot), alpha);
+                double y = this.lerp(bloons.getPrevY(slot), bloons.getY(slot), alpha);
+                double xRad = bloons.getXRad(slot);
+                gc.fillOval(x - xRad, y - CAMO_FILM_HEIGHT, xRad * 2, CAMO_FILM_HEIGHT * 2);
+                gc.strokeOval(x - xRad, y - CAMO_FILM_HEIGHT, xRad * 2, CAMO_FILM_HEIGHT * 2);
+            }
+        }
+
+        if (style == ANDY_POP){
+            for (int i = this.groupStart[group]; i < this.groupStart[group + 1]; i++){
+                int slot = this.order[i];
+                this.drawAndy(this.lerp(bloons.getPrevX(slot), bloons.getX(slot), alpha),
+                        this.lerp(bloons.getPrevY(slot), bloons.getY(slot), alpha), bloons.getStrength(slot));
+            }
+        }
+    }
+
+    /**
+     * This helper method draws Andy's picture at his position, and his health bar at the top of the screen.
+     */
+    private void drawAndy(double x, double y, int strength){
+        GraphicsContext gc = this.andyLayer;
+        gc.drawImage(this.andy, x - ANDY_DIMENSIONS/2, y - ANDY_DIMENSIONS/2, ANDY_DIMENSIONS, ANDY_DIMENSIONS);
+        gc.setFill(Color.LIGHTGRAY);
+        gc.fillRect(HEALTH_X, HEALTH_Y, HEALTH_WIDTH, HEALTH_HEIGHT);
+        gc.setFill(HEALTH_COLOR);
+        gc.fillRect(HEALTH_X, HEALTH_Y, HEALTH_WIDTH-(ANDY_STRENGTH-(float)strength)
+                /(ANDY_STRENGTH-ANDY_POP)*HEALTH_WIDTH, HEALTH_HEIGHT);
+        gc.setStroke(Color.BLACK);
+        gc.setLineWidth(HEALTH_BORDER);
+        gc.strokeRect(HEALTH_X, HEALTH_Y, HEALTH_WIDTH, HEALTH_HEIGHT);
+    }
+
+    /**
+     * This helper method draws every dart as a black rectangle turned in the dart's direction, and every
+     * cannonball as a black circle.
+     */
+    private void drawDarts(double alpha){
+        GraphicsContext gc = this.dartLayer;
+        gc.setFill(Color.BLACK);
+        for (int i = 0; i < this.darts.size(); i++){
+            Dart dart = this.darts.get(i);
+            double x = this.lerp(dart.getPrevX(), dart.getX(), alpha);
+            double y = this.lerp(dart.getPrevY(), dart.getY(), alpha);
+            if (dart instanceof Cannonball){
+                gc.fillOval(x - CANNONBALL_RADIUS, y - CANNONBALL_RADIUS, CANNONBALL_RADIUS * 2,
+                        CANNONBALL_RADIUS * 2);
+                continue;
+            }
+
+            // Find the corners of the rectangle from its length and width directions.
+            double lengthX = dart.getXDir() * DART_HEIGHT/2.0;
+            double lengthY = dart.getYDir() * DART_HEIGHT/2.0;
+            double widthX = -dart.getYDir() * DART_WIDTH/2.0;
+            double widthY = dart.getXDir() * DART_WIDTH/2.0;
+            this.xs[0] = x + lengthX + widthX;
+            this.ys[0] = y + lengthY + widthY;
+            this.xs[1] = x + lengthX - widthX;
+            this.ys[1] = y + lengthY - widthY;
+            this.xs[2] = x - lengthX - widthX;
+            this.ys[2] = y - lengthY - widthY;
+            this.xs[3] = x - lengthX + widthX;
+            this.ys[3] = y - lengthY + widthY;
+            gc.fillPolygon(this.xs, this.ys, 4);
+        }
+    }
+
+    /**
+     * This helper method returns the value 'alpha' of the way from 'from' to 'to'.
+     */
+    private double lerp(double from, double to, double alpha){
+        return from + (to - from) * alpha;
+    }
+
+    /**
+     * This method is called from the BloonsGame on every display frame, and it steps the effects and
+     * redraws the pop and explosion Canvases (skipping them once they are already empty).
+     */
+    @Override
+    public void animate(long now){
+        this.effects.step(now);
+        if (this.effects.getCount() == 0 && !this.effectsShown){
+            return;
+        }
+        this.popLayer.clearRect(0, 0, SCENE_WIDTH, SCENE_HEIGHT);
+        this.boomLayer.clearRect(0, 0, SCENE_WIDTH, SCENE_HEIGHT);
+        this.effects.draw(this.popLayer, this.boomLayer);
+        this.effectsShown = this.effects.getCount() > 0;
+    }
+
+    /**
+     * This method is called when the game is restarted, and it wipes every Canvas.
+     */
+    @Override
+    public void clear(){
+        this.darts.clear();
+        this.effects.clear();
+        this.effectsShown = false;
+        for (GraphicsContext gc : new GraphicsContext[]{this.dartLayer, this.boomLayer, this.bloonLayer,
+                this.popLayer, this.andyLayer}){
+            gc.clearRect(0, 0, SCENE_WIDTH, SCENE_HEIGHT);
+        }
+    }
+
+    @Override
+    public void dartAdded(Dart dart){
+        this.darts.add(dart);
+    }
+
+    @Override
+    public void dartRemoved(Dart dart){
+        this.darts.remove(dart);
+    }
+
+    @Override
+    public void bloonPopped(double x, double y){
+        this.effects.pop(x, y);
+    }
+
+    @Override
+    public void setSeed(long seed){
+        this.effects.setSeed(seed);
+    }
+
+    @Override
+    public void explosion(double x, double y, int size){
+        this.effects.explode(x, y, size);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,88 @@
+package indy;
+
+import static indy.Constants.*;
+
+/**
+ * This is the CollisionAudit class. The DartOrganizer hands it every dart and Bloon that it is about to
+ * check for a hit, just before the check, and it asks both the new Collisions test that the dart really
+ * uses (the rotated rectangle, or the cannonball's circle) and the old check that the game used to make
+ * (the Bloon against the upright box around the dart or ball), counting how often they agree and how
+ * often only one of them says it hit. Since it only watches, the game plays out exactly as it would
+ * without it, so the counts show how the two checks differ on the contacts that come up in real games.
+ * It is used by the CollisionBenchmark, and adds no cost when no audit is set.
+ */
+public class CollisionAudit {
+
+    private long[] checks;
+    private long[] bothHit;
+    private long[] onlyNew;
+    private long[] onlyOld;
+
+    private static final int DARTS = 0;
+    private static final int CANNONBALLS = 1;
+
+    /**
+     * This is the CollisionAudit class' Constructor. It starts every count at zero, with one count of each
+     * kind for darts and one for cannonballs.
+     */
+    public CollisionAudit(){
+        this.checks = new long[2];
+        this.bothHit = new long[2];
+        this.onlyNew = new long[2];
+        this.onlyOld = new long[2];
+    }
+
+    /**
+     * This method is called from the DartOrganizer just before the dart passed in is checked against the
+     * Bloon in the slot of the BloonStore passed in, and it counts what each check says.
+     */
+    public void check(Dart dart, BloonStore bloons, int slot){
+        int kind = (dart instanceof Cannonball) ? CANNONBALLS : DARTS;
+        boolean newHit = dart.hits(bloons, slot);
+        boolean oldHit = this.oldHit(dart, bloons, slot, kind);
+        this.checks[kind]++;
+        if (newHit && oldHit){
+            this.bothHit[kind]++;
+        }
+        else if (newHit){
+            this.onlyNew[kind]++;
+        }
+        else if (oldHit){
+            this.onlyOld[kind]++;
+        }
+    }
+
+    /**
+     * This helper method is the old check: the Bloon against the upright box around the rotated dart, or
+     * around the cannonball.
+     */
+    private boolean oldHit(Dart dart, BloonStore bloons, int slot, int kind){
+        double halfWidth = CANNONBALL_RADIUS;
+        double halfHeight = CANNONBALL_RADIUS;
+        if (kind == DARTS){
+            halfWidth = Math.abs(dart.getYDir()) * (DART_WIDTH/2.0) + Math.abs(dart.getXDir()) * (DART_HEIGHT/2.0);
+            halfHeight = Math.abs(dart.getXDir()) * (DART_WIDTH/2.0) + Math.abs(dart.getYDir()) * (DART_HEIGHT/2.0);
+        }
+        return Collisions.ellipseHitsBox(bloons.getX(slot), bloons.getY(slot), bloons.getXRad(slot),
+                bloons.getYRad(slot), dart.getX() - halfWidth, dart.getY() - halfHeight,
+                dart.getX() + halfWidth, dart.getY() + halfHeight);
+    }
+
+    /**
+     * This method prints out the counts for the darts and then for the cannonballs.
+     */
+    public void print(){
+        this.print("darts", DARTS);
+        this.print("cannonballs", CANNONBALLS);
+    }
+
+    /**
+     * This helper method prints out the counts of one kind.
+     */
+    private void print(String name, int kind){
+        System.out.printf("%s: %d checks, %d hits by both, %d only by the new test, %d only by the old box "
+                + "(%.3f%% differ)%n", name, this.checks[kind], this.bothHit[kind], this.onlyNew[kind],
+                this.onlyOld[kind], this.checks[kind] == 0 ? 0.0
+                        : 100.0 * (this.onlyNew[kind] + this.onlyOld[kind]) / this.checks[kind]);
+    }
+}
\ No newline at end of file
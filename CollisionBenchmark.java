@@ -0,0 +1,236 @@
+package indy;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Random;
+import static indy.Constants.*;
+
+/**
+ * This is the CollisionBenchmark class. Like the Headless class, it runs without any display. It builds
+ * a large set of random dart and cannonball positions around Bloons of every size, and then:
+ *
+ * - checks the Collisions tests against a brute-force answer, found by sampling many points spread over
+ *   the dart's rectangle or the cannonball's circle and checking whether any of them is inside the Bloon;
+ * - counts how often the old check (the Bloon against the box around the rotated dart) said the dart hit
+ *   when it really missed;
+ * - times the old box check against the new rectangle and circle tests.
+ *
+ * When it is given a replay file (recorded by the game with -Dindy.record, or by java indy.Headless record),
+ * it then plays the recorded game back with a CollisionAudit watching, and prints out how often the old
+ * box check and the new tests disagreed on the darts and cannonballs that met Bloons in that game.
+ */
+public class CollisionBenchmark {
+
+    private static final int CASES = 1 << 20;
+    private static final int CHECKED_CASES = 20000;
+    private static final int SAMPLES = 60;
+    private static final int ROUNDS = 5;
+    private static final double BOUNDARY_TOLERANCE = 0.01;
+    private static final double[][] RADII = {{RED_XRAD, RED_YRAD}, {BLUE_XRAD, BLUE_YRAD},
+            {GREEN_XRAD, GREEN_YRAD}, {YELLOW_XRAD, YELLOW_YRAD}, {PINK_XRAD, PINK_YRAD},
+            {BLACK_XRAD, BLACK_YRAD}, {ANDY_XRAD, ANDY_YRAD}};
+
+    private double[] bloonX = new double[CASES];
+    private double[] bloonY = new double[CASES];
+    private double[] xRad = new double[CASES];
+    private double[] yRad = new double[CASES];
+    private double[] dartX = new double[CASES];
+    private double[] dartY = new double[CASES];
+    private double[] dirX = new double[CASES];
+    private double[] dirY = new double[CASES];
+
+    /**
+     * This method runs the checks and then the timings, printing the results of each.
+     */
+    public static void main(String[] args){
+        CollisionBenchmark benchmark = new CollisionBenchmark();
+        benchmark.fill(new Random(15));
+        benchmark.check();
+        for (int round = 0; round < ROUNDS; round++){
+            benchmark.time(round == ROUNDS - 1);
+        }
+        if (args.length > 0){
+            replay(Path.of(args[0]));
+        }
+    }
+
+    /**
+     * This method plays back the replay file passed in with a CollisionAudit set on its Simulation, and
+     * prints out the audit's counts.
+     */
+    private static void replay(Path path){
+        CollisionAudit audit = new CollisionAudit();
+        try {
+            Replay replay = new Replay(path);
+            replay.getSimulation().setCollisionAudit(audit);
+            replay.run();
+        }
+        catch (IllegalArgumentException | IllegalStateException | UncheckedIOException e){
+            System.err.println("The replay failed: " + e.getMessage());
+            return;
+        }
+        System.out.println("recorded game " + path + ":");
+        audit.print();
+    }
+
+    /**
+     * This method fills the arrays with random cases: a Bloon of a random type, and a dart somewhere
+     * near its edge (where the result is hardest to get right) facing in a random direction.
+     */
+    private void fill(Random random){
+        for (int i = 0; i < CASES; i++){
+            double[] radii = RADII[random.nextInt(RADII.length)];
+            this.xRad[i] = radii[0];
+            this.yRad[i] = radii[1];
+            this.bloonX[i] = random.nextDouble() * SCENE_WIDTH;
+            this.bloonY[i] = random.nextDouble() * SCENE_HEIGHT;
+
+            double around = random.nextDouble() * 2 * Math.PI;
+            double reach = 0.6 + random.nextDouble() * 0.8;
+            this.dartX[i] = this.bloonX[i] + Math.cos(around) * radii[0] * reach;
+            this.dartY[i] = this.bloonY[i] + Math.sin(around) * radii[1] * reach;
+
+            double facing = random.nextDouble() * 2 * Math.PI;
+            this.dirX[i] = Math.sin(facing);
+            this.dirY[i] = -Math.cos(facing);
+        }
+    }
+
+    /**
+     * This method compares the Collisions tests with the sampled answer for the first CHECKED_CASES cases.
+     * Cases where the shapes only just touch (within BOUNDARY_TOLERANCE) can't be told apart by sampling,
+     * so they are skipped.
+     */
+    private void check(){
+        int rectangleWrong = 0;
+        int circleWrong = 0;
+        int boxTooLoose = 0;
+        int skipped = 0;
+        for (int i = 0; i < CHECKED_CASES; i++){
+            int rectangle = this.sampleRectangle(i);
+            int circle = this.sampleCircle(i);
+            if (rectangle < 0 || circle < 0){
+                skipped++;
+                continue;
+            }
+            boolean rectangleHit = Collisions.ellipseHitsRectangle(this.bloonX[i], this.bloonY[i], this.xRad[i],
+                    this.yRad[i], this.dartX[i], this.dartY[i], this.dirX[i], this.dirY[i],
+                    DART_HEIGHT/2.0, DART_WIDTH/2.0);
+            boolean circleHit = Collisions.ellipseHitsCircle(this.bloonX[i], this.bloonY[i], this.xRad[i],
+                    this.yRad[i], this.dartX[i], this.dartY[i], CANNONBALL_RADIUS);
+            if (rectangleHit != (rectangle == 1)){
+                rectangleWrong++;
+            }
+            if (circleHit != (circle == 1)){
+                circleWrong++;
+            }
+            if (this.boxHit(i) && rectangle == 0){
+                boxTooLoose++;
+            }
+        }
+        System.out.printf("checked %d cases (%d on the boundary skipped): %d rectangle and %d circle "
+                + "results wrong, old box check hit %d darts that missed%n", CHECKED_CASES - skipped,
+                skipped, rectangleWrong, circleWrong, boxTooLoose);
+    }
+
+    /**
+     * This helper method samples points over the dart's rectangle in case i. It returns 1 if one is
+     * inside the Bloon, 0 if none are, or -1 if the closest one is too near the Bloon's edge to say.
+     */
+    private int sampleRectangle(int i){
+        double closest = Double.MAX_VALUE;
+        for (int along = 0; along <= SAMPLES; along++){
+            for (int across = 0; across <= SAMPLES / 4; across++){
+                double l = (along / (double) SAMPLES - 0.5) * DART_HEIGHT;
+                double w = (across / (double) (SAMPLES / 4) - 0.5) * DART_WIDTH;
+                double x = this.dartX[i] + this.dirX[i] * l - this.dirY[i] * w;
+                double y = this.dartY[i] + this.dirY[i] * l + this.dirX[i] * w;
+                closest = Math.min(closest, this.ellipseValue(i, x, y));
+            }
+        }
+        return this.verdict(closest);
+    }
+
+    /**
+     * This helper method samples points over the cannonball's circle in case i, returning the same
+     * results as sampleRectangle.
+     */
+    private int sampleCircle(int i){
+        double closest = Double.MAX_VALUE;
+        for (int ring = 0; ring <= SAMPLES / 4; ring++){
+            double r = CANNONBALL_RADIUS * ring / (SAMPLES / 4);
+            for (int spoke = 0; spoke < SAMPLES * 4; spoke++){
+                double angle = spoke * 2 * Math.PI / (SAMPLES * 4);
+                closest = Math.min(closest, this.ellipseValue(i, this.dartX[i] + Math.cos(angle) * r,
+                        this.dartY[i] + Math.sin(angle) * r));
+            }
+        }
+        return this.verdict(closest);
+    }
+
+    /**
+     * These helper methods return how far inside the Bloon in case i a point is (1 or less is inside),
+     * and turn the closest point's value into 1 (hit), 0 (miss), or -1 (too close to call).
+     */
+    private double ellipseValue(int i, double x, double y){
+        double xScaled = (x - this.bloonX[i]) / this.xRad[i];
+        double yScaled = (y - this.bloonY[i]) / this.yRad[i];
+        return Math.sqrt(xScaled*xScaled + yScaled*yScaled);
+    }
+
+    private int verdict(double closest){
+        if (Math.abs(closest - 1) < BOUNDARY_TOLERANCE){
+            return -1;
+        }
+        return (closest < 1) ? 1 : 0;
+    }
+
+    /**
+     * This helper method is the old dart check: the Bloon against the upright box around the rotated dart.
+     */
+    private boolean boxHit(int i){
+        double halfWidth = Math.abs(this.dirY[i]) * (DART_WIDTH/2.0) + Math.abs(this.dirX[i]) * (DART_HEIGHT/2.0);
+        double halfHeight = Math.abs(this.dirX[i]) * (DART_WIDTH/2.0) + Math.abs(this.dirY[i]) * (DART_HEIGHT/2.0);
+        return Collisions.ellipseHitsBox(this.bloonX[i], this.bloonY[i], this.xRad[i], this.yRad[i],
+                this.dartX[i] - halfWidth, this.dartY[i] - halfHeight,
+                this.dartX[i] + halfWidth, this.dartY[i] + halfHeight);
+    }
+
+    /**
+     * This method times each check over every case, printing the results if 'print' is true (the
+     * earlier rounds only warm up the JIT compiler).
+     */
+    private void time(boolean print){
+        int hits = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < CASES; i++){
+            if (this.boxHit(i)){
+                hits++;
+            }
+        }
+        long box = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < CASES; i++){
+            if (Collisions.ellipseHitsRectangle(this.bloonX[i], this.bloonY[i], this.xRad[i], this.yRad[i],
+                    this.dartX[i], this.dartY[i], this.dirX[i], this.dirY[i], DART_HEIGHT/2.0, DART_WIDTH/2.0)){
+                hits++;
+            }
+        }
+        long rectangle = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < CASES; i++){
+            if (Collisions.ellipseHitsCircle(this.bloonX[i], this.bloonY[i], this.xRad[i], this.yRad[i],
+                    this.dartX[i], this.dartY[i], CANNONBALL_RADIUS)){
+                hits++;
+            }
+        }
+        long circle = System.nanoTime() - start;
+
+        if (print){
+            System.out.printf("old box: %.1f ns, rectangle: %.1f ns, circle: %.1f ns per check (%d hits)%n",
+                    (double) box / CASES, (double) rectangle / CASES, (double) circle / CASES, hits);
+        }
+    }
+}
\ No newline at end of file
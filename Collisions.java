@@ -0,0 +1,174 @@
+package indy;
+
+import static indy.Constants.*;
+
+/**
+ * This is the Collisions class. It holds the geometry used to check whether a dart or cannonball has hit
+ * a Bloon, worked out directly on plain numbers so that nothing is created while the game is running.
+ * Every Bloon's body is an upright ellipse, a dart is a thin rectangle rotated to face the way it is
+ * flying, and a cannonball is a circle, and each test here is exact for those shapes.
+ */
+public class Collisions {
+
+    /**
+     * This method checks whether an upright ellipse (center and radii) overlaps the upright box passed in.
+     * It scales the ellipse into a unit circle and checks whether the point of the box nearest to the
+     * ellipse's center is inside it.
+     */
+    public static boolean ellipseHitsBox(double ellipseX, double ellipseY, double xRad, double yRad,
+                                         double minX, double minY, double maxX, double maxY){
+        double closestX = Math.max(minX, Math.min(ellipseX, maxX));
+        double closestY = Math.max(minY, Math.min(ellipseY, maxY));
+        double xDiff = (closestX - ellipseX) / xRad;
+        double yDiff = (closestY - ellipseY) / yRad;
+        return xDiff*xDiff + yDiff*yDiff <= 1;
+    }
+
+    /**
+     * This method checks whether an upright ellipse (center and radii) overlaps a rotated rectangle. The
+     * rectangle is given by its center, the unit direction that its length points in, and half of its
+     * length and width. If the ellipse misses the upright box around the rectangle, it misses the
+     * rectangle too, and if the ellipse's center is inside the rectangle they overlap. Otherwise, after
+     * scaling the ellipse into a unit circle (which turns the rectangle into a parallelogram), they
+     * overlap only if one of the parallelogram's edges comes within 1 of the center.
+     */
+    public static boolean ellipseHitsRectangle(double ellipseX, double ellipseY, double xRad, double yRad,
+                                               double rectX, double rectY, double dirX, double dirY,
+                                               double halfLength, double halfWidth){
+        double boxHalfWidth = Math.abs(dirX) * halfLength + Math.abs(dirY) * halfWidth;
+        double boxHalfHeight = Math.abs(dirY) * halfLength + Math.abs(dirX) * halfWidth;
+        if (!ellipseHitsBox(ellipseX, ellipseY, xRad, yRad, rectX - boxHalfWidth, rectY - boxHalfHeight,
+                rectX + boxHalfWidth, rectY + boxHalfHeight)){
+            return false;
+        }
+        double xDiff = ellipseX - rectX;
+        double yDiff = ellipseY - rectY;
+
+        // Check whether the ellipse's center is inside the rectangle.
+        if (Math.abs(xDiff * dirX + yDiff * dirY) <= halfLength &&
+                Math.abs(yDiff * dirX - xDiff * dirY) <= halfWidth){
+            return true;
+        }
+
+        // Find the rectangle's corners relative to the ellipse, scaled so that the ellipse is a unit circle.
+        double lengthX = dirX * halfLength;
+        double lengthY = dirY * halfLength;
+        double widthX = -dirY * halfWidth;
+        double widthY = dirX * halfWidth;
+        double x0 = (-xDiff + lengthX + widthX) / xRad;
+        double y0 = (-yDiff + lengthY + widthY) / yRad;
+        double x1 = (-xDiff + lengthX - widthX) / xRad;
+        double y1 = (-yDiff + lengthY - widthY) / yRad;
+        double x2 = (-xDiff - lengthX - widthX) / xRad;
+        double y2 = (-yDiff - lengthY - widthY) / yRad;
+        double x3 = (-xDiff - lengthX + widthX) / xRad;
+        double y3 = (-yDiff - lengthY + widthY) / yRad;
+
+        return segmentNearOrigin(x0, y0, x1, y1) || segmentNearOrigin(x1, y1, x2, y2) ||
+                segmentNearOrigin(x2, y2, x3, y3) || segmentNearOrigin(x3, y3, x0, y0);
+    }
+
+    /**
+     * This helper method checks whether the line segment between the two points passed in comes within
+     * a distance of 1 of the origin.
+     */
+    private static boolean segmentNearOrigin(double startX, double startY, double endX, double endY){
+        double segmentX = endX - startX;
+        double segmentY = endY - startY;
+        double lengthSquared = segmentX*segmentX + segmentY*segmentY;
+        double t = 0;
+        if (lengthSquared > 0){
+            t = Math.max(0, Math.min(1, -(startX*segmentX + startY*segmentY) / lengthSquared));
+        }
+        double closestX = startX + segmentX * t;
+        double closestY = startY + segmentY * t;
+        return closestX*closestX + closestY*closestY <= 1;
+    }
+
+    /**
+     * This method checks whether an upright ellipse (center and radii) overlaps a circle (center and
+     * radius). Growing the ellipse evenly by a factor of (1 + radius / its shorter radius) gives an
+     * ellipse that holds every point within 'radius' of it, and growing it by (1 + radius / its longer
+     * radius) gives one whose points are all within 'radius' of it, so only circles centered between
+     * those two are left. For those, the circle overlaps if the distance from its center to the nearest
+     * point on the ellipse is no more than its radius.
+     */
+    public static boolean ellipseHitsCircle(double ellipseX, double ellipseY, double xRad, double yRad,
+                                            double circleX, double circleY, double radius){
+        double xDiff = Math.abs(circleX - ellipseX);
+        double yDiff = Math.abs(circleY - ellipseY);
+        if (xDiff > xRad + radius || yDiff > yRad + radius){
+            return false;
+        }
+        double xScaled = xDiff / xRad;
+        double yScaled = yDiff / yRad;
+        double scale = xScaled*xScaled + yScaled*yScaled;
+        double outer = 1 + radius / Math.min(xRad, yRad);
+        if (scale > outer * outer){
+            return false;
+        }
+        double inner = 1 + radius / Math.max(xRad, yRad);
+        if (scale <= inner * inner){
+            return true;
+        }
+
+        // The distance method needs the longer radius first.
+        if (xRad >= yRad){
+            return distanceToEllipse(xRad, yRad, xDiff, yDiff) <= radius;
+        }
+        return distanceToEllipse(yRad, xRad, yDiff, xDiff) <= radius;
+    }
+
+    /**
+     * This helper method returns the distance from a point outside an upright ellipse to the nearest point
+     * on the ellipse, where the ellipse is centered on the origin with radii 'major' >= 'minor' and the
+     * point (x, y) has been flipped into the top-right quarter. The nearest point is found by bisecting
+     * for the one value 's' where (major^2 x / (s + major^2), minor^2 y / (s + minor^2)) lies on the ellipse.
+     */
+    private static double distanceToEllipse(double major, double minor, double x, double y){
+        if (y == 0){
+            // The point is on the long axis, so the nearest point is either its tip or further in.
+            double numerator = major * x;
+            double denominator = major*major - minor*minor;
+            if (numerator < denominator){
+                double ratio = numerator / denominator;
+                double nearX = major * ratio;
+                double nearY = minor * Math.sqrt(1 - ratio*ratio);
+                return Math.sqrt((nearX - x)*(nearX - x) + nearY*nearY);
+            }
+            return Math.abs(x - major);
+        }
+        if (x == 0){
+            return Math.abs(y - minor);
+        }
+
+        double ratio = (major / minor) * (major / minor);
+        double zX = x / major;
+        double zY = y / minor;
+        double scaledX = ratio * zX;
+        double low = zY - 1;
+        double high = Math.sqrt(scaledX*scaledX + zY*zY) - 1;
+        double s = low;
+        for (int step = 0; step < ELLIPSE_BISECTION_STEPS; step++){
+            s = (low + high) / 2;
+            if (s == low || s == high){
+                break;
+            }
+            double partX = scaledX / (s + ratio);
+            double partY = zY / (s + 1);
+            double g = partX*partX + partY*partY - 1;
+            if (g > 0){
+                low = s;
+            }
+            else if (g < 0){
+                high = s;
+            }
+            else {
+                break;
+            }
+        }
+        double nearX = ratio * x / (s + ratio);
+        double nearY = y / (s + 1);
+        return Math.sqrt((nearX - x)*(nearX - x) + (nearY - y)*(nearY - y));
+    }
+}
\ No newline at end of file
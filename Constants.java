@@ -47,9 +47,12 @@ public class Constants {
     // UPPER-LEFT LABELS
     public static final int X_OFFSET_LABEL = 9;
     public static final int Y_OFFSET_LABEL = 7;
+    public static final int MESSAGE_WIDTH = 420;
+    public static final int MESSAGE_FRAMES = 360;
 
 
     // END SCREEN CONSTANTS
+    public static final int RETRY_OFFSET = 6;
     public static final int QUIT_OFFSET = 26;
     public static final int HOME_OFFSET = 16;
 
@@ -62,6 +65,8 @@ public class Constants {
     public static final double SPAWN_DELAY_INCREMENT = 0.0175;
     public static final int CAMO_FILM_HEIGHT = 4;
     public static final int TAIL_RAD = 3;
+    public static final int STARTING_BLOON_CAPACITY = 256;
+    public static final int BLOON_VIEW_TABLE_CAPACITY = 512;
     public static final int RED_STRENGTH = 1;
     public static final int BLUE_STRENGTH = 2;
     public static final int GREEN_STRENGTH = 3;
@@ -141,6 +146,7 @@ public class Constants {
     public static final double YELLOW_SPEED = 0.215;
     public static final double PINK_SPEED = 0.255;
     public static final double ANDY_SPEED = 0.05;
+    public static final double SPEED_STEPS = 4096;
 
 
     // EXPLOSION CONSTANTS
@@ -150,9 +156,31 @@ public class Constants {
     public static final double RANGE_MULTIPLIER = 0.02;
 
 
+    // GAME LOOP (the tick lengths are milliseconds of real time per tick of the Simulation)
+    public static final double SLOW_TICK = 1.05;
+    public static final double FAST_TICK = 0.55;
+    public static final int MAX_CATCH_UP_TICKS = 120;
+    public static final double MAX_FRAME_MILLIS = 250;
+    public static final boolean CARRY_BACKLOG = false;
+    public static final double FRAME_BUDGET_MILLIS = 12;
+    public static final double SPEED_SLOW = 1;
+    public static final double SPEED_FAST = SLOW_TICK / FAST_TICK;
+    public static final double SPEED_MAX = 0;
+    public static final double INTERPOLATE_BELOW = 4;
+    public static final double[] TURBO_SPEEDS = {4, 8, 16};
+    public static final String RENDERER_PROPERTY = "indy.renderer";
+    public static final String NODE_RENDERER = "nodes";
+    public static final String CANVAS_RENDERER = "canvas";
+    public static final String PIXEL_RENDERER = "pixels";
+
+
+    // PIXEL RENDERER (bloons, darts, and effects are stamped straight into one buffer of pixels)
+    public static final int RASTER_TILE_SIZE = 32;
+    public static final int SPRITE_SUBSAMPLES = 4;
+    public static final int DART_ANGLE_STAMPS = 64;
+
+
     // MISCELLANEOUS STUFF
-    public static final double FAST_TIMELINE = 0.55;
-    public static final double SLOW_TIMELINE = 1.05;
     public static final double POP_TIMELINE = 5;
     public static final int QUART_CIRCLE = 90;
     public static final int HALF_CIRCLE = 180;
@@ -175,6 +203,8 @@ public class Constants {
     public static final double[] YELLOW_COLOR_VALUES = {.9, .83, .25};
     public static final double[] ORANGE_COLOR_VALUES = {.9, .63, .25};
     public static final double[] RED_COLOR_VALUES = {1, .35, .35};
+    public static final int EXPLOSION_FADE_LEVELS = 64;
+    public static final int STARTING_EFFECT_CAPACITY = 64;
 
 
     // DART & CANNONBALL CONSTANTS
@@ -184,6 +214,14 @@ public class Constants {
     public static final int DART_WIDTH = 2;
     public static final int DART_HEIGHT = 10;
     public static final int MAX_DART_RANGE = 260;
+    public static final int HIT_SET_CAPACITY = 32;
+
+
+    // COLLISION GRID (darts only check the Bloons listed in the grid cell they are in)
+    public static final int GRID_CELL_SIZE = 40;
+    public static final double GRID_MARGIN = 6;
+    public static final int GRID_STARTING_ENTRIES = 1024;
+    public static final int ELLIPSE_BISECTION_STEPS = 96;
 
 
     // MONKEY CONSTANTS
@@ -199,6 +237,11 @@ public class Constants {
     public static final int ANIMATION_START = 1;
     public static final int ANIMATION_MID = 11;
     public static final int ANIMATION_END = 21;
+    public static final int FIRST_PRIORITY = 0;
+    public static final int LAST_PRIORITY = 1;
+    public static final int STRONG_PRIORITY = 2;
+    public static final int CLOSE_PRIORITY = 3;
+    public static final String[] PRIORITY_NAMES = {"First", "Last", "Strong", "Close"};
 
 
     // BOMB SHOOTER CONSTANTS
@@ -299,6 +342,7 @@ public class Constants {
     public static final int UPGRADE_PANEL_WIDTH = 170;
     public static final int MONKEY_TYPE_OFFSET = 22;
     public static final int BACK_BUTTON_OFFSET = -33;
+    public static final int PRIORITY_BUTTON_OFFSET = -45;
     public static final int DART_PIC_OFFSET = 20;
     public static final int BOMB_UPGRADE_WIDTH = 105;
     public static final int BOMB_UPGRADE_HEIGHT = 147;
@@ -325,46 +369,7 @@ public class Constants {
     public static final int BS_RANGE_COST = 200;
 
 
-    // LEVELS[level][wave][bloonCount, bloonStrength, bloonSpacing, camo)]
-    // A bloonStrength of 0 creates a pause between waves...
-    public static int COUNT_INDEX = 0;
-    public static int STRENGTH_INDEX = 1;
-    public static int SPACING_INDEX = 2;
-    public static int CAMO_INDEX = 3;
-    public static int[][][] LEVELS = {{{20, 1, 9, 0}},
-            {{35, 1, 5, 0}},
-            {{10, 1, 5, 0}, {5, 2, 5, 0}, {1, 0, 18, 0}, {15, 1, 5, 0}},
-            {{16, 1, 4, 0}, {20, 2, 2, 0}, {1, 0, 14, 0}, {12, 1, 2, 0}},
-            {{12, 2, 5, 0}, {5, 1, 5, 0}, {16, 2, 5, 0}},
-            {{60, 1, 2, 0}},
-            {{12, 3, 3, 0}, {10, 1, 2, 0}, {10, 2, 5, 0}},
-            {{12, 2, 4, 0}, {4, 3, 6, 0}, {20, 1, 4, 0}, {10, 2, 5, 0}},
-            {{20, 2, 4, 0}, {2, 3, 6, 0}, {10, 1, 3, 0}, {12, 3, 6, 0}},
-            {{30, 3, 7, 0}, {1, 0, 8, 0}, {10, 3, 5, 0}},
-            {{100, 2, 5, 0}},
-            {{20, 1, 3, 0}, {15, 2, 4, 0}, {10, 3, 5, 0}, {5, 4, 6, 0}},
-            {{20, 2, 3, 0}, {8, 4, 6, 0}, {1, 0, 10, 0}, {20, 2, 1, 0}},
-            {{40, 2, 2, 0}, {8, 3, 1, 0}, {1, 0, 14, 0}, {8, 3, 1, 0}, {1, 0, 14, 0}, {8, 2, 1, 0}},
-            {{18, 1, 2, 0}, {15, 2, 3, 0}, {12, 3, 4, 0}, {9, 4, 5, 0}, {5, 5, 6, 0}},
-            {{120, 3, 4, 0}},
-            {{15, 1, 3, 0}, {1, 0, 6, 0}, {10, 2, 2, 1}, {10, 3, 2, 0}},
-            {{30, 5, 3, 0}, {12, 2, 5, 0}, {1, 0, 10, 0}, {5, 4, 1, 0}},
-            {{90, 4, 7, 0}},
-            {{20, 2, 3, 0}, {15, 1, 1, 0}, {1, 0, 20, 0}, {12, 5, 1, 0}},
-            {{10, 1, 3, 0}, {16, 3, 2, 1}, {1, 0, 12, 0}, {8, 2, 1, 1}, {1, 0, 12, 0}, {10, 4, 2, 0}},
-            {{30, 2, 5, 0}, {6, 6, 2, 0}},
-            {{40, 1, 1, 0}, {1, 0, 35, 0}, {40, 2, 2, 0}, {1, 0, 35, 0}, {40, 3, 3, 0}},
-            {{40, 4, 8, 0}, {1, 0, 15, 0}, {12, 1, 1, 0}},
-            {{5, 5, 5, 0}, {1, 0, 5, 0}, {5, 7, 4, 0}, {1, 0, 15, 0}, {5, 3, 1, 1}},
-            {{20, 1, 3, 0}, {5, 6, 3, 0}, {20, 2, 3, 0}, {5, 5, 3, 0}, {20, 3, 3, 0}, {5, 4, 3, 0}},
-            {{18, 4, 1, 0}, {30, 5, 2, 0}, {1, 0, 20, 0}, {20, 6, 1, 0}},
-            {{80, 5, 7, 0}},
-            {{16, 7, 3, 0}, {12, 5, 2, 1}, {10, 6, 8, 0}},
-            {{1, ANDY_STRENGTH, 1, 0}, {1, 0, 32, 0}, {40, 5, 6, 0}}};
-    public static int[][] MAP_PATH = {{560, 295}, {587, 280}, {587, 140}, {560, 116}, {415, 111}, {385, 140},
-            {386, 300}, {389, 558}, {360, 585}, {225, 590}, {192, 555}, {195, 450}, {220, 420}, {490, 421},
-            {680, 416}, {715, 403}, {745, 373}, {750, 293}, {750, 238}, {820, 225}, {890, 240}, {887, 485},
-            {845, 525}, {548, 532}, {525, 600}, {521, 800}};
+    // TRACK HIT-BOXES (the path itself and the levels live in SimConstants)
     public static Shape[] MAP_SHAPES = {new Polygon(0, 270, 564, 270, 564, 347, 0, 347),
             new Ellipse(564, 302, 66, 45),
             new Polygon(540, 302, 540, 135, 630, 135, 630, 302),
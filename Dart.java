@@ -1,22 +1,25 @@
 package indy;
 
-import javafx.scene.layout.Pane;
-import javafx.scene.shape.Rectangle;
-import javafx.scene.shape.Shape;
-import javafx.scene.transform.Rotate;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
 import static indy.Constants.*;
 
 /**
- * This is the Dart class. The dart is represented by a single thin rectangle, and it contains a variety
- * of properties relating to itself and also the specific Bloons that it is able to pop.
+ * This is the Dart class. The dart is a thin rectangle that travels in a straight line, and it contains
+ * a variety of properties relating to itself and also the specific Bloons that it is able to pop. Its
+ * position is stored as plain values, and the DartView draws it on the screen. Darts are reused rather
+ * than thrown away: the DartOrganizer keeps the darts that have been removed and launches them again,
+ * and the Bloons a dart has hit are kept in a HitSet of their ids that is simply emptied on each launch.
  */
 public class Dart {
 
-    private ArrayList<Bloon> bloonsHit;
-    private Rectangle body;
-    private Rotate rotate;
-    private Pane pane;
+    private HitSet bloonsHit;
+    private double angle;
+    private double x;
+    private double y;
+    private double prevX;
+    private double prevY;
+    private double xDir;
+    private double yDir;
     private double distTraveled;
     private int popCount;
     private int range;
@@ -25,32 +28,57 @@ public class Dart {
     private boolean camo;
 
     /**
-     * This is the Dart class' Constructor. It is associated with the dart Pane, and takes in various
-     * arguments used to initialize and instantiate its relevant instance variables. It then sets up
-     * the dart, passing in the pane and the coordinates from which the dart should be shot...
+     * This is the Dart class' Constructor. It only creates the set of Bloons hit, since a dart is
+     * set up by the launch method each time it is shot.
      */
-    public Dart(Pane myPane, Double angle, double x, double y, int myRange, boolean canTarget,
-                int maxPops, ArrayList<Bloon> bloonsHit, boolean piercingUpgrade, boolean canHitCamo){
-        this.rotate = new Rotate(angle, x, y);
+    public Dart(){
+        this.bloonsHit = new HitSet();
+    }
+
+    /**
+     * This method is called from the DartOrganizer whenever the dart is shot. It takes in various
+     * arguments used to initialize its relevant instance variables, empties its set of Bloons hit, and
+     * works out the direction the dart travels in from the angle passed in (the angle that the dart's
+     * rectangle is rotated by, where 0 points straight up the screen).
+     */
+    public void launch(double myAngle, double myX, double myY, int myRange, boolean canTarget,
+                       int maxPops, boolean piercingUpgrade, boolean canHitCamo){
         this.piercing = piercingUpgrade;
-        this.distTraveled = 0;
-        this.pane = myPane;
-        this.setUpDart(x, y, myPane);
         this.popCount = maxPops;
-        this.range = myRange;
-        this.bloonsHit = bloonsHit;
         this.targetability = canTarget;
         this.camo = canHitCamo;
+        this.bloonsHit.clear();
+        this.aim(myAngle, myX, myY, myRange);
+    }
+
+    /**
+     * This method is called from the DartOrganizer when a targeting dart bounces off a Bloon towards
+     * another one. The dart keeps its remaining pops and its set of Bloons hit, and sets off again from
+     * the Bloon it just hit, now able to pop camo Bloons but not piercing.
+     */
+    public void retarget(double myAngle, double myX, double myY, int myRange){
+        this.piercing = false;
+        this.targetability = true;
+        this.camo = true;
+        this.aim(myAngle, myX, myY, myRange);
     }
 
     /**
-     * This method is called from the Constructor, and it visually sets up and adds the dart to the pane.
-     * It also rotates the dart accordingly and limits the dart's range to a specified maximum value...
+     * This helper method points the dart in the direction of the angle passed in from the position
+     * passed in, and resets how far it has traveled.
      */
-    public void setUpDart(double x,  double y, Pane myPane){
-        this.body = new Rectangle(x - DART_WIDTH/2, y - DART_HEIGHT/2, DART_WIDTH, DART_HEIGHT);
-        this.body.getTransforms().add(this.rotate);
-        this.pane.getChildren().add(this.body);
+    private void aim(double myAngle, double myX, double myY, int myRange){
+        this.angle = myAngle;
+        this.x = myX;
+        this.y = myY;
+        this.prevX = myX;
+        this.prevY = myY;
+        this.xDir = Math.sin(Math.toRadians(myAngle));
+        this.yDir = -Math.cos(Math.toRadians(myAngle));
+        this.distTraveled = 0;
+        this.range = myRange;
+
+        // Limit the range of targeting darts to a specified maximum value...
         if (this.range > MAX_DART_RANGE && this.targetability){
             this.range = MAX_DART_RANGE;
         }
@@ -61,34 +89,39 @@ public class Dart {
      * rotated. When the dart reaches the end of its range, it returns false and the dart is removed entirely.
      */
     public boolean move(){
-        this.body.setY(this.body.getY() - DART_SPEED);
-        this.distTraveled += DART_SPEED;
-        if (this.distTraveled > this.range){
-            this.pane.getChildren().remove(this.body);
-            return false;
-        }
-        return true;
+        return this.travel(DART_SPEED);
+    }
+
+    /**
+     * This helper method moves the dart (or cannonball) forward by the distance passed in, and
+     * returns false once it has gone further than its range.
+     */
+    protected boolean travel(double speed){
+        this.prevX = this.x;
+        this.prevY = this.y;
+        this.x += this.xDir * speed;
+        this.y += this.yDir * speed;
+        this.distTraveled += speed;
+        return this.distTraveled <= this.range;
     }
 
     /**
      * This method is called from the DartOrganizer, and it checks if the dart is currently colliding with
-     * the Bloon that is passed in. If the dart is not colliding or if the Bloon and dart types are not
-     * compatible, the method returns false. If there is an allowed collision, the method returns true...
+     * the Bloon in the slot of the BloonStore that is passed in. If the dart is not colliding or if the
+     * Bloon and dart types are not compatible, the method returns false. If there is an allowed collision,
+     * the method returns true...
      */
-    public boolean checkCollision(Bloon bloon){
-        if (bloon.getBody().intersects(this.body.getBoundsInParent())){
-            if (bloon.getStrength() == LEAD_STRENGTH){
+    public boolean checkCollision(BloonStore bloons, int slot){
+        if (this.hits(bloons, slot)){
+            if (bloons.getStrength(slot) == LEAD_STRENGTH){
                 this.popCount = 0;
                 return false;
             }
             else {
-                for (Bloon bloonHit : this.bloonsHit){
-                    if (bloonHit == bloon){
-                        return false;
-                    }
+                if (!this.bloonsHit.add(bloons.getId(slot))){
+                    return false;
                 }
-                this.bloonsHit.add(bloon);
-                if (bloon.getCamo() && !this.camo){
+                if (bloons.getCamo(slot) && !this.camo){
                     return false;
                 }
                 this.popCount--;
@@ -99,17 +132,74 @@ public class Dart {
     }
 
     /**
-     * Mutator method to decrease the remaining pop count of the dart.
+     * This method checks whether the Bloon's ellipse overlaps the dart's rectangle, which is rotated so
+     * that its length points in the direction that the dart is flying.
      */
-    public void dropPop(){
-        this.popCount--;
+    protected boolean hits(BloonStore bloons, int slot){
+        return Collisions.ellipseHitsRectangle(bloons.getX(slot), bloons.getY(slot), bloons.getXRad(slot),
+                bloons.getYRad(slot), this.x, this.y, this.xDir, this.yDir, DART_HEIGHT/2.0, DART_WIDTH/2.0);
     }
 
     /**
-     * Accessor method to get the body of the dart.
+     * This method writes everything about the dart into the buffer passed in for a save file, including
+     * the ids of the Bloons it has hit. It is overridden by the Cannonball to add the size of its blast.
      */
-    public Shape getDart(){
-        return this.body;
+    public void save(ByteBuffer buffer){
+        buffer.putDouble(this.angle);
+        buffer.putDouble(this.x);
+        buffer.putDouble(this.y);
+        buffer.putDouble(this.prevX);
+        buffer.putDouble(this.prevY);
+        buffer.putDouble(this.xDir);
+        buffer.putDouble(this.yDir);
+        buffer.putDouble(this.distTraveled);
+        buffer.putInt(this.popCount);
+        buffer.putInt(this.range);
+        buffer.put((byte) (this.targetability ? 1 : 0));
+        buffer.put((byte) (this.piercing ? 1 : 0));
+        buffer.put((byte) (this.camo ? 1 : 0));
+        this.bloonsHit.save(buffer);
+    }
+
+    /**
+     * This method reads back everything written by the save method, in place of launching the dart.
+     */
+    public void load(ByteBuffer buffer){
+        this.angle = buffer.getDouble();
+        this.x = buffer.getDouble();
+        this.y = buffer.getDouble();
+        this.prevX = buffer.getDouble();
+        this.prevY = buffer.getDouble();
+        this.xDir = buffer.getDouble();
+        this.yDir = buffer.getDouble();
+        this.distTraveled = buffer.getDouble();
+        this.popCount = buffer.getInt();
+        this.range = buffer.getInt();
+        this.targetability = buffer.get() == 1;
+        this.piercing = buffer.get() == 1;
+        this.camo = buffer.get() == 1;
+        this.bloonsHit.load(buffer);
+    }
+
+    /**
+     * This method returns true if the dart has already hit the Bloon with the id passed in.
+     */
+    public boolean hasHit(int id){
+        return this.bloonsHit.contains(id);
+    }
+
+    /**
+     * This method adds the id passed in to the dart's set of Bloons hit.
+     */
+    public void addHit(int id){
+        this.bloonsHit.add(id);
+    }
+
+    /**
+     * Mutator method to decrease the remaining pop count of the dart.
+     */
+    public void dropPop(){
+        this.popCount--;
     }
 
     /**
@@ -127,37 +217,62 @@ public class Dart {
     }
 
     /**
-     * Accessor method to get the X value of the dart.
+     * Accessor method to get the X center of the dart.
      */
     public double getX(){
-        return (this.body.getY() + DART_WIDTH/2);
+        return this.x;
     }
 
     /**
-     * Accessor method to get the Y value of the dart.
+     * Accessor method to get the Y center of the dart.
      */
     public double getY(){
-        return (this.body.getX() + DART_HEIGHT/2);
+        return this.y;
     }
 
     /**
-     * Accessor method to get the remaining pop count of the dart.
+     * Accessor method to get the X center of the dart before its last move.
      */
-    public int getPopCount(){
-        return this.popCount;
+    public double getPrevX(){
+        return this.prevX;
+    }
+
+    /**
+     * Accessor method to get the Y center of the dart before its last move.
+     */
+    public double getPrevY(){
+        return this.prevY;
+    }
+
+    /**
+     * Accessor methods to get the unit direction that the dart travels (and points) in.
+     */
+    public double getXDir(){
+        return this.xDir;
+    }
+
+    public double getYDir(){
+        return this.yDir;
     }
 
     /**
-     * Accessor method to get the Rotation of the dart.
+     * Accessor method to get the angle the dart is rotated by.
      */
-    public Rotate getRotate(){
-        return this.rotate;
+    public double getAngle(){
+        return this.angle;
+    }
+
+    /**
+     * Accessor method to get the remaining pop count of the dart.
+     */
+    public int getPopCount(){
+        return this.popCount;
     }
 
     /**
-     * Accessor method to get the ArrayList of Bloons that the dart has already hit.
+     * Accessor method to get the number of Bloons the dart has hit.
      */
-    public ArrayList<Bloon> getBloonsHit(){
-        return this.bloonsHit;
+    public int getHitCount(){
+        return this.bloonsHit.getSize();
     }
 }
\ No newline at end of file
@@ -6,31 +6,26 @@ import java.util.ArrayList;
 import static indy.Constants.*;
 
 /**
- * This is the DartMonkey class. It deals mainly with the unique appearance and upgrade system of the
- * dart monkeys, and is one of two subclassed of the abstract ArmShooter class.
+ * This is the DartMonkey class. It deals mainly with the unique appearance of the dart monkeys (their
+ * stats and upgrades live in the MonkeyModel), and is one of two subclassed of the abstract ArmShooter class.
  */
 public class DartMonkey extends ArmShooter {
 
     private Shape[] shapes;
-    private boolean[] upgradeStatus;
 
     /**
      * This is the DartMonkey class' Constructor. It calls the ArmShooter's Constructor, and sets up the
      * shapes array with the corresponding number of shapes, and calls the setShapes method in the superclass
      * and the setUpMonkey method below to fully create the visual shape of the dart monkey.
      */
-    public DartMonkey(Pane myMonkeyPane, DoublyLinkedList bloons, DartOrganizer darts,
-                      Pane myHitBoxPane, Pane myRangePane, ArrayList<Shape> myHitBoxes,
-                      ArrayList<Monkey> monkeys){
-        super(myMonkeyPane, bloons, darts, myHitBoxPane, myRangePane, myHitBoxes,
-                DART_MONKEY_RANGE, monkeys, DM_SHARPNESS, false);
+    public DartMonkey(Pane myMonkeyPane, Pane myHitBoxPane, Pane myRangePane,
+                      ArrayList<Shape> myHitBoxes, ArrayList<Monkey> monkeys){
+        super(myMonkeyPane, myHitBoxPane, myRangePane, myHitBoxes, DART_MONKEY_TYPE, monkeys);
 
         this.shapes = new Shape[NUM_SHAPES];
-        this.upgradeStatus = new boolean[NUM_UPGRADES];
 
         super.setShapes(this.shapes, -DART_MONKEY_RANGE, BROWN_2, BROWN_3, BROWN_2, BROWN_3);
         this.setUpMonkey(myMonkeyPane);
-        super.setShotSpeed(DM_START_SPEED);
     }
 
     /**
@@ -59,50 +54,4 @@ public class DartMonkey extends ArmShooter {
         this.shapes[RIGHT_EAR].setStroke(BROWN_3);
         this.shapes[TAIL].setStroke(BROWN_3);
     }
-
-    /**
-     * This accessor method returns the monkey's type so the UpgradePanel knows which monkey it represents.
-     */
-    @Override
-    public int getMonkeyType(){
-        return  DART_MONKEY_TYPE;
-    }
-
-    /**
-     * Accessor method to get the array of boolean values that tracks which upgrades the monkey has bought.
-     */
-    @Override
-    public boolean[] getUpgradeStatus() {
-        return this.upgradeStatus;
-    }
-
-    /**
-     * This method is called whenever the user clicks on an upgrade button to try and buy an upgrade. It
-     * returns true if the user has enough cash to buy the upgrade, and if the upgrade has not already been
-     * bought for the given monkey. In this case, it uses a switch statement to do whatever is necessary
-     * to implement the upgrade that corresponds with the 'upgradeNum' passed in.
-     */
-    @Override
-    public boolean upgrade(int upgradeNum, int cash, int cost){
-        if (cash >= cost){
-            if (!this.upgradeStatus[upgradeNum]){
-                switch(upgradeNum){
-                    case TOP_UPGRADE:
-                        super.upgradeRange();
-                        break;
-                    case MID_UPGRADE:
-                        super.upgradePiercing();
-                        break;
-                    case BOT_UPGRADE:
-                        super.setShotSpeed(DM_NEW_SPEED);
-                        break;
-                    default:
-                        break;
-                }
-                this.upgradeStatus[upgradeNum] = true;
-                return true;
-            }
-        }
-        return false;
-    }
 }
\ No newline at end of file
@@ -1,61 +1,81 @@
 package indy;
 
-import javafx.scene.layout.Pane;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import static indy.Constants.*;
 
 /**
- * This is the DartOrganizer class, which inherits from the Dart class. It contains all the Program's
- * darts in an ArrayList, and deals with adding/removing darts, as well as moving darts and collision
- * checking with the Bloons. It contains this program's major algorithm—the targeting dart...
+ * This is the DartOrganizer class. It contains all the Program's darts in an ArrayList, and deals
+ * with adding/removing darts, as well as moving darts and collision checking with the Bloons. It
+ * contains this program's major algorithm—the targeting dart.
+ *
+ * Darts that are removed are kept in a free list for each kind of dart (Darts and Cannonballs) and
+ * launched again the next time a monkey shoots, so once the game has warmed up no new darts are ever
+ * created.
  */
 public class DartOrganizer {
 
-    private Pane dartPane;
     private ArrayList<Dart> myDarts;
-    private DoublyLinkedList myBloons;
+    private ArrayList<Dart> freeDarts;
+    private ArrayList<Cannonball> freeCannonballs;
+    private BloonStore myBloons;
+    private SpatialGrid grid;
     private BloonOrganizer bloonOrg;
+    private SimulationListener listener;
+    private CollisionAudit audit;
 
     /**
-     * This is the DartOrganizer class' Constructor. The DartOrganizer is associated with the dart
-     * pane, the DoublyLinkedList, and the BloonOrganizer, and this method initializes these instance
-     * variables along with the ArrayList of darts.
+     * This is the DartOrganizer class' Constructor. The DartOrganizer is associated with the
+     * BloonStore, the BloonOrganizer, and the SimulationListener that is told about new and
+     * removed darts, and this method initializes these instance variables along with the ArrayList of darts.
+     * The SpatialGrid used to find the Bloons near each dart belongs to the BloonOrganizer, which also uses
+     * it to find the Bloons caught in an explosion.
      */
-    public DartOrganizer(Pane pane, DoublyLinkedList bloons, BloonOrganizer bloonOrganizer){
-        this.dartPane = pane;
+    public DartOrganizer(BloonStore bloons, BloonOrganizer bloonOrganizer, SimulationListener myListener){
         this.myDarts = new ArrayList<>();
+        this.freeDarts = new ArrayList<>();
+        this.freeCannonballs = new ArrayList<>();
         this.bloonOrg = bloonOrganizer;
         this.myBloons = bloons;
+        this.listener = myListener;
+        this.grid = bloonOrganizer.getGrid();
     }
 
     /**
-     * This method is called at the start of the game and whenever the game is restarted. It graphically
-     * and logically clears the screen or all remaining darts.
+     * This method is called at the end of every level and whenever the game is restarted. It clears
+     * the game of all remaining darts, telling the listener about each one and keeping it to be reused.
      */
     public void clear(){
+        for (int i = 0; i < this.myDarts.size(); i++){
+            Dart dart = this.myDarts.get(i);
+            this.listener.dartRemoved(dart);
+            this.free(dart);
+        }
         this.myDarts.clear();
-        this.dartPane.getChildren().clear();
     }
 
     /**
      * This method is called from the different Monkey classes when they shoot at Bloons. It uses
-     * Factory Pattern to generate different types of darts (normal, targeting, cannonball), and
+     * Factory Pattern to launch different types of darts (normal, targeting, cannonball), and
      * takes in a variety of properties that apply to each dart...
      */
     public void newDart(double x, double y, double angle, int range, int type,
                         boolean piercing, int sharpness, boolean camo, int bigBoom){
         switch (type){
             case NORMAL_DART:
-                this.myDarts.add(new Dart(this.dartPane, angle, x, y, range,
-                        false, sharpness, new ArrayList<>(), piercing, camo));
+                Dart dart = this.obtainDart();
+                dart.launch(angle, x, y, range, false, sharpness, piercing, camo);
+                this.addDart(dart);
                 break;
             case TARGETING_DART:
-                this.myDarts.add(new Dart(this.dartPane, angle, x, y, range,
-                        true, sharpness, new ArrayList<>(), false, camo));
+                Dart targeting = this.obtainDart();
+                targeting.launch(angle, x, y, range, true, sharpness, false, camo);
+                this.addDart(targeting);
                 break;
             case CANNONBALL:
-                this.myDarts.add(new Cannonball(this.dartPane, angle, x, y, range, false,
-                        1, new ArrayList<>(), false, camo, this.myBloons, bigBoom));
+                Cannonball ball = this.obtainCannonball();
+                ball.launch(angle, x, y, range, camo, bigBoom);
+                this.addDart(ball);
                 break;
             default:
                 break;
@@ -63,172 +83,267 @@ public class DartOrganizer {
     }
 
     /**
-     * This method is called repeatedly from the Timeline in the BloonsGame class. It moves the darts and
+     * These helper methods take a dart or cannonball from the free lists, or create one if the list
+     * is empty.
+     */
+    private Dart obtainDart(){
+        if (this.freeDarts.isEmpty()){
+            return new Dart();
+        }
+        return this.freeDarts.remove(this.freeDarts.size() - 1);
+    }
+
+    private Cannonball obtainCannonball(){
+        if (this.freeCannonballs.isEmpty()){
+            return new Cannonball(this.bloonOrg);
+        }
+        return this.freeCannonballs.remove(this.freeCannonballs.size() - 1);
+    }
+
+    /**
+     * This helper method puts a dart that has left the game onto the matching free list.
+     */
+    private void free(Dart dart){
+        if (dart instanceof Cannonball){
+            this.freeCannonballs.add((Cannonball) dart);
+        }
+        else {
+            this.freeDarts.add(dart);
+        }
+    }
+
+    /**
+     * This helper method adds a new dart to the ArrayList and tells the listener about it.
+     */
+    private void addDart(Dart dart){
+        this.myDarts.add(dart);
+        this.listener.dartAdded(dart);
+    }
+
+    /**
+     * This helper method removes a dart from the ArrayList, tells the listener that it is gone, and
+     * keeps it to be launched again.
+     */
+    private void removeDart(Dart dart){
+        this.myDarts.remove(dart);
+        this.listener.dartRemoved(dart);
+        this.free(dart);
+    }
+
+    /**
+     * This method is called on every tick of the Simulation. It moves the darts and
      * then checks their collision against every Bloon. It is thoroughly commented given that it is quite
      * lengthy, and also includes this program's main algorithm, which is mostly separated out into the
-     * targetNewBloon method below. The main component of this move method is that is uses a do-While loop
-     * to iterate through the DoublyLinkedList of Bloons.
+     * targetNewBloon method below. The main component of this move method is that it loops through the
+     * Bloons listed in the dart's cell of the SpatialGrid, from the Bloon furthest along the track to the
+     * one furthest back, so that the furthest Bloon that the dart touches is always the one it pops.
      */
     public void moveDarts(){
-        // Iterate through each dart in the ArrayList...
-        for (int i = 0; i < this.myDarts.size(); i++){
+        if (this.myDarts.isEmpty()){
+            return;
+        }
+
+        // List every Bloon in the grid cells that it (or any dart touching it) could be in.
+        this.grid.clear();
+        for (int slot = 0; slot < this.myBloons.getSize(); slot++){
+            if (this.myBloons.isAlive(slot)){
+                this.addToGrid(slot);
+            }
+        }
+
+        // Iterate through each dart in the ArrayList (including any darts added along the way)...
+        int i = 0;
+        while (i < this.myDarts.size()){
 
             // Store the dart as a temporary variable to save time/space.
             Dart dart = this.myDarts.get(i);
 
             // Move the dart. If it has reached the end of its range, remove it.
             if (!dart.move()){
-                this.myDarts.remove(dart);
+                this.removeDart(dart);
+                continue;
             }
 
-            // If there are any Bloons, check for collisions...
-            if (this.myBloons.getTail() != null){
+            // Store whether the selected dart is a piercing dart or not, and whether it bounces.
+            boolean hasPierce = dart.getPiercing();
+            boolean bounced = false;
 
-                // Store the tail Node in a temp variable to save time/space.
-                Node temp = this.myBloons.getTail();
+            // Loop through the Bloons near the dart (skipping any that were already popped this tick)
+            // until a Bloon has been popped or the dart is deleted.
+            int cell = this.grid.cellAt(dart.getX(), dart.getY());
+            for (int entry = this.grid.first(cell); entry >= 0; entry = this.grid.next(entry)){
+                int slot = this.grid.getSlot(entry);
+                if (!this.myBloons.isAlive(slot)){
+                    continue;
+                }
 
-                // Store whether the selected dart is a piercing dart or not.
-                boolean hasPierce = dart.getPiercing();
+                // Let the CollisionAudit (if there is one) see the check before it changes anything.
+                if (this.audit != null){
+                    this.audit.check(dart, this.myBloons, slot);
+                }
 
-                // Initialize a 'popped' boolean which will be the condition for this do-while loop.
-                boolean popped = false;
+                // Call the Dart's checkCollision method, passing in the slot. Returns true if the
+                // dart is colliding with the Bloon's body and the Bloon and Dart are compatible.
+                if (dart.checkCollision(this.myBloons, slot)) {
 
-                do {
-                    // Call the Dart's checkCollision method, passing in the temp Node. Returns true if
-                    // the dart is colliding with the Bloon's body and the Bloon and Dart are compatible.
-                    if (dart.checkCollision(temp.getBloon())) {
+                    // If the dart has reached the limit of its pops, remove it.
+                    if (dart.getPopCount() <= 0){
+                        this.removeDart(dart);
+                    }
 
-                        // If the dart has reached the limit of its pops, remove it graphically and logically.
-                        if (dart.getPopCount() <= 0){
-                            this.myDarts.remove(dart);
-                            this.dartPane.getChildren().remove(dart.getDart());
-                        }
+                    // If the Bloon that was popped is either Lead or Black, create a duplicate Bloon.
+                    int strength = this.myBloons.getStrength(slot);
+                    if (strength > PINK_STRENGTH && strength <= ANDY_POP){
+                        this.addToGrid(this.bloonOrg.splitBloon(slot, dart));
+                    }
 
-                        // If the Bloon that was popped is either Lead or Black, create a duplicate Bloon.
-                        if (temp.getBloon().getStrength() > PINK_STRENGTH &&
-                                temp.getBloon().getStrength() <= ANDY_POP){
-                            this.bloonOrg.splitBloon(temp, dart);
-                        }
+                    // The dart is a targeting dart and the remaining pops > 0, target a new Bloon.
+                    if (dart.getTargetability() && dart.getPopCount() > 0) {
+                        bounced = this.targetNewBloon(slot, dart);
+                    }
 
-                        // The dart is a targeting dart and the remaining pops > 0, target a new Bloon.
-                        if (dart.getTargetability() && dart.getPopCount() > 0) {
-                            this.targetNewBloon(temp, dart);
-                        }
+                    // Pop the Bloon, which removes it from the game if its strength reaches 0.
+                    this.bloonOrg.popBloon(slot, hasPierce);
 
-                        // Pop the Bloon, and if the pop method returns true (the Bloon's strength = 0),
-                        // then remove the Bloon from the DoublyLinkedList.
-                        if (temp.getBloon().pop(hasPierce)){
-                            this.myBloons.remove(temp);
-                        }
+                    // A Bloon has been popped, so the loop will stop.
+                    break;
+                }
+                // If the dart's collision method returns false but its pop count drops to 0, then it
+                // must have hit a Lead Bloon, which means it must be immediately removed.
+                else if (dart.getPopCount() <= 0){
+                    this.removeDart(dart);
 
-                        // A Bloon has been popped, so the while loop will stop.
-                        popped = true;
-                    }
-                    // If the dart's collision method returns false but its pop count drops to 0, then it
-                    // must have hit a Lead Bloon, which means it must be immediately removed.
-                    else if (dart.getPopCount() <= 0){
-                        this.myDarts.remove(dart);
-                        this.dartPane.getChildren().remove(dart.getDart());
-
-                        // The dart is deleted, so the while loop will stop.
-                        popped = true;
-                    }
+                    // The dart is deleted, so the loop will stop.
+                    break;
+                }
+            }
 
-                    // If there is a Bloon to behind the current one, set the temp Node to the previous Node
-                    // and repeat the while loop until a Bloon has been popped or the dart is deleted.
-                    if (temp.getPrev() != null){
-                        temp = temp.getPrev();
-                    }
-                    else{
-                        break;
-                    }
-                } while (!popped);
+            // Only move onto the next index if the dart wasn't removed from (or bounced out of) this one.
+            if (!bounced && i < this.myDarts.size() && this.myDarts.get(i) == dart){
+                i++;
             }
         }
     }
 
+    /**
+     * This helper method lists the Bloon in the slot passed in in the SpatialGrid, using its box widened
+     * by GRID_MARGIN so that it is listed in every cell where the center of a touching dart could be.
+     */
+    private void addToGrid(int slot){
+        double xReach = this.myBloons.getXRad(slot) + GRID_MARGIN;
+        double yReach = this.myBloons.getYRad(slot) + GRID_MARGIN;
+        this.grid.insert(slot, this.myBloons.getX(slot) - xReach, this.myBloons.getY(slot) - yReach,
+                this.myBloons.getX(slot) + xReach, this.myBloons.getY(slot) + yReach);
+    }
+
     /**
      * This helper method is called from the above move method, to factor out what is the main section of
      * this program's main algorithm. As described further in the in-line comments, this method takes in a
      * targeting dart and a Bloon with which it has collided, and re-orients the dart such that it aims at
-     * the closest Bloon and creates a new Dart, sending it towards that new target Bloon...
-     */
-    private void targetNewBloon(Node temp, Dart dart){
-        // These arrays will track the distance and angle to the Bloons on either side
-        // of the Bloon that the dart has just hit.
-        double[] distNext = {};
-        double[] distPrev = {};
-
-        // These booleans track whether there is a Bloon in either direction.
-        boolean next = false;
-        boolean prev = false;
-
-        if (temp.getNext() != null){
-            // If there is a Bloon further along, check if the Bloon is in the dart's
-            // ArrayList of Bloons that it has already hit.
-            boolean hasHit = false;
-            for (Bloon bloon : dart.getBloonsHit()) {
-                if (bloon == temp.getNext().getBloon()) {
-                    hasHit = true;
-                    break;
-                }
-            }
+     * the closest Bloon, sending it from the Bloon it hit towards that new target Bloon. It returns true
+     * if the dart was sent off again, or false if there was nothing left to aim at and it was removed...
+     */
+    private boolean targetNewBloon(int slot, Dart dart){
+        double x = this.myBloons.getX(slot);
+        double y = this.myBloons.getY(slot);
 
-            // If the dart has not yet hit the Bloon, then get the distance to it.
-            if (!hasHit){
-                distNext = temp.getNext().getDist(temp.getBloon().getX(), temp.getBloon().getY());
-                next = true;
-            }
+        // If there is a Bloon further along that the dart has not yet hit, then get the distance to it.
+        int nextSlot = this.myBloons.nextAlive(slot, -1);
+        if (nextSlot >= 0 && dart.hasHit(this.myBloons.getId(nextSlot))){
+            nextSlot = -1;
         }
 
-        if (temp.getPrev() != null){
-            // If there is a Bloon further back, check if the Bloon is in the dart's
-            // ArrayList of Bloons that it has already hit.
-            boolean hasHit = false;
-            for (Bloon bloon : dart.getBloonsHit()) {
-                if (bloon == temp.getPrev().getBloon()) {
-                    hasHit = true;
-                    break;
-                }
-            }
-
-            // If the dart has not yet hit the Bloon, then get the distance to it.
-            if (!hasHit) {
-                distPrev = temp.getPrev().getDist(temp.getBloon().getX(), temp.getBloon().getY());
-                prev = true;
-            }
+        // If there is a Bloon further back that the dart has not yet hit, then get the distance to it.
+        int prevSlot = this.myBloons.nextAlive(slot, 1);
+        if (prevSlot >= 0 && dart.hasHit(this.myBloons.getId(prevSlot))){
+            prevSlot = -1;
         }
 
-        // If there is an unhit Bloon both behind and ahead of the dart...
-        if (prev && next){
+        // If there is an unhit Bloon on both sides, aim at whichever one is closer.
+        int target = (nextSlot >= 0) ? nextSlot : prevSlot;
+        if (nextSlot >= 0 && prevSlot >= 0 && this.myBloons.distanceTo(nextSlot, x, y) >
+                this.myBloons.distanceTo(prevSlot, x, y)){
+            target = prevSlot;
+        }
 
-            // Check which Bloon is closer to the dart, and make a new dart angled towards it.
-            if (distNext[0] <= distPrev[0]){
-                this.myDarts.add(new Dart(this.dartPane, distNext[1] - QUART_CIRCLE,
-                        temp.getBloon().getX(), temp.getBloon().getY(), (int) distNext[0], true,
-                        dart.getPopCount(), dart.getBloonsHit(), false, true));
-            }
-            else {
-                this.myDarts.add(new Dart(this.dartPane, distPrev[1] - QUART_CIRCLE,
-                        temp.getBloon().getX(), temp.getBloon().getY(), (int) distPrev[0], true,
-                        dart.getPopCount(), dart.getBloonsHit(), false, true));
-            }
+        // If there is no Bloon left to aim at, the dart is done.
+        if (target < 0){
+            this.removeDart(dart);
+            return false;
         }
-        // If there is an unhit Bloon ahead of the dart, make a new dart angled towards it.
-        else if (next){
-            this.myDarts.add(new Dart(this.dartPane, distNext[1] - QUART_CIRCLE,
-                    temp.getBloon().getX(), temp.getBloon().getY(), (int) distNext[0], true,
-                    dart.getPopCount(), dart.getBloonsHit(), false, true));
+
+        // Send the dart off again towards its target, and move it to the end of the ArrayList so that it
+        // takes its next step later this tick, just as a newly shot dart would.
+        dart.retarget(this.myBloons.angleFrom(target, x, y) - QUART_CIRCLE, x, y,
+                (int) this.myBloons.distanceTo(target, x, y));
+        this.myDarts.remove(dart);
+        this.myDarts.add(dart);
+        return true;
+    }
+
+    /**
+     * This method returns true if there are any darts or cannonballs still flying.
+     */
+    public boolean hasDarts(){
+        return !this.myDarts.isEmpty();
+    }
+
+    /**
+     * Accessor method to get the number of darts and cannonballs still flying.
+     */
+    public int getDartCount(){
+        return this.myDarts.size();
+    }
+
+    /**
+     * This method sets the CollisionAudit that sees every check for a hit (or null for none).
+     */
+    public void setCollisionAudit(CollisionAudit myAudit){
+        this.audit = myAudit;
+    }
+
+    /**
+     * This method returns a checksum of where every dart is, which way it is heading, how many more Bloons
+     * it can pop, and how many it has already hit.
+     */
+    public int checksum(){
+        int hash = this.myDarts.size();
+        for (int i = 0; i < this.myDarts.size(); i++){
+            Dart dart = this.myDarts.get(i);
+            hash = 31 * hash + Double.hashCode(dart.getX());
+            hash = 31 * hash + Double.hashCode(dart.getY());
+            hash = 31 * hash + Double.hashCode(dart.getXDir());
+            hash = 31 * hash + Double.hashCode(dart.getYDir());
+            hash = 31 * hash + dart.getPopCount();
+            hash = 31 * hash + dart.getHitCount();
         }
-        // If there is an unhit Bloon behind the dart, make a new dart angled towards it.
-        else if (prev){
-            this.myDarts.add(new Dart(this.dartPane, distPrev[1] - QUART_CIRCLE,
-                    temp.getBloon().getX(), temp.getBloon().getY(), (int) distPrev[0], true,
-                    dart.getPopCount(), dart.getBloonsHit(), false, true));
+        return hash;
+    }
+
+    /**
+     * This method writes every dart and cannonball still flying into the buffer passed in for a save
+     * file, in the order they are moved, each starting with its type.
+     */
+    public void save(ByteBuffer buffer){
+        buffer.putInt(this.myDarts.size());
+        for (int i = 0; i < this.myDarts.size(); i++){
+            Dart dart = this.myDarts.get(i);
+            buffer.put((byte) (dart instanceof Cannonball ? CANNONBALL : NORMAL_DART));
+            dart.save(buffer);
         }
+    }
 
-        // Remove the old dart now that a new one has been made.
-        this.myDarts.remove(dart);
-        this.dartPane.getChildren().remove(dart.getDart());
+    /**
+     * This method removes every dart and reads back the ones written by the save method, taking them
+     * from the free lists and telling the listener about each one.
+     */
+    public void load(ByteBuffer buffer){
+        this.clear();
+        int loaded = buffer.getInt();
+        for (int i = 0; i < loaded; i++){
+            Dart dart = (buffer.get() == CANNONBALL) ? this.obtainCannonball() : this.obtainDart();
+            dart.load(buffer);
+            this.addDart(dart);
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package indy;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.shape.Circle;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.shape.Shape;
+import static indy.Constants.*;
+
+/**
+ * This is the DartView class. It draws a single Dart on the screen, either as a thin Rectangle rotated
+ * in the dart's direction or, if the Dart is a Cannonball, as a small Circle. Like the Darts themselves,
+ * the views are reused: the SceneRenderer attaches a free view to each new Dart, and a view's shape stays
+ * in the pane (hidden) while it waits to be attached again.
+ */
+public class DartView {
+
+    private Dart dart;
+    private Shape body;
+    private double angle;
+
+    /**
+     * This is the DartView class' Constructor. It takes in whether the view draws cannonballs and the
+     * dart pane, and it sets up the shape and adds it to the pane, hidden until a Dart is attached.
+     */
+    public DartView(boolean ball, Pane pane){
+        if (ball){
+            this.body = new Circle(CANNONBALL_RADIUS);
+        }
+        else {
+            this.body = new Rectangle(DART_WIDTH, DART_HEIGHT);
+        }
+        this.body.setVisible(false);
+        pane.getChildren().add(this.body);
+    }
+
+    /**
+     * This method is called from the SceneRenderer when a Dart is shot, and it starts drawing that Dart.
+     */
+    public void attach(Dart myDart){
+        this.dart = myDart;
+        this.angle = myDart.getAngle();
+        this.body.setRotate(this.angle);
+        this.body.setVisible(true);
+        this.update(1);
+    }
+
+    /**
+     * This method is called from the SceneRenderer on every frame, and it moves the dart's shape so
+     * that it is centered 'alpha' of the way between the Dart's position before the last tick (0) and
+     * its current position (1). A targeting dart turns when it bounces, so its rotation is updated too.
+     */
+    public void update(double alpha){
+        double x = this.dart.getPrevX() + (this.dart.getX() - this.dart.getPrevX()) * alpha;
+        double y = this.dart.getPrevY() + (this.dart.getY() - this.dart.getPrevY()) * alpha;
+        if (this.body instanceof Circle){
+            Circle ball = (Circle) this.body;
+            ball.setCenterX(x);
+            ball.setCenterY(y);
+        }
+        else {
+            if (this.dart.getAngle() != this.angle){
+                this.angle = this.dart.getAngle();
+                this.body.setRotate(this.angle);
+            }
+            Rectangle rect = (Rectangle) this.body;
+            rect.setX(x - DART_WIDTH/2);
+            rect.setY(y - DART_HEIGHT/2);
+        }
+    }
+
+    /**
+     * This method is called when the Dart is removed from the game, and it hides the shape until the
+     * view is attached to another Dart.
+     */
+    public void detach(){
+        this.dart = null;
+        this.body.setVisible(false);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,418 @@
+package indy;
+
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Polygon;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import static indy.Constants.*;
+
+/**
+ * This is the EffectScheduler class. It plays every pop and explosion animation on the screen, replacing
+ * the Timeline that each PopAnimation and Explosion used to start for itself. The BloonsGame's game loop
+ * calls step once per display frame, and the scheduler works out how many POP_TIMELINE steps (5 ms each)
+ * have passed and moves every running effect on by that many steps at once.
+ *
+ * The effects are stored in flat arrays: whether each one is an explosion, where it is, how far through
+ * it is, and how far it goes, with three boom angles and three Polygons per effect (a pop only uses the
+ * first). Finished effects are all squeezed out in the same pass that steps the others, and their
+ * Polygons are hidden and kept to be reused. The fading colours are all made once up front, so no Color
+ * is created while the game runs.
+ *
+ * When it is made without any panes (for the CanvasRenderer), it creates no Polygons at all, and the
+ * effects are drawn each frame by the draw method instead.
+ */
+public class EffectScheduler {
+
+    private static final Color[] POP_FADES = fades(new double[]{1, 1, 1}, NUM_GROWTHS, 1);
+    private static final Color[] YELLOW_FADES = fades(YELLOW_COLOR_VALUES, EXPLOSION_FADE_LEVELS, EXPLODE_SCALAR);
+    private static final Color[] ORANGE_FADES = fades(ORANGE_COLOR_VALUES, EXPLOSION_FADE_LEVELS, EXPLODE_SCALAR);
+    private static final Color[] RED_FADES = fades(RED_COLOR_VALUES, EXPLOSION_FADE_LEVELS, EXPLODE_SCALAR);
+    private static final double[] POP_XS = coordinates(0);
+    private static final double[] POP_YS = coordinates(1);
+    private static final double POP_CENTER_X = SpritePainter.popCenter(0);
+    private static final double POP_CENTER_Y = SpritePainter.popCenter(1);
+
+    private Pane popPane;
+    private Pane boomPane;
+    private ArrayList<Polygon> freePops;
+    private ArrayList<Polygon> freeBooms;
+    private boolean nodes;
+    private boolean[] explosion;
+    private double[] x;
+    private double[] y;
+    private double[] angles;
+    private double[] progress;
+    private double[] limit;
+    private Polygon[] shapes;
+    private Random random;
+    private int count;
+    private long lastTime;
+    private double accumulator;
+
+    /**
+     * This is the EffectScheduler class' Constructor. It is associated with the pop pane, where the pops
+     * are drawn, and the dart pane, where the explosions are drawn (or null for both if the effects are
+     * drawn onto canvases instead), and it creates the empty effect arrays.
+     */
+    public EffectScheduler(Pane myPopPane, Pane myBoomPane){
+        this.popPane = myPopPane;
+        this.boomPane = myBoomPane;
+        this.nodes = myPopPane != null;
+        this.freePops = new ArrayList<>();
+        this.freeBooms = new ArrayList<>();
+        this.explosion = new boolean[STARTING_EFFECT_CAPACITY];
+        this.x = new double[STARTING_EFFECT_CAPACITY];
+        this.y = new double[STARTING_EFFECT_CAPACITY];
+        this.angles = new double[STARTING_EFFECT_CAPACITY * 3];
+        this.progress = new double[STARTING_EFFECT_CAPACITY];
+        this.limit = new double[STARTING_EFFECT_CAPACITY];
+        this.shapes = new Polygon[STARTING_EFFECT_CAPACITY * 3];
+        this.random = new Random();
+        this.lastTime = -1;
+    }
+
+    /**
+     * This helper method makes the fading colours for one effect colour: entry i has the opacity that
+     * the colour has when it is i/levels of the way through its animation.
+     */
+    private static Color[] fades(double[] rgb, int levels, double scalar){
+        Color[] colors = new Color[levels + 1];
+        for (int i = 0; i <= levels; i++){
+            colors[i] = new Color(rgb[0], rgb[1], rgb[2], 1 - scalar * i / levels);
+        }
+        return colors;
+    }
+
+    /**
+     * This helper method splits the pop shape's points into its x (0) or y (1) coordinates.
+     */
+    private static double[] coordinates(int axis){
+        double[] values = new double[POP_SHAPES.length / 2];
+        for (int i = 0; i < values.length; i++){
+            values[i] = POP_SHAPES[i * 2 + axis];
+        }
+        return values;
+    }
+
+    /**
+     * This method is called from the SceneRenderer whenever a bloon is popped, and it starts a white pop
+     * at the bloon's location.
+     */
+    public void pop(double x, double y){
+        int effect = this.add(false, x, y, NUM_GROWTHS);
+        if (!this.nodes){
+            return;
+        }
+        Polygon pop = this.obtain(this.freePops, this.popPane);
+        pop.setTranslateX(x);
+        pop.setTranslateY(y);
+        pop.setScaleX(1);
+        pop.setScaleY(1);
+        pop.setFill(POP_FADES[0]);
+        this.shapes[effect * 3] = pop;
+    }
+
+    /**
+     * This method is called from the SceneRenderer whenever a cannonball explodes, and it starts three
+     * overlapping booms at the explosion's center, each turned by a random angle. The size of the blast
+     * decides how far the booms grow before they are gone.
+     */
+    public void explode(double x, double y, int bigBoom){
+        int effect = this.add(true, x, y, EXPLODE_SIZE * bigBoom * RANGE_MULTIPLIER);
+        for (int i = 0; i < 3; i++){
+            this.angles[effect * 3 + i] = this.random.nextDouble()*CIRCLE;
+            if (!this.nodes){
+                continue;
+            }
+            Polygon boom = this.obtain(this.freeBooms, this.boomPane);
+            boom.setTranslateX(x);
+            boom.setTranslateY(y);
+            boom.setScaleX(0);
+            boom.setScaleY(0);
+            boom.setRotate(this.angles[effect * 3 + i]);
+            this.shapes[effect * 3 + i] = boom;
+        }
+    }
+
+    /**
+     * This helper method adds a new effect to the end of the arrays, making them bigger if they are
+     * full, and returns its index.
+     */
+    private int add(boolean isExplosion, double myX, double myY, double myLimit){
+        if (this.count == this.progress.length){
+            int capacity = this.count * 2;
+            this.explosion = Arrays.copyOf(this.explosion, capacity);
+            this.x = Arrays.copyOf(this.x, capacity);
+            this.y = Arrays.copyOf(this.y, capacity);
+            this.angles = Arrays.copyOf(this.angles, capacity * 3);
+            this.progress = Arrays.copyOf(this.progress, capacity);
+            this.limit = Arrays.copyOf(this.limit, capacity);
+            this.shapes = Arrays.copyOf(this.shapes, capacity * 3);
+        }
+        int effect = this.count;
+        this.count++;
+        this.explosion[effect] = isExplosion;
+        this.x[effect] = myX;
+        this.y[effect] = myY;
+        this.progress[effect] = 0;
+        this.limit[effect] = myLimit;
+        return effect;
+    }
+
+    /**
+     * This helper method takes a Polygon from the free list passed in, or makes a new one in the pane
+     * passed in if the list is empty, and shows it.
+     */
+    private Polygon obtain(ArrayList<Polygon> free, Pane pane){
+        Polygon shape;
+        if (free.isEmpty()){
+            shape = new Polygon(POP_SHAPES);
+            pane.getChildren().add(shape);
+        }
+        else {
+            shape = free.remove(free.size() - 1);
+        }
+        shape.setVisible(true);
+        return shape;
+    }
+
+    /**
+     * This method is called from the BloonsGame on every display frame with the frame's timestamp in
+     * nanoseconds. It works out how many steps have passed since the last frame, moves every effect on by
+     * that many, and squeezes the finished effects out of the arrays in the same pass.
+     */
+    public void step(long now){
+        if (this.lastTime >= 0){
+            this.accumulator += Math.max(Math.min(now - this.lastTime, MAX_FRAME_MILLIS * 1e6), 0);
+        }
+        this.lastTime = now;
+        if (this.count == 0){
+            this.accumulator = 0;
+            return;
+        }
+        int steps = (int) (this.accumulator / (POP_TIMELINE * 1e6));
+        if (steps == 0){
+            return;
+        }
+        this.accumulator -= steps * POP_TIMELINE * 1e6;
+
+        int kept = 0;
+        for (int effect = 0; effect < this.count; effect++){
+            boolean running;
+            if (this.explosion[effect]){
+                this.progress[effect] += steps * EXPLODE_INCREMENT;
+                running = this.progress[effect] <= this.limit[effect];
+                if (running && this.nodes){
+                    this.growFade(effect);
+                }
+            }
+            else {
+                this.progress[effect] += steps;
+                running = this.progress[effect] < this.limit[effect];
+                if (running && this.nodes){
+                    this.grow(effect);
+                }
+            }
+
+            if (running){
+                this.keep(effect, kept);
+                kept++;
+            }
+            else if (this.nodes){
+                this.finish(effect);
+            }
+        }
+        this.count = kept;
+    }
+
+    /**
+     * This method is called from the CanvasRenderer on every frame, and it draws every running pop onto
+     * the pop canvas and every running explosion onto the boom canvas, in the order they were started.
+     * Each one is drawn with the same rotation and scale (around the same center) as its Polygon would be.
+     */
+    public void draw(GraphicsContext pops, GraphicsContext booms){
+        for (int effect = 0; effect < this.count; effect++){
+            if (this.explosion[effect]){
+                double pct = this.progress[effect];
+                if (pct == 0){
+                    continue;
+                }
+                int fade = this.fade(effect);
+                this.drawShape(booms, effect, this.angles[effect * 3], YELLOW_X_SCALE * pct,
+                        YELLOW_Y_SCALE * pct, YELLOW_FADES[fade]);
+                this.drawShape(booms, effect, this.angles[effect * 3 + 1], ORANGE_X_SCALE * pct,
+                        ORANGE_Y_SCALE * pct, ORANGE_FADES[fade]);
+                this.drawShape(booms, effect, this.angles[effect * 3 + 2], RED_X_SCALE * pct,
+                        RED_Y_SCALE * pct, RED_FADES[fade]);
+            }
+            else {
+                int growths = (int) this.progress[effect];
+                this.drawShape(pops, effect, 0, 1 + growths * POP_X_SCALE, 1 + growths * POP_Y_SCALE,
+                        POP_FADES[growths]);
+            }
+        }
+    }
+
+    /**
+     * This helper method fills the pop shape at an effect's location, turned and stretched around the
+     * center of its bounds.
+     */
+    private void drawShape(GraphicsContext gc, int effect, double angle, double xScale, double yScale, Color fill){
+        gc.save();
+        gc.translate(this.x[effect] + POP_CENTER_X, this.y[effect] + POP_CENTER_Y);
+        gc.rotate(angle);
+        gc.scale(xScale, yScale);
+        gc.translate(-POP_CENTER_X, -POP_CENTER_Y);
+        gc.setFill(fill);
+        gc.fillPolygon(POP_XS, POP_YS, POP_XS.length);
+        gc.restore();
+    }
+
+    /**
+     * This helper method returns which of the precomputed fading colours an explosion is up to.
+     */
+    private int fade(int effect){
+        return (int) Math.round(this.progress[effect] / this.limit[effect] * EXPLOSION_FADE_LEVELS);
+    }
+
+    /**
+     * This helper method increases the scale of a pop, simultaneously decreasing its opacity.
+     */
+    private void grow(int effect){
+        int growths = (int) this.progress[effect];
+        Polygon pop = this.shapes[effect * 3];
+        pop.setScaleX(1 + growths * POP_X_SCALE);
+        pop.setScaleY(1 + growths * POP_Y_SCALE);
+        pop.setFill(POP_FADES[growths]);
+    }
+
+    /**
+     * This helper method adjusts the scale and color of an explosion's three layered booms, such that they
+     * nearly fade out completely before being removed.
+     */
+    private void growFade(int effect){
+        double pct = this.progress[effect];
+        int fade = this.fade(effect);
+        Polygon yellow = this.shapes[effect * 3];
+        Polygon orange = this.shapes[effect * 3 + 1];
+        Polygon red = this.shapes[effect * 3 + 2];
+
+        yellow.setScaleX(YELLOW_X_SCALE * pct);
+        yellow.setScaleY(YELLOW_Y_SCALE * pct);
+        yellow.setFill(YELLOW_FADES[fade]);
+
+        orange.setScaleX(ORANGE_X_SCALE * pct);
+        orange.setScaleY(ORANGE_Y_SCALE * pct);
+        orange.setFill(ORANGE_FADES[fade]);
+
+        red.setScaleX(RED_X_SCALE * pct);
+        red.setScaleY(RED_Y_SCALE * pct);
+        red.setFill(RED_FADES[fade]);
+    }
+
+    /**
+     * This helper method copies a running effect down into an earlier index, over the finished ones.
+     */
+    private void keep(int from, int to){
+        if (from == to){
+            return;
+        }
+        this.explosion[to] = this.explosion[from];
+        this.x[to] = this.x[from];
+        this.y[to] = this.y[from];
+        System.arraycopy(this.angles, from * 3, this.angles, to * 3, 3);
+        this.progress[to] = this.progress[from];
+        this.limit[to] = this.limit[from];
+        System.arraycopy(this.shapes, from * 3, this.shapes, to * 3, 3);
+    }
+
+    /**
+     * This helper method hides a finished effect's Polygons and puts them back on their free list.
+     */
+    private void finish(int effect){
+        if (this.explosion[effect]){
+            for (int i = 0; i < 3; i++){
+                this.free(this.freeBooms, effect * 3 + i);
+            }
+        }
+        else {
+            this.free(this.freePops, effect * 3);
+        }
+    }
+
+    private void free(ArrayList<Polygon> free, int index){
+        this.shapes[index].setVisible(false);
+        free.add(this.shapes[index]);
+        this.shapes[index] = null;
+    }
+
+    /**
+     * Accessor method to get the number of effects that are running.
+     */
+    public int getCount(){
+        return this.count;
+    }
+
+    /**
+     * Accessor method to get whether an effect is an explosion (rather than a pop).
+     */
+    public boolean isExplosion(int effect){
+        return this.explosion[effect];
+    }
+
+    /**
+     * Accessor method to get the X position of an effect.
+     */
+    public double getX(int effect){
+        return this.x[effect];
+    }
+
+    /**
+     * Accessor method to get the Y position of an effect.
+     */
+    public double getY(int effect){
+        return this.y[effect];
+    }
+
+    /**
+     * Accessor method to get how far through an effect is (growths for a pop, scale for an explosion).
+     */
+    public double getProgress(int effect){
+        return this.progress[effect];
+    }
+
+    /**
+     * Accessor method to get the angle of one of an explosion's booms.
+     */
+    public double getAngle(int effect, int boom){
+        return this.angles[effect * 3 + boom];
+    }
+
+    /**
+     * Accessor method to get which of the fading colours an explosion is up to.
+     */
+    public int getFade(int effect){
+        return this.fade(effect);
+    }
+
+    /**
+     * This method is called when the game is restarted, and it starts the random angles of the booms over
+     * from the seed passed in.
+     */
+    public void setSeed(long seed){
+        this.random.setSeed(seed);
+    }
+
+    /**
+     * This method is called when the game is restarted, and it ends every running effect at once.
+     */
+    public void clear(){
+        for (int effect = 0; effect < this.count && this.nodes; effect++){
+            this.finish(effect);
+        }
+        this.count = 0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,127 @@
+package indy;
+
+import static indy.Constants.*;
+
+/**
+ * This is the GameClock class. It turns the real time that passes between display frames into a whole
+ * number of fixed-length Simulation ticks, so that the game runs at the same speed no matter how often
+ * the screen is redrawn. Leftover time is kept in an accumulator for the next frame, and the fraction of
+ * a tick that is left over is used to draw the bloons and darts part-way between two ticks.
+ *
+ * If a frame arrives very late, the clock will only run a limited number of ticks to catch up (so that a
+ * slow machine doesn't fall further and further behind). Whatever time is still owed after that is either
+ * dropped, which makes the game slow down for a moment, or carried into the following frames.
+ *
+ * The clock can also be sped up, which shortens each tick so that several times as many ticks are run per
+ * frame (the catch-up limit grows to match). At SPEED_MAX it ignores real time altogether and simply runs
+ * ticks until the frame's time budget is used up.
+ */
+public class GameClock {
+
+    private double baseTickNanos;
+    private double tickNanos;
+    private double accumulator;
+    private long lastTime;
+    private long frameStart;
+    private int baseMaxCatchUp;
+    private int maxCatchUp;
+    private int ticksThisFrame;
+    private boolean carryBacklog;
+    private boolean uncapped;
+
+    /**
+     * This is the GameClock class' Constructor. It takes in the length of a tick in milliseconds at normal
+     * speed, the most ticks that may be run in a single frame at normal speed, and whether time that couldn't
+     * be caught up on is carried over to the next frames (true) or dropped (false).
+     */
+    public GameClock(double tickMillis, int maxCatchUpTicks, boolean carry){
+        this.baseTickNanos = tickMillis * 1e6;
+        this.baseMaxCatchUp = maxCatchUpTicks;
+        this.carryBacklog = carry;
+        this.setSpeed(SPEED_SLOW);
+        this.reset();
+    }
+
+    /**
+     * This method is called whenever the game is paused or restarted, so that the time spent paused
+     * is never counted as time the Simulation owes.
+     */
+    public void reset(){
+        this.accumulator = 0;
+        this.lastTime = -1;
+        this.ticksThisFrame = 0;
+    }
+
+    /**
+     * Mutator method to change how many times faster than normal the game runs, used when the game is sped
+     * up or slowed down. A speed of SPEED_MAX runs as many ticks as fit in each frame's time budget.
+     */
+    public void setSpeed(double speed){
+        this.uncapped = speed == SPEED_MAX;
+        if (!this.uncapped){
+            this.tickNanos = this.baseTickNanos / speed;
+            this.maxCatchUp = (int) Math.ceil(this.baseMaxCatchUp * speed);
+        }
+        this.accumulator = 0;
+    }
+
+    /**
+     * This method is called at the start of every display frame with the frame's timestamp in nanoseconds.
+     * It adds the time since the last frame to the accumulator, ignoring anything beyond MAX_FRAME_MILLIS
+     * (for instance when the window was dragged or the machine went to sleep).
+     */
+    public void startFrame(long now){
+        if (this.lastTime >= 0){
+            double elapsed = Math.min(now - this.lastTime, MAX_FRAME_MILLIS * 1e6);
+            this.accumulator += Math.max(elapsed, 0);
+        }
+        this.lastTime = now;
+        this.frameStart = System.nanoTime();
+        this.ticksThisFrame = 0;
+    }
+
+    /**
+     * This method returns true if the Simulation should run another tick in this frame, and if so it takes
+     * that tick's time out of the accumulator. When the catch-up limit is reached, it applies the backlog
+     * policy and returns false. When the clock is uncapped, it instead checks the frame's time budget.
+     */
+    public boolean shouldTick(){
+        if (this.uncapped){
+            if (System.nanoTime() - this.frameStart >= FRAME_BUDGET_MILLIS * 1e6){
+                return false;
+            }
+            this.ticksThisFrame++;
+            return true;
+        }
+        if (this.accumulator < this.tickNanos){
+            return false;
+        }
+        if (this.ticksThisFrame >= this.maxCatchUp){
+            if (!this.carryBacklog){
+                this.accumulator %= this.tickNanos;
+            }
+            return false;
+        }
+        this.accumulator -= this.tickNanos;
+        this.ticksThisFrame++;
+        return true;
+    }
+
+    /**
+     * Accessor method to get how far the game is between the last tick and the next one, from 0 to 1,
+     * which the renderer uses to interpolate positions.
+     */
+    public double getAlpha(){
+        if (this.uncapped){
+            return 1;
+        }
+        return Math.min(this.accumulator / this.tickNanos, 1);
+    }
+
+    /**
+     * Accessor method to get the number of ticks that have been run in the current frame.
+     */
+    public int getTicksThisFrame(){
+        return this.ticksThisFrame;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package indy;
+
+/**
+ * This is the GameRenderer interface. It is a SimulationListener that also draws the game once per
+ * display frame for the BloonsGame. There are three of them: the SceneRenderer, which keeps a set of
+ * JavaFX shapes for everything on screen, the CanvasRenderer, which draws everything onto a few Canvases
+ * each frame instead, and the PixelRenderer, which stamps everything into a single buffer of pixels.
+ */
+public interface GameRenderer extends SimulationListener {
+
+    /**
+     * Called once per display frame while the game is running, to draw every bloon and dart 'alpha' of
+     * the way through the current tick.
+     */
+    void render(BloonStore bloons, double alpha);
+
+    /**
+     * Called on every display frame (even between levels) with the frame's timestamp in nanoseconds,
+     * to step and draw the pop and explosion effects.
+     */
+    void animate(long now);
+
+    /**
+     * Called when the game is restarted, to take everything off the screen.
+     */
+    void clear();
+
+    /**
+     * Called when the game is restarted, with the seed for the random numbers that turn the explosions,
+     * so that a recorded game can be shown exactly as it was played.
+     */
+    void setSeed(long seed);
+}
\ No newline at end of file
@@ -0,0 +1,351 @@
+package indy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import static indy.Constants.*;
+
+/**
+ * This is the Headless class. It runs the Simulation without any display, which is useful for checking
+ * the game logic and measuring how fast it runs. It places a fixed set of fully-upgraded monkeys off the
+ * track, then plays every level as fast as possible, and prints out how the game went.
+ *
+ * When it is run with the argument "stress", it instead fills the track with huge waves of Bloons (up
+ * to a hundred thousand) and times how long each tick takes, to show that the time spent per Bloon
+ * stays the same no matter how many Bloons there are.
+ *
+ * When it is run with the argument "alloc", it plays the whole game once to fill up the pools of darts,
+ * then restarts and plays it again while AllocationCounters measure the memory created by shooting and
+ * moving the darts and by each whole tick (spawning, splitting, popping, and leaking Bloons included),
+ * both of which should come to zero bytes per tick.
+ *
+ * When it is run with the argument "fast", it plays the whole game twice, once a tick at a time and once
+ * with the Simulation's fastForward method (which skips straight over quiet ticks), and prints out how
+ * each game went and how long it took. It then plays both games again side by side, catching the stepped
+ * game up to the fast-forwarded one after every skip and comparing their checksums, so that two games
+ * which drift apart and then happen to end the same way are still caught.
+ *
+ * When it is run with the arguments "record (file)", it plays the game once while a ReplayRecorder writes
+ * it to the file, which can then be played back and checked with java indy.Replay (file).
+ *
+ * When it is run with the argument "save", it plays partway through a level, saves the game to a file
+ * with the SaveFile class and loads it into a second Simulation, then plays both games to the end side by
+ * side and checks that they stay exactly the same on every tick. It then times retrying the level that was
+ * lost from the snapshot taken before it, and saving and loading a track full of Bloons.
+ */
+public class Headless {
+
+    // PLACEMENTS[monkey][type, x, y]
+    private static final int[][] PLACEMENTS = {{DART_MONKEY_TYPE, 480, 220}, {NINJA_MONKEY_TYPE, 290, 500},
+            {BOMB_SHOOTER_TYPE, 660, 320}, {NINJA_MONKEY_TYPE, 820, 350}, {DART_MONKEY_TYPE, 640, 470}};
+    private static final int[] STRESS_COUNTS = {12500, 25000, 50000, 100000};
+    private static final int STRESS_WARM_UP_TICKS = 200;
+    private static final int STRESS_TICKS = 400;
+    private static final long RECORD_SEED = 15;
+    private static final int SAVE_LEVEL = 20;
+    private static final int SAVE_LEVEL_TICKS = 10000;
+    private static final int SAVE_TIMINGS = 20;
+    private static final int SAVE_STRESS_COUNT = 10000;
+    private static final int SAVE_STRESS_TICKS = 1000;
+
+    /**
+     * This method picks the mode from the arguments, and by default plays a full game and prints out how
+     * it went and how long it took.
+     */
+    public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("stress")){
+            stress();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("alloc")){
+            alloc();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("fast")){
+            fast();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("save")){
+            save();
+            return;
+        }
+        if (args.length > 1 && args[0].equals("record")){
+            record(Path.of(args[1]));
+            return;
+        }
+        run(false);
+    }
+
+    /**
+     * This helper method plays a full game (stepping every tick, or fast-forwarding if 'fast' is true),
+     * prints out how it went and how long it took, and returns the summary of how it went.
+     */
+    private static String run(boolean fast){
+        Simulation sim = new Simulation(new SimulationListener(){});
+        long start = System.nanoTime();
+        play(sim, null, fast);
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        String result = (sim.isWon() ? "Won" : "Lost") + " at level " + sim.getLevel()
+                + " with " + sim.getLives() + " lives and $" + sim.getBank().getCash();
+        System.out.println(result);
+        System.out.printf("%d ticks in %.1f ms (%.0f ticks/s)%n", sim.getTick(), millis,
+                sim.getTick() / (millis / 1000));
+        return result + " after " + sim.getTick() + " ticks";
+    }
+
+    /**
+     * This method is the fast-forward mode. It times the game by stepping and then by fast-forwarding, checks
+     * that both games ended in the same way, and then checks them against each other tick by tick.
+     */
+    private static void fast(){
+        System.out.println("Stepping:");
+        String stepped = run(false);
+        System.out.println("Fast-forwarding:");
+        String skipped = run(true);
+        System.out.println(stepped.equals(skipped) ? "Both games end the same way."
+                : "The games end DIFFERENTLY!");
+        lockstep();
+    }
+
+    /**
+     * This helper method plays the game with the fastForward method and, side by side, a tick at a time.
+     * After every call to fastForward, the stepped game is stepped by as many ticks as were skipped, and
+     * the two games' checksums are compared, as they are again after every level ends. It stops at the
+     * first tick where the games differ.
+     */
+    private static void lockstep(){
+        Simulation skipped = new Simulation(new SimulationListener(){});
+        Simulation stepped = new Simulation(new SimulationListener(){});
+        placeMonkeys(skipped);
+        placeMonkeys(stepped);
+        long checks = 0;
+        while (!skipped.isLost() && !skipped.isWon()){
+            skipped.startLevel();
+            stepped.startLevel();
+            while (!skipped.isLevelOver() && !skipped.isLost() && !skipped.isWon()){
+                long ticks = skipped.fastForward(Long.MAX_VALUE);
+                for (long tick = 0; tick < ticks; tick++){
+                    stepped.step();
+                }
+                checks++;
+                if (skipped.checksum() != stepped.checksum()){
+                    System.out.println("The games DIFFER at tick " + skipped.getTick() + "!");
+                    return;
+                }
+            }
+            if (skipped.isLevelOver()){
+                skipped.endLevel();
+                stepped.endLevel();
+                checks++;
+                if (skipped.checksum() != stepped.checksum()){
+                    System.out.println("The games DIFFER after level " + skipped.getLevel() + "!");
+                    return;
+                }
+            }
+        }
+        System.out.println("Both games match at all " + checks + " checks over " + skipped.getTick()
+                + " ticks.");
+    }
+
+    /**
+     * This method is the record mode. It plays the game once, recording it to the replay file passed in.
+     */
+    private static void record(Path path){
+        Simulation sim = new Simulation(new SimulationListener(){});
+        sim.setRecorder(new ReplayRecorder(path));
+        sim.restart(RECORD_SEED);
+        play(sim, null, false);
+        sim.closeRecording();
+        System.out.println("Recorded " + sim.getTick() + " ticks to " + path);
+    }
+
+    /**
+     * This method is the save mode. It plays until SAVE_LEVEL_TICKS into the level after SAVE_LEVEL, when
+     * there are Bloons on the track, and then on until a dart is in the air, saves the game and loads it
+     * into a second Simulation, and then steps both games until the first one ends, comparing their
+     * checksums after every tick.
+     */
+    private static void save(){
+        Path path;
+        try {
+            path = Files.createTempFile("bloons", ".sav");
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+        Simulation sim = new Simulation(new SimulationListener(){});
+        sim.restart(RECORD_SEED);
+        placeMonkeys(sim);
+        while (sim.getLevel() < SAVE_LEVEL){
+            sim.startLevel();
+            while (!sim.isLevelOver()){
+                sim.step();
+            }
+            sim.endLevel();
+        }
+        sim.startLevel();
+        for (int tick = 0; tick < SAVE_LEVEL_TICKS || sim.getDartCount() < 1; tick++){
+            sim.step();
+        }
+        System.out.printf("Saving at tick %d of level %d with %d bloons and %d darts%n", sim.getTick(),
+                sim.getLevel(), sim.getBloons().getCount(), sim.getDartCount());
+        Simulation loaded = new Simulation(new SimulationListener(){});
+        timeSave(sim, loaded, path);
+
+        long ticks = 0;
+        ByteBuffer levelStart = null;
+        while (!sim.isLost() && !sim.isWon()){
+            while (!sim.isLevelOver() && !sim.isLost() && !sim.isWon()){
+                sim.step();
+                loaded.step();
+                ticks++;
+                if (sim.checksum() != loaded.checksum()){
+                    System.out.println("The games DIFFER at tick " + sim.getTick() + "!");
+                    return;
+                }
+            }
+            if (sim.isLevelOver()){
+                sim.endLevel();
+                loaded.endLevel();
+                levelStart = SaveFile.snapshot(sim);
+                sim.startLevel();
+                loaded.startLevel();
+            }
+        }
+        System.out.println("Both games match for the " + ticks + " ticks after the load.");
+        if (levelStart != null){
+            long start = System.nanoTime();
+            SaveFile.load(sim, levelStart);
+            System.out.printf("Retried level %d from a %d byte snapshot in %.2f ms%n", sim.getLevel() + 1,
+                    levelStart.remaining(), (System.nanoTime() - start) / 1e6);
+        }
+
+        Simulation stressed = new Simulation(new SimulationListener(){});
+        placeMonkeys(stressed);
+        stressed.spawnBloons(RED_STRENGTH, false, SAVE_STRESS_COUNT);
+        for (int tick = 0; tick < SAVE_STRESS_TICKS; tick++){
+            stressed.step();
+        }
+        System.out.printf("Saving %d bloons and %d darts%n", stressed.getBloons().getCount(),
+                stressed.getDartCount());
+        timeSave(stressed, new Simulation(new SimulationListener(){}), path);
+        try {
+            Files.delete(path);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * This helper method saves the first Simulation passed in to the path passed in and loads it into the
+     * second one SAVE_TIMINGS times, and prints out how big the file is and how long each part took.
+     */
+    private static void timeSave(Simulation from, Simulation to, Path path){
+        for (int timing = 0; timing < SAVE_TIMINGS; timing++){
+            long start = System.nanoTime();
+            ByteBuffer snapshot = SaveFile.snapshot(from);
+            long snapped = System.nanoTime();
+            SaveFile.write(snapshot, path);
+            long written = System.nanoTime();
+            SaveFile.load(to, path);
+            long loaded = System.nanoTime();
+            System.out.printf("%d bytes: snapshot %.2f ms, write %.2f ms, load %.2f ms%n", snapshot.remaining(),
+                    (snapped - start) / 1e6, (written - snapped) / 1e6, (loaded - written) / 1e6);
+        }
+    }
+
+    /**
+     * This helper method places the fixed set of fully-upgraded monkeys in the Simulation.
+     */
+    private static void placeMonkeys(Simulation sim){
+        for (int[] placement : PLACEMENTS){
+            MonkeyModel monkey = new MonkeyModel(placement[0]);
+            monkey.place(placement[1], placement[2]);
+            sim.placeMonkey(monkey, 0);
+            for (int upgrade = 0; upgrade < NUM_UPGRADES; upgrade++){
+                sim.buyUpgrade(monkey, upgrade, 0);
+            }
+        }
+    }
+
+    /**
+     * This helper method places the monkeys in the Simulation and plays the levels one after another
+     * until the game is won or lost. If a tick counter is passed in, it measures every tick, and if
+     * 'fast' is true, the game skips over quiet ticks instead of stepping through them.
+     */
+    private static void play(Simulation sim, AllocationCounter tickCounter, boolean fast){
+        placeMonkeys(sim);
+        while (!sim.isLost() && !sim.isWon()){
+            sim.startLevel();
+            while (!sim.isLevelOver() && !sim.isLost() && !sim.isWon()){
+                if (tickCounter != null){
+                    tickCounter.start();
+                    sim.step();
+                    tickCounter.stop();
+                }
+                else if (fast){
+                    sim.fastForward(Long.MAX_VALUE);
+                }
+                else {
+                    sim.step();
+                }
+            }
+            if (sim.isLevelOver()){
+                sim.endLevel();
+            }
+        }
+    }
+
+    /**
+     * This method is the allocation mode. The first game fills the pools of darts (and lets the JIT
+     * compiler settle), and the second game, which plays out exactly the same way, is measured.
+     */
+    private static void alloc(){
+        Simulation sim = new Simulation(new SimulationListener(){});
+        play(sim, null, false);
+        sim.restart(0);
+
+        AllocationCounter dartCounter = new AllocationCounter();
+        AllocationCounter tickCounter = new AllocationCounter();
+        sim.setDartAllocations(dartCounter);
+        play(sim, tickCounter, false);
+        printAllocations("darts", dartCounter);
+        printAllocations("ticks", tickCounter);
+    }
+
+    /**
+     * This helper method prints the total and per-tick bytes measured by an AllocationCounter.
+     */
+    private static void printAllocations(String label, AllocationCounter counter){
+        System.out.printf("%s: %d bytes over %d ticks (%.3f bytes/tick)%n", label, counter.getTotalBytes(),
+                counter.getPeriods(), (double) counter.getTotalBytes() / counter.getPeriods());
+    }
+
+    /**
+     * This method is the stress mode. For each of the STRESS_COUNTS, it spawns that many Bloons at once,
+     * lets them start moving, and then times the ticks that follow. Since the Bloons are all updated in
+     * one pass over the BloonStore, the time per Bloon should stay roughly the same for every count.
+     */
+    private static void stress(){
+        for (int count : STRESS_COUNTS){
+            Simulation sim = new Simulation(new SimulationListener(){});
+            sim.spawnBloons(RED_STRENGTH, false, count);
+            for (int tick = 0; tick < STRESS_WARM_UP_TICKS; tick++){
+                sim.step();
+            }
+
+            long start = System.nanoTime();
+            for (int tick = 0; tick < STRESS_TICKS; tick++){
+                sim.step();
+            }
+            long nanos = System.nanoTime() - start;
+
+            System.out.printf("%7d bloons: %.3f ms/tick, %.1f ns/bloon%n", count,
+                    nanos / 1e6 / STRESS_TICKS, (double) nanos / STRESS_TICKS / count);
+        }
+    }
+}
\ No newline at end of file
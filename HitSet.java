@@ -0,0 +1,146 @@
+package indy;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import static indy.Constants.*;
+
+/**
+ * This is the HitSet class. It is the set of Bloon ids that a single dart has already hit, so that a
+ * dart never pops the same Bloon twice (including the Bloons that a popped Bloon splits into, which are
+ * added as soon as they are made). It is an open-addressed hash table of ints: an id is hashed to a spot
+ * in the table and, if that spot is taken, the spots after it are tried in turn, so checking for an id
+ * takes the same time no matter how many Bloons the dart has hit.
+ *
+ * Every spot also has a stamp, and a spot only counts as filled if its stamp matches the set's current
+ * stamp. This means that emptying the set (every time its dart is launched again) is just a matter of
+ * moving on to the next stamp, and nothing is ever allocated unless the set has to grow.
+ */
+public class HitSet {
+
+    private int[] ids;
+    private int[] stamps;
+    private int stamp;
+    private int size;
+    private int mask;
+
+    /**
+     * This is the HitSet class' Constructor. It creates an empty table of HIT_SET_CAPACITY spots (which
+     * must be a power of two, so that a hash can be turned into a spot with a mask).
+     */
+    public HitSet(){
+        this.ids = new int[HIT_SET_CAPACITY];
+        this.stamps = new int[HIT_SET_CAPACITY];
+        this.mask = HIT_SET_CAPACITY - 1;
+        this.stamp = 1;
+    }
+
+    /**
+     * This method empties the set by moving on to a new stamp, so that every spot counts as empty again.
+     * If the stamps have gone all the way around, the old stamps are wiped so none can match by accident.
+     */
+    public void clear(){
+        this.size = 0;
+        this.stamp++;
+        if (this.stamp == 0){
+            Arrays.fill(this.stamps, 0);
+            this.stamp = 1;
+        }
+    }
+
+    /**
+     * This method returns true if the id passed in is in the set.
+     */
+    public boolean contains(int id){
+        for (int spot = this.spotOf(id); this.stamps[spot] == this.stamp; spot = (spot + 1) & this.mask){
+            if (this.ids[spot] == id){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method adds the id passed in to the set. It returns false if the id was already there, and
+     * true if it was added. The table doubles in size once it is half full, which only happens a few
+     * times for each dart, since the sets are reused along with the darts.
+     */
+    public boolean add(int id){
+        int spot = this.spotOf(id);
+        while (this.stamps[spot] == this.stamp){
+            if (this.ids[spot] == id){
+                return false;
+            }
+            spot = (spot + 1) & this.mask;
+        }
+        this.ids[spot] = id;
+        this.stamps[spot] = this.stamp;
+        this.size++;
+        if (this.size * 2 > this.ids.length){
+            this.grow();
+        }
+        return true;
+    }
+
+    /**
+     * This method writes the number of ids in the set and then every id into the buffer passed in for a
+     * save file.
+     */
+    public void save(ByteBuffer buffer){
+        buffer.putInt(this.size);
+        for (int spot = 0; spot < this.ids.length; spot++){
+            if (this.stamps[spot] == this.stamp){
+                buffer.putInt(this.ids[spot]);
+            }
+        }
+    }
+
+    /**
+     * This method empties the set and adds back every id written by the save method.
+     */
+    public void load(ByteBuffer buffer){
+        this.clear();
+        int loaded = buffer.getInt();
+        for (int i = 0; i < loaded; i++){
+            this.add(buffer.getInt());
+        }
+    }
+
+    /**
+     * Accessor method to get the number of ids in the set.
+     */
+    public int getSize(){
+        return this.size;
+    }
+
+    /**
+     * This helper method returns the spot that the id passed in hashes to. Bloon ids are handed out in
+     * order, so they are mixed up by a multiplication first to keep neighbouring ids from bunching up.
+     */
+    private int spotOf(int id){
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & this.mask;
+    }
+
+    /**
+     * This helper method doubles the size of the table, putting every id back in at its new spot.
+     */
+    private void grow(){
+        int[] oldIds = this.ids;
+        int[] oldStamps = this.stamps;
+        int oldStamp = this.stamp;
+        this.ids = new int[oldIds.length * 2];
+        this.stamps = new int[oldIds.length * 2];
+        this.mask = this.ids.length - 1;
+        this.stamp = 1;
+        for (int i = 0; i < oldIds.length; i++){
+            if (oldStamps[i] == oldStamp){
+                int spot = this.spotOf(oldIds[i]);
+                while (this.stamps[spot] == this.stamp){
+                    spot = (spot + 1) & this.mask;
+                }
+                this.ids[spot] = oldIds[i];
+                this.stamps[spot] = this.stamp;
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package indy;
+
+import javafx.scene.control.Label;
+import static indy.Constants.*;
+
+/**
+ * This is the Hud class. It keeps the Cash, Lives, and Level labels in the upper-left corner up to date.
+ * The game changes these values far more often than the screen can show them (the cash changes on every
+ * single pop), and every call to setText makes JavaFX lay out the label again, so the labels are never
+ * written to as the values change. Instead, the BloonsGame calls the update method once per display frame
+ * with the current values, and each label is only rewritten if its value is different from the one it
+ * is already showing. The level label shows the number of levels too, which can change when the levels
+ * are reloaded. Below the labels, the Hud shows short messages (such as whether the levels were
+ * reloaded, or why a save couldn't be loaded) for MESSAGE_FRAMES frames.
+ */
+public class Hud {
+
+    private Label cashLabel;
+    private Label livesLabel;
+    private Label levelLabel;
+    private Label messageLabel;
+    private int shownCash;
+    private int shownLives;
+    private int shownLevel;
+    private int shownLevelCount;
+    private int level;
+    private int levelCount;
+    private int messageFrames;
+
+    /**
+     * This is the Hud class' Constructor. It is associated with the three labels and the message label,
+     * and it starts out showing nothing, so that the first update writes every label.
+     */
+    public Hud(Label myCash, Label myLives, Label myLevel, Label myMessage){
+        this.cashLabel = myCash;
+        this.livesLabel = myLives;
+        this.levelLabel = myLevel;
+        this.messageLabel = myMessage;
+        this.shownCash = Integer.MIN_VALUE;
+        this.shownLives = Integer.MIN_VALUE;
+        this.shownLevel = Integer.MIN_VALUE;
+        this.shownLevelCount = Integer.MIN_VALUE;
+        this.level = 1;
+        this.levelCount = 0;
+        this.messageFrames = 0;
+    }
+
+    /**
+     * Mutator method to set the level to show. The Simulation moves on to the next level as soon as the
+     * last wave of a level has spawned, so the BloonsGame only sets this when a level is started (or
+     * the game is restarted) to keep showing the level that is being played.
+     */
+    public void setLevel(int myLevel){
+        this.level = myLevel;
+    }
+
+    /**
+     * Mutator method to set the number of levels, which is shown after the level. The BloonsGame sets it
+     * whenever the levels might have changed: when the game starts or restarts, and when they are reloaded.
+     */
+    public void setLevelCount(int myLevelCount){
+        this.levelCount = myLevelCount;
+    }
+
+    /**
+     * This method shows the message passed in below the labels, replacing any message already shown.
+     */
+    public void showMessage(String message){
+        this.messageLabel.setText(message);
+        this.messageFrames = MESSAGE_FRAMES;
+    }
+
+    /**
+     * This method is called from the BloonsGame once per display frame with the current cash and lives,
+     * and it rewrites only the labels whose values have changed since the last frame. It also counts down
+     * the frames left for the message, and clears it once they run out.
+     */
+    public void update(int cash, int lives){
+        if (cash != this.shownCash){
+            this.shownCash = cash;
+            this.cashLabel.setText("Cash  $" + cash);
+        }
+        int livesLeft = Math.max(lives, 0);
+        if (livesLeft != this.shownLives){
+            this.shownLives = livesLeft;
+            this.livesLabel.setText("Lives  " + livesLeft);
+        }
+        if (this.level != this.shownLevel || this.levelCount != this.shownLevelCount){
+            this.shownLevel = this.level;
+            this.shownLevelCount = this.levelCount;
+            this.levelLabel.setText("Level  " + this.level + "/" + this.levelCount);
+        }
+        if (this.messageFrames > 0){
+            this.messageFrames--;
+            if (this.messageFrames == 0){
+                this.messageLabel.setText("");
+            }
+        }
+    }
+}
\ No newline at end of file
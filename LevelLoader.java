@@ -0,0 +1,131 @@
+package indy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static indy.Constants.*;
+import static indy.SimConstants.*;
+
+/**
+ * This is the LevelLoader class. It reads the levels from a text file (whichever file the indy.levels
+ * property names, or else the levels.txt in the directory the game is run from, or else the copy of
+ * levels.txt that sits next to the game's classes) into the same {level}{wave}{bloonCount,
+ * bloonStrength, bloonSpacing, camo} form that the levels used to be written in, ready to be compiled
+ * into a WaveSchedule. Every number is checked as it is read, and a file with a mistake in it is
+ * rejected as a whole, with the line it is on, so a broken file never gets halfway into the game. The
+ * format itself is described at the top of levels.txt.
+ */
+public class LevelLoader {
+
+    private static final String WAVE_SEPARATOR = "\\|";
+    private static final String FIELD_SEPARATOR = "\\s+";
+    private static final String ANDY_TOKEN = "A";
+    private static final int FIELDS = 4;
+
+    /**
+     * This method loads the levels from the file named by the indy.levels property if it is set. If
+     * it isn't, the levels.txt in the working directory comes first, since that is the one being
+     * edited when the game is run from its own folder, and the copy next to the classes is only a
+     * fallback. It throws an UncheckedIOException if the file can't be read, and an
+     * IllegalArgumentException if it isn't valid.
+     */
+    public static int[][][] load(){
+        String path = System.getProperty(LEVELS_PROPERTY);
+        try {
+            if (path != null){
+                return parse(Files.readAllLines(Path.of(path), StandardCharsets.UTF_8), path);
+            }
+            Path local = Path.of(LEVELS_FILE);
+            if (Files.isRegularFile(local)){
+                return parse(Files.readAllLines(local, StandardCharsets.UTF_8), LEVELS_FILE);
+            }
+            InputStream stream = LevelLoader.class.getResourceAsStream(LEVELS_FILE);
+            if (stream == null){
+                throw new IOException(LEVELS_FILE + " was not found next to the game's classes");
+            }
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))){
+                return parse(reader.lines().toList(), LEVELS_FILE);
+            }
+        }
+        catch (IOException e){
+            throw new UncheckedIOException("Could not read the levels: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method turns the lines of a levels file into the levels, checking every wave as it goes. The
+     * 'source' is only used to say where a mistake was found.
+     */
+    public static int[][][] parse(List<String> lines, String source){
+        List<int[][]> levels = new ArrayList<>();
+        for (int i = 0; i < lines.size(); i++){
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")){
+                continue;
+            }
+            String[] waves = line.split(WAVE_SEPARATOR);
+            int[][] level = new int[waves.length][];
+            for (int wave = 0; wave < waves.length; wave++){
+                level[wave] = parseWave(waves[wave].trim(), source, i + 1);
+            }
+            levels.add(level);
+        }
+        if (levels.isEmpty()){
+            throw new IllegalArgumentException(source + " has no levels in it");
+        }
+        return levels.toArray(new int[0][][]);
+    }
+
+    /**
+     * This helper method reads and checks a single wave: a count of at least 1, a strength that is a
+     * Bloon (or 0 for a pause), a spacing that isn't negative, and a camo of 0 or 1.
+     */
+    private static int[] parseWave(String text, String source, int lineNumber){
+        String[] fields = text.split(FIELD_SEPARATOR);
+        if (fields.length != FIELDS){
+            throw invalid(source, lineNumber, "\"" + text + "\" should be count strength spacing camo");
+        }
+        int[] wave = new int[FIELDS];
+        for (int field = 0; field < FIELDS; field++){
+            if (field == STRENGTH_INDEX && fields[field].equals(ANDY_TOKEN)){
+                wave[field] = ANDY_STRENGTH;
+                continue;
+            }
+            try {
+                wave[field] = Integer.parseInt(fields[field]);
+            }
+            catch (NumberFormatException e){
+                throw invalid(source, lineNumber, "\"" + fields[field] + "\" is not a number");
+            }
+        }
+
+        if (wave[COUNT_INDEX] < 1){
+            throw invalid(source, lineNumber, "a wave needs a count of at least 1");
+        }
+        int strength = wave[STRENGTH_INDEX];
+        if ((strength < 0 || strength > LEAD_STRENGTH) && strength != ANDY_STRENGTH){
+            throw invalid(source, lineNumber, strength + " is not a Bloon strength");
+        }
+        if (wave[SPACING_INDEX] < 0){
+            throw invalid(source, lineNumber, "a spacing can't be negative");
+        }
+        if (wave[CAMO_INDEX] != 0 && wave[CAMO_INDEX] != 1){
+            throw invalid(source, lineNumber, "camo must be 0 or 1");
+        }
+        return wave;
+    }
+
+    /**
+     * This helper method builds the exception for a mistake on the line passed in.
+     */
+    private static IllegalArgumentException invalid(String source, int lineNumber, String problem){
+        return new IllegalArgumentException(source + " line " + lineNumber + ": " + problem);
+    }
+}
\ No newline at end of file
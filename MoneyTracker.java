@@ -1,47 +1,49 @@
 package indy;
 
-import javafx.scene.control.Label;
 import static indy.Constants.*;
 
 /**
- * This is the MoneyTracker class. It stores the value of the game's total cash at any point and
- * a label that is updated to display the changing cash value.
+ * This is the MoneyTracker class. It stores the value of the game's total cash at any point. It doesn't
+ * tell anything when the cash changes (which happens on every pop); when the game is shown on screen,
+ * the Hud reads the cash once per frame instead.
  */
 public class MoneyTracker {
 
     private int cash;
-    private Label cashText;
 
     /**
-     * This is the MoneyTracker class' Constructor, which initializes the starting cash value and
-     * the cashText label, which is passed in through association from the BloonsGame...
+     * This is the MoneyTracker class' Constructor, which initializes the starting cash value.
      */
-    public MoneyTracker (Label myCashText){
+    public MoneyTracker(){
         this.cash = STARTING_CASH;
-        this.cashText = myCashText;
     }
 
     /**
      * This mutator method adjusts the cash value by the integer passed into the method.
-     * It then updates the label to reflect this change.
      */
     public void modifyCash(int change){
         this.cash += change;
-        this.cashText.setText("Cash  $" + this.cash);
     }
 
     /**
-     * This mutator method adjusts the cash value by the integer passed into the method.
+     * This mutator method sets the cash value, which is used when a saved game is loaded.
+     */
+    public void setCash(int newCash){
+        this.cash = newCash;
+    }
+
+    /**
+     * This accessor method returns the current cash value.
      */
     public int getCash(){
         return this.cash;
     }
 
     /**
-     * This method resets the cash to the starting value and updates the label
-     * whenever the game is restarted or when the game first begins.
+     * This method resets the cash to the starting value whenever the game is restarted or when the
+     * game first begins.
      */
     public void resetCash(){
         this.cash = STARTING_CASH;
-        this.cashText.setText("Cash  $" + this.cash);    }
+    }
 }
\ No newline at end of file
@@ -11,14 +11,14 @@ import static indy.Constants.*;
 
 /**
  * This is the abstract Monkey class. It is the superclass for all monkey types, and defines all of their
- * shared functionality, such as hit-box and range visuals, and Bloon targeting, among other things. It
- * contains instance variables for the DoublyLinkedList of bloons, along with the ArrayLists of the other
- * monkeys and their hit-boxes to check collision when placing, and a variety of doubles and booleans to
- * track the state of the monkey at any point.
+ * shared functionality, such as hit-box and range visuals, and placing and upgrading, among other things.
+ * It contains the MonkeyModel that aims and shoots for the monkey in the Simulation, along with the
+ * ArrayLists of the other monkeys and their hit-boxes to check collision when placing, and a variety of
+ * doubles and booleans to track the state of the monkey at any point.
  */
 abstract class Monkey {
 
-    private DoublyLinkedList myBloons;
+    private MonkeyModel model;
     private ArrayList<Monkey> monkeys;
     private ArrayList<Shape> hitBoxes;
     private Ellipse hitBox;
@@ -32,34 +32,27 @@ abstract class Monkey {
     private double y;
     private double xDiff;
     private double yDiff;
-    private double shotClock;
-    private double shotSpeed;
     private boolean selectable;
     private boolean onTrack;
     private boolean chosen;
-    private boolean camo;
 
     /**
-     * This is the Monkey class' Constructor. It is associated with the DoublyLinkedList, the
-     * hit-box and range panes, and the ArrayLists for monkeys and hit-boxes, and it sets up all
-     * instance variables, then calling the setUpMonkey method.
+     * This is the Monkey class' Constructor. It is associated with the hit-box and range panes, and the
+     * ArrayLists for monkeys and hit-boxes, and it creates the MonkeyModel for the monkey's type (Dart = 0,
+     * Ninja = 1, Bomber = 2). It sets up all instance variables, then calls the setUpMonkey method.
      */
-    public Monkey(DoublyLinkedList bloons, Pane myHitBoxPane, Pane myRangePane,
-                  ArrayList<Shape> myHitBoxes, int range, ArrayList<Monkey> myMonkeys,
-                  boolean canSeeCamo){
-        this.x = -range;
-        this.y = -range;
-        this.range = range;
+    public Monkey(Pane myHitBoxPane, Pane myRangePane, ArrayList<Shape> myHitBoxes,
+                  int type, ArrayList<Monkey> myMonkeys){
+        this.model = new MonkeyModel(type);
+        this.range = this.model.getRange();
+        this.x = -this.range;
+        this.y = -this.range;
         this.xDiff = 0;
         this.yDiff = 0;
-        this.shotClock = 0;
-        this.shotSpeed = 0;
 
         this.onTrack = false;
         this.chosen = false;
-        this.camo = canSeeCamo;
 
-        this.myBloons = bloons;
         this.monkeys = myMonkeys;
         this.hitBoxes = myHitBoxes;
 
@@ -70,9 +63,8 @@ abstract class Monkey {
     }
 
     /**
-     * This is the Monkey class' Constructor. It is associated with the DoublyLinkedList, the
-     * hit-box and range panes, and the ArrayLists for monkeys and hit-boxes, and it sets up all
-     * instance variables, then calling the setUpMonkey method.
+     * This method is called from the Constructor, and it sets up the monkey's rotation, range circle,
+     * and hit-box, and adds the range circle to the range pane.
      */
     private void setUpMonkey(){
         this.rotate = new Rotate(0, this.x, this.y);
@@ -83,41 +75,15 @@ abstract class Monkey {
     }
 
     /**
-     * This method is called from the subclasses in the abstract shoot method defined below. It aims
-     * the monkey at the further Bloon along the track that is still within the monkey's range, and
-     * returns the Node for the Bloon that it aims at, so that the subclasses know when/where to shoot.
+     * This method is called from the MonkeyOrganizer once per display frame, and it rotates
+     * the monkey to face whichever way its MonkeyModel last aimed. It is overridden by the ArmShooters
+     * to also animate their arms.
      */
-    public Node aim(){
-        this.shotClock += SHOT_TIMER_INCREMENT;
-        double[] dist;
-
-        // When the shot clock reaches the shotSpeed value...
-        if (this.myBloons.getTail() != null && this.shotClock >= this.shotSpeed){
-            Node temp = this.myBloons.getTail();
-
-            // Loop through the list of Bloons, starting from furthest along, until one is within range.
-            do {
-                dist = temp.getDist(this.x, this.y);
-                if (temp.getPrev() != null) {temp = temp.getPrev();
-                }
-                else{
-                    break;
-                }
-            } while (dist[0] > this.range);
-
-            // If there is any Bloon within range and the monkey can target it, then aim at the bloon.
-            if (dist[0] <= this.range){
-                if (!temp.getBloon().getCamo() || this.camo){
-                    this.hitBoxRotate.setAngle(dist[1] - QUART_CIRCLE);
-                    this.rotate.setAngle(dist[1] - QUART_CIRCLE);
-                    this.shotClock = 0;
-
-                    // Return the targeted Bloon if there is one, otherwise return null...
-                    return temp;
-                }
-            }
+    public void render(){
+        this.rotate.setAngle(this.model.getAngle());
+        if (this.hitBoxRotate != null){
+            this.hitBoxRotate.setAngle(this.model.getAngle());
         }
-        return null;
     }
 
     /**
@@ -125,15 +91,24 @@ abstract class Monkey {
      * to follow the position of the Mouse, assuming the mouse is somewhere on the game screen. If the
      * monkey is moved either onto the track or onto the hit-box of another monkey, the color of the
      * monkey's range circle is changed from a dark grey to a dark red to indicate that the monkey cannot
-     * be placed in that location. It is overridden by the subclasses to move their additional shapes.
+     * be placed in that location.
      */
     public void mouseFollow(MouseEvent a){
-        this.xDiff = a.getX() - this.x;
-        this.yDiff = a.getY() - this.y;
-
-        this.x = a.getX();
-        this.y = a.getY();
+        this.follow(a.getX(), a.getY());
         a.consume();
+    }
+
+    /**
+     * This method moves the monkey and all of its shapes to (newX, newY), and is called both from the
+     * mouseFollow method above and when a saved monkey is restored. It is overridden by the subclasses to
+     * move their additional shapes.
+     */
+    public void follow(double newX, double newY){
+        this.xDiff = newX - this.x;
+        this.yDiff = newY - this.y;
+
+        this.x = newX;
+        this.y = newY;
 
         this.relocate(this.hitBox);
         this.relocate(this.rangeCircle);
@@ -148,7 +123,7 @@ abstract class Monkey {
 
     /**
      * This helper method eliminates some repeated code in moving the monkey's shapes, and is called
-     * both from the mouseFollow method above, and the overridden mouseFollow methods in the subclasses.
+     * both from the follow method above, and the overridden follow methods in the subclasses.
      */
     public void relocate(javafx.scene.Node shape){
         shape.setTranslateX(shape.getTranslateX() + this.xDiff);
@@ -167,6 +142,7 @@ abstract class Monkey {
             this.hitBoxRotate = new Rotate(0, this.x, this.y);
             this.hitBox.getTransforms().add(this.hitBoxRotate);
             this.hitBoxPane.getChildren().add(this.hitBox);
+            this.model.place(this.x, this.y);
 
             this.hitBox.setOnMouseEntered((MouseEvent a) -> this.hoverFill());
             this.hitBox.setOnMouseExited((MouseEvent a) -> this.hoverEmpty());
@@ -179,10 +155,23 @@ abstract class Monkey {
         return false;
     }
 
+    /**
+     * This method is called from the MonkeyOrganizer when a saved game is loaded, and it puts this monkey
+     * in place of the saved MonkeyModel passed in (which is already in the Simulation, with its upgrades
+     * bought): it matches the range circle to the model, moves to the model's position, and places down.
+     */
+    public void restore(MonkeyModel saved){
+        this.model = saved;
+        this.upgraded();
+        this.follow(saved.getX(), saved.getY());
+        this.placeDown();
+        this.deselect();
+    }
+
     /**
      * This helper method checks if the monkey is on the track and if it is intersecting any other monkeys,
      * and if neither of those conditions are true, then the monkey can be placed in its current location
-     * so it returns true. It is called both from the placeDown and mouseFollow methods.
+     * so it returns true. It is called both from the placeDown and follow methods.
      */
     private boolean canPlace(){
         boolean intersecting = false;
@@ -281,22 +270,14 @@ abstract class Monkey {
     }
 
     /**
-     * Mutator method called by the subclasses if they have a range upgrade, to increase the
-     * range, and update the rangeCircle to reflect that change.
+     * This method is called from the UpgradePanel whenever the Simulation has sold the monkey an upgrade,
+     * and it updates the range circle to match the MonkeyModel's range, which some upgrades increase.
      */
-    public void upgradeRange(){
-        this.range += RANGE_UPGRADE;
+    public void upgraded(){
+        this.range = this.model.getRange();
         this.rangeCircle.setRadius(this.range);
     }
 
-    /**
-     * Mutator method called by the subclasses, used both to initialize the shot speed and then
-     * to modify the shot speed if/when it is upgraded by the user.
-     */
-    public void setShotSpeed(double speed){
-        this.shotSpeed = speed;
-    }
-
     /**
      * Mutator method to tell the monkey that it cannot be selected when a new monkey is being placed.
      */
@@ -333,22 +314,23 @@ abstract class Monkey {
     }
 
     /**
-     * Abstract method to shoot darts towards the Bloon that the monkey is targeting.
+     * Accessor method to get the MonkeyModel that aims and shoots for this monkey.
      */
-    abstract void shoot();
-
-    /**
-     * Abstract accessor method to get the monkey's type (Dart = 0, Ninja = 1, Bomber = 2).
-     */
-    abstract int getMonkeyType();
+    public MonkeyModel getModel(){
+        return this.model;
+    }
 
     /**
-     * Abstract method called whenever the user attempts to upgrade the monkey.
+     * Accessor method to get the monkey's type (Dart = 0, Ninja = 1, Bomber = 2).
      */
-    abstract boolean upgrade(int upgradeNum, int cash, int cost);
+    public int getMonkeyType(){
+        return this.model.getType();
+    }
 
     /**
-     * Abstract accessor method to get whether a monkey has its specific upgrades.
+     * Accessor method to get whether a monkey has its specific upgrades.
      */
-    abstract boolean[] getUpgradeStatus();
+    public boolean[] getUpgradeStatus(){
+        return this.model.getUpgradeStatus();
+    }
 }
\ No newline at end of file
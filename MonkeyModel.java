@@ -0,0 +1,395 @@
+package indy;
+
+import java.nio.ByteBuffer;
+import static indy.Constants.*;
+import static indy.SimConstants.*;
+
+/**
+ * This is the MonkeyModel class. It holds everything the simulation needs to know about a placed monkey
+ * (its position, range, shot clock, and upgrades) as plain values, so that monkeys can aim and shoot
+ * without any display. The Monkey classes own one of these each and draw the monkey based on it. Like
+ * the BloonStore, one class represents all monkey types, and Factory Pattern is used to set up its stats.
+ */
+public class MonkeyModel {
+
+    private int type;
+    private double x;
+    private double y;
+    private int range;
+    private double[] rangeIntervals;
+    private double[] closestPoints;
+    private int priority;
+    private int dartRange;
+    private int dartType;
+    private int sharpness;
+    private int boom;
+    private double angle;
+    private double shotClock;
+    private double shotSpeed;
+    private double animationClock;
+    private boolean[] upgradeStatus;
+    private boolean piercing;
+    private boolean shooting;
+    private boolean camo;
+
+    /**
+     * This is the MonkeyModel class' Constructor. It takes in the monkey's type (Dart = 0, Ninja = 1,
+     * Bomber = 2) and uses Factory Pattern to set up the starting stats of that type of monkey.
+     */
+    public MonkeyModel(int myType){
+        this.type = myType;
+        this.x = 0;
+        this.y = 0;
+        this.angle = 0;
+        this.shotClock = 0;
+        this.animationClock = 0;
+        this.shooting = false;
+        this.piercing = false;
+        this.boom = 0;
+        this.upgradeStatus = new boolean[NUM_UPGRADES];
+        this.rangeIntervals = new double[0];
+        this.closestPoints = new double[0];
+        this.priority = FIRST_PRIORITY;
+
+        switch (this.type){
+            case DART_MONKEY_TYPE:
+                this.setStats(DART_MONKEY_RANGE, DM_START_SPEED, DM_SHARPNESS, NORMAL_DART, false);
+                break;
+            case NINJA_MONKEY_TYPE:
+                this.setStats(NINJA_MONKEY_RANGE, NM_START_SPEED, NM_SHARPNESS_START, NORMAL_DART, true);
+                break;
+            case BOMB_SHOOTER_TYPE:
+                this.setStats(BOMB_SHOOTER_RANGE, START_BOMB_SPEED, 1, CANNONBALL, false);
+                this.boom = START_EXPLOSION_RADIUS;
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * This helper method is called from the Constructor to eliminate repeated code in setting up the
+     * stats of each type of monkey. The darts always travel a little further than the monkey's range.
+     */
+    private void setStats(int myRange, double speed, int mySharpness, int myDartType, boolean canSeeCamo){
+        this.range = myRange;
+        this.dartRange = myRange + DART_RANGE_INCREASE;
+        this.shotSpeed = speed;
+        this.sharpness = mySharpness;
+        this.dartType = myDartType;
+        this.camo = canSeeCamo;
+    }
+
+    /**
+     * This method is called once the monkey has been placed down, and it sets the monkey's position and
+     * works out which stretches of the track are within its range.
+     */
+    public void place(double myX, double myY){
+        this.x = myX;
+        this.y = myY;
+        this.updateRange();
+    }
+
+    /**
+     * This helper method is called whenever the monkey is placed or its range is upgraded. The track
+     * never changes, so the stretches of it that lie within the monkey's range circle are found once
+     * here (as distances along the track) rather than measuring the distance to every Bloon when aiming,
+     * along with the point of each straight piece of them that is closest to the monkey.
+     */
+    private void updateRange(){
+        this.rangeIntervals = TRACK.rangeIntervals(this.x, this.y, this.range);
+        this.closestPoints = TRACK.closestPoints(this.x, this.y, this.range);
+    }
+
+    /**
+     * This method aims the monkey at the Bloon within its range that best fits its targeting priority,
+     * which is chosen using Factory Pattern, and returns the slot of the Bloon that it aims at, so that
+     * the shoot method knows when to shoot. Camo Bloons are passed over if the monkey can't see them.
+     */
+    public int aim(TargetIndex targets){
+        this.shotClock += SHOT_TIMER_INCREMENT;
+
+        // When the shot clock reaches the shotSpeed value...
+        if (this.shotClock >= this.shotSpeed){
+            int slot;
+            switch (this.priority){
+                case LAST_PRIORITY:
+                    slot = targets.last(this.camo, this.rangeIntervals);
+                    break;
+                case STRONG_PRIORITY:
+                    slot = targets.strong(this.camo, this.rangeIntervals);
+                    break;
+                case CLOSE_PRIORITY:
+                    slot = targets.close(this.camo, this.closestPoints, this.x, this.y);
+                    break;
+                default:
+                    slot = targets.first(this.camo, this.rangeIntervals);
+                    break;
+            }
+
+            // If there is a Bloon to target, then aim at it.
+            if (slot >= 0){
+                this.angle = targets.getBloons().angleFrom(slot, this.x, this.y) - QUART_CIRCLE;
+                this.shotClock = 0;
+            }
+
+            // Return the targeted Bloon's slot if there is one, otherwise return -1...
+            return slot;
+        }
+        return -1;
+    }
+
+    /**
+     * This method is called on every tick of the Simulation. The BombShooter shoots as soon as it aims at a
+     * Bloon, while the Dart and Ninja monkeys start their throwing animation and let go of the dart on the
+     * next tick, and can't aim again until their arm has gone back into their body.
+     */
+    public void shoot(TargetIndex targets, DartOrganizer dartOrg){
+        if (this.type == BOMB_SHOOTER_TYPE){
+            if (this.aim(targets) >= 0){
+                dartOrg.newDart(this.x, this.y, this.angle, this.dartRange, CANNONBALL,
+                        false, 1, false, this.boom);
+            }
+            return;
+        }
+
+        // If the monkey is not in the act of shooting, check for a new target...
+        if (!this.shooting){
+            if (this.aim(targets) >= 0){
+                this.shooting = true;
+            }
+        }
+        // Otherwise, if the monkey is shooting, keep aiming and increment the animation timer.
+        else {
+            this.aim(targets);
+            this.animationClock += ARM_ANIMATION_INCREMENT;
+        }
+
+        // When the animation begins, create a dart at the monkey's position and continue the animation.
+        if (this.animationClock > 0 && this.animationClock < ANIMATION_START){
+            dartOrg.newDart(this.x, this.y, this.angle, this.dartRange, this.dartType,
+                    this.piercing, this.sharpness, this.camo, 0);
+            this.animationClock = ANIMATION_START;
+        }
+        // When the animation ends, reset the clock so the monkey can aim again.
+        else if (this.animationClock > ANIMATION_END){
+            this.animationClock = 0;
+            this.shooting = false;
+        }
+    }
+
+    /**
+     * This method is called from the Simulation before it skips over quiet ticks. It returns how many of
+     * the upcoming ticks (up to 'limit') the monkey is sure to spend without shooting: either its shot
+     * clock hasn't reached its shotSpeed yet, or none of the Bloons that it can see could have reached
+     * the stretches of track in its range. A monkey in the middle of throwing is never quiet.
+     */
+    public long quietTicks(BloonStore bloons, long limit){
+        if (this.shooting){
+            return 0;
+        }
+        long ready = 0;
+        for (double clock = this.shotClock + SHOT_TIMER_INCREMENT; clock < this.shotSpeed && ready < limit;
+             clock += SHOT_TIMER_INCREMENT){
+            ready++;
+        }
+
+        // The Close priority looks through the pieces of track in range, and the others through the intervals.
+        double[] spans = (this.priority == CLOSE_PRIORITY) ? this.closestPoints : this.rangeIntervals;
+        int stride = (this.priority == CLOSE_PRIORITY) ? 3 : 2;
+        long reach = limit;
+        for (int slot = 0; slot < bloons.getSize() && reach > ready; slot++){
+            if (!bloons.isAlive(slot) || (bloons.getCamo(slot) && !this.camo)){
+                continue;
+            }
+            for (int i = 0; i < spans.length; i += stride){
+                if (bloons.getDistance(slot) <= spans[i + 1]){
+                    reach = Math.min(reach, bloons.ticksBefore(slot, spans[i]));
+                }
+            }
+        }
+        return Math.max(ready, reach);
+    }
+
+    /**
+     * This method is called from the Simulation when it skips over quiet ticks, and it runs the shot
+     * clock forward by that many ticks, one tick at a time so that it adds up exactly as aiming would.
+     */
+    public void skip(long ticks){
+        for (long tick = 0; tick < ticks; tick++){
+            this.shotClock += SHOT_TIMER_INCREMENT;
+        }
+    }
+
+    /**
+     * This method is called whenever the user buys an upgrade for the monkey. It returns false if the
+     * upgrade has already been bought, and otherwise uses a switch statement to do whatever is necessary
+     * to implement the upgrade that corresponds with the monkey's type and the 'upgradeNum' passed in.
+     */
+    public boolean upgrade(int upgradeNum){
+        if (this.upgradeStatus[upgradeNum]){
+            return false;
+        }
+        switch (this.type){
+            case DART_MONKEY_TYPE:
+                if (upgradeNum == TOP_UPGRADE){
+                    this.range += RANGE_UPGRADE;
+                    this.updateRange();
+                }
+                else if (upgradeNum == MID_UPGRADE){
+                    this.piercing = true;
+                }
+                else {
+                    this.shotSpeed = DM_NEW_SPEED;
+                }
+                break;
+            case NINJA_MONKEY_TYPE:
+                if (upgradeNum == TOP_UPGRADE){
+                    this.dartType = TARGETING_DART;
+                }
+                else if (upgradeNum == MID_UPGRADE){
+                    this.sharpness = NM_SHARPNESS_NEW;
+                }
+                else {
+                    this.shotSpeed = NM_NEW_SPEED;
+                }
+                break;
+            case BOMB_SHOOTER_TYPE:
+                if (upgradeNum == TOP_UPGRADE){
+                    this.shotSpeed = NEW_BOMB_SPEED;
+                }
+                else if (upgradeNum == MID_UPGRADE){
+                    this.boom = NEW_EXPLOSION_RADIUS;
+                }
+                else {
+                    this.range += RANGE_UPGRADE;
+                    this.updateRange();
+                }
+                break;
+            default:
+                break;
+        }
+        this.upgradeStatus[upgradeNum] = true;
+        return true;
+    }
+
+    /**
+     * This method returns a checksum of the monkey's position, stats, targeting, and clocks.
+     */
+    public int checksum(){
+        int hash = this.type;
+        hash = 31 * hash + Double.hashCode(this.x);
+        hash = 31 * hash + Double.hashCode(this.y);
+        hash = 31 * hash + this.range;
+        hash = 31 * hash + this.priority;
+        hash = 31 * hash + this.sharpness;
+        hash = 31 * hash + this.boom;
+        hash = 31 * hash + Double.hashCode(this.shotSpeed);
+        hash = 31 * hash + Double.hashCode(this.shotClock);
+        hash = 31 * hash + Double.hashCode(this.animationClock);
+        return hash;
+    }
+
+    /**
+     * This method writes the monkey into the buffer passed in for a save file: its type, position, and
+     * upgrades (which decide all of its stats), and then its targeting and clocks.
+     */
+    public void save(ByteBuffer buffer){
+        buffer.put((byte) this.type);
+        buffer.putDouble(this.x);
+        buffer.putDouble(this.y);
+        for (int upgrade = 0; upgrade < NUM_UPGRADES; upgrade++){
+            buffer.put((byte) (this.upgradeStatus[upgrade] ? 1 : 0));
+        }
+        buffer.put((byte) this.priority);
+        buffer.putDouble(this.angle);
+        buffer.putDouble(this.shotClock);
+        buffer.putDouble(this.animationClock);
+        buffer.put((byte) (this.shooting ? 1 : 0));
+    }
+
+    /**
+     * This method reads back a monkey written by the save method. It places a new monkey of the saved
+     * type and buys its upgrades again, which sets up its stats exactly as they were, and then restores
+     * its targeting and clocks.
+     */
+    public static MonkeyModel load(ByteBuffer buffer){
+        MonkeyModel monkey = new MonkeyModel(buffer.get());
+        monkey.place(buffer.getDouble(), buffer.getDouble());
+        for (int upgrade = 0; upgrade < NUM_UPGRADES; upgrade++){
+            if (buffer.get() == 1){
+                monkey.upgrade(upgrade);
+            }
+        }
+        monkey.priority = buffer.get();
+        monkey.angle = buffer.getDouble();
+        monkey.shotClock = buffer.getDouble();
+        monkey.animationClock = buffer.getDouble();
+        monkey.shooting = buffer.get() == 1;
+        return monkey;
+    }
+
+    /**
+     * Mutator method to set the monkey's targeting priority (First, Last, Strong, or Close). It only
+     * changes which question the monkey asks the TargetIndex, so it costs nothing on later ticks.
+     */
+    public void setPriority(int myPriority){
+        this.priority = myPriority;
+    }
+
+    /**
+     * Accessor method to get the monkey's targeting priority.
+     */
+    public int getPriority(){
+        return this.priority;
+    }
+
+    /**
+     * Accessor method to get the monkey's type (Dart = 0, Ninja = 1, Bomber = 2).
+     */
+    public int getType(){
+        return this.type;
+    }
+
+    /**
+     * Accessor method to get the X position of the monkey.
+     */
+    public double getX(){
+        return this.x;
+    }
+
+    /**
+     * Accessor method to get the Y position of the monkey.
+     */
+    public double getY(){
+        return this.y;
+    }
+
+    /**
+     * Accessor method to get the monkey's current range.
+     */
+    public int getRange(){
+        return this.range;
+    }
+
+    /**
+     * Accessor method to get the angle the monkey is currently rotated by.
+     */
+    public double getAngle(){
+        return this.angle;
+    }
+
+    /**
+     * Accessor method to get the throwing animation's clock, which the Monkey uses to move its arm.
+     */
+    public double getAnimationClock(){
+        return this.animationClock;
+    }
+
+    /**
+     * Accessor method to get whether the monkey has its specific upgrades.
+     */
+    public boolean[] getUpgradeStatus(){
+        return this.upgradeStatus;
+    }
+}
\ No newline at end of file
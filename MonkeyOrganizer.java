@@ -10,14 +10,14 @@ import static indy.Constants.*;
 /**
  * This is the MonkeyOrganizer class. It deals with monkey selection, monkey placing, etc. and contains an
  * ArrayList which stores all the monkeys on the screen at any point. It has instance variables to track the
- * darts and bloons, along with the monkey hitBoxes and the MoneyTracker...
+ * Simulation (which each placed monkey's MonkeyModel is added to), along with the monkey hitBoxes and the
+ * MoneyTracker...
  */
 public class MonkeyOrganizer {
 
     private ArrayList<Monkey> myMonkeys;
     private ArrayList<Shape> hitBoxes;
-    private DoublyLinkedList bloonsList;
-    private DartOrganizer dartOrg;
+    private Simulation sim;
     private UpgradePanel upgradePanel;
     private Monkey selectedMonkey;
     private MoneyTracker bank;
@@ -29,17 +29,17 @@ public class MonkeyOrganizer {
     private Pane primary;
 
     /**
-     * This is the MonkeyOrganizer class' Constructor. It is associated with the DoublyLinkedList of bloons,
-     * the root and right side BorderPanes, the MoneyTracker, the DartOrganizer, and a variety of layered Panes.
+     * This is the MonkeyOrganizer class' Constructor. It is associated with the Simulation, the root and
+     * right side BorderPanes, the MoneyTracker, and a variety of layered Panes.
      */
-    public MonkeyOrganizer (DoublyLinkedList bloons, Pane myMonkeyPane, Pane myHitBoxPane,
+    public MonkeyOrganizer (Simulation simulation, Pane myMonkeyPane, Pane myHitBoxPane,
                             Pane myPrimaryPane, Pane myRangePane, BorderPane myRoot, BorderPane myRightPane,
-                            MoneyTracker myBank, DartOrganizer myDartOrg){
+                            MoneyTracker myBank){
         this.myMonkeys = new ArrayList<>();
         this.hitBoxes = new ArrayList<>();
         this.selectedMonkey = null;
         this.bank = myBank;
-        this.bloonsList = bloons;
+        this.sim = simulation;
         this.gameRoot = myRoot;
         this.rightPane = myRightPane;
 
@@ -47,9 +47,7 @@ public class MonkeyOrganizer {
         this.hitBoxPane = myHitBoxPane;
         this.rangePane = myRangePane;
         this.primary = myPrimaryPane;
-
-        this.dartOrg = myDartOrg;
-        this.upgradePanel = new UpgradePanel(this.gameRoot, this.rightPane, this.bank);
+        this.upgradePanel = new UpgradePanel(this.gameRoot, this.rightPane, this.sim);
     }
 
     /**
@@ -61,7 +59,6 @@ public class MonkeyOrganizer {
         this.primary.setOnMouseMoved(null);
         this.primary.setOnMouseClicked(null);
         this.selectedMonkey = null;
-        this.bloonsList.clear();
         this.hitBoxes.clear();
         this.myMonkeys.clear();
         this.hitBoxPane.getChildren().clear();
@@ -99,12 +96,12 @@ public class MonkeyOrganizer {
     }
 
     /**
-     * This method is called from the Timeline in the BloonsGame class, and it calls the shoot
-     * method for each Monkey in the myMonkeys ArrayList.
+     * This method is called from the BloonsGame once per display frame, and it calls the
+     * render method for each Monkey in the myMonkeys ArrayList so that they face their targets.
      */
-    public void aimAndShoot(){
+    public void render(){
         for (Monkey monkey : this.myMonkeys){
-            monkey.shoot();
+            monkey.render();
         }
     }
 
@@ -127,16 +124,16 @@ public class MonkeyOrganizer {
             // Use factory pattern with the 'cost' passed in to determine which monkey to create.
             switch (cost){
                 case DART_MONKEY_COST:
-                    this.selectedMonkey = new DartMonkey(this.monkeyPane, this.bloonsList, this.dartOrg,
-                            this.hitBoxPane, this.rangePane, this.hitBoxes, this.myMonkeys);
+                    this.selectedMonkey = new DartMonkey(this.monkeyPane, this.hitBoxPane,
+                            this.rangePane, this.hitBoxes, this.myMonkeys);
                     break;
                 case NINJA_MONKEY_COST:
-                    this.selectedMonkey = new NinjaMonkey(this.monkeyPane, this.bloonsList, this.dartOrg,
-                            this.hitBoxPane, this.rangePane, this.hitBoxes, this.myMonkeys);
+                    this.selectedMonkey = new NinjaMonkey(this.monkeyPane, this.hitBoxPane,
+                            this.rangePane, this.hitBoxes, this.myMonkeys);
                     break;
                 case BOMB_SHOOTER_COST:
-                    this.selectedMonkey = new BombShooter(this.monkeyPane, this.bloonsList, this.dartOrg,
-                            this.hitBoxPane, this.rangePane, this.hitBoxes, this.myMonkeys);
+                    this.selectedMonkey = new BombShooter(this.monkeyPane, this.hitBoxPane,
+                            this.rangePane, this.hitBoxes, this.myMonkeys);
                     break;
                 default:
                     break;
@@ -162,6 +159,41 @@ public class MonkeyOrganizer {
         }
     }
 
+    /**
+     * This method is called from the BloonsGame when a saved game is loaded, after the clear method above.
+     * It uses Factory Pattern to create a monkey for each of the Simulation's MonkeyModels by its type,
+     * and places it where the model is. The hit-boxes are only shared once every monkey is down, since the
+     * monkeys were placed where they are with each other's smaller hit-boxes.
+     */
+    public void restore(){
+        this.primary.setOnMouseClicked((MouseEvent a) -> this.removeSelection(a));
+        this.gameRoot.setRight(null);
+        this.gameRoot.setRight(this.rightPane);
+        for (int i = 0; i < this.sim.getMonkeyCount(); i++){
+            MonkeyModel model = this.sim.getMonkey(i);
+            Monkey monkey;
+            switch (model.getType()){
+                case DART_MONKEY_TYPE:
+                    monkey = new DartMonkey(this.monkeyPane, this.hitBoxPane,
+                            this.rangePane, this.hitBoxes, this.myMonkeys);
+                    break;
+                case NINJA_MONKEY_TYPE:
+                    monkey = new NinjaMonkey(this.monkeyPane, this.hitBoxPane,
+                            this.rangePane, this.hitBoxes, this.myMonkeys);
+                    break;
+                default:
+                    monkey = new BombShooter(this.monkeyPane, this.hitBoxPane,
+                            this.rangePane, this.hitBoxes, this.myMonkeys);
+                    break;
+            }
+            monkey.restore(model);
+            this.myMonkeys.add(monkey);
+        }
+        for (Monkey monkey : this.myMonkeys){
+            this.hitBoxes.add(monkey.getHitBox());
+        }
+    }
+
     /**
      * This method is called whenever a monkey's hitBox is clicked, and it sets the UpgradePanel to that
      * monkey and shows the UpgradePanel in place of the monkey shop on the right side of the screen.
@@ -189,8 +221,8 @@ public class MonkeyOrganizer {
     private void placeMonkey(int cost){
         if (this.selectedMonkey.placeDown()){
             this.myMonkeys.add(this.selectedMonkey);
+            this.sim.placeMonkey(this.selectedMonkey.getModel(), cost);
             this.hitBoxes.add(this.selectedMonkey.getHitBox());
-            this.bank.modifyCash(-cost);
             this.removePlacingMonkey();
             this.showUpgrade();
         }
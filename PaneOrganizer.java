@@ -4,6 +4,7 @@ import javafx.geometry.Pos;
 import javafx.scene.control.Label;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
@@ -33,6 +34,7 @@ public class PaneOrganizer {
     private Label lives;
     private Label cash;
     private Label level;
+    private Label message;
     private Text startText;
     private Text playPause;
     private BloonsGame game;
@@ -55,6 +57,7 @@ public class PaneOrganizer {
         this.lives = new Label();
         this.cash = new Label();
         this.level = new Label();
+        this.message = new Label();
         this.gameRight = new BorderPane();
         this.cashLives = new VBox();
         this.primary = new Pane();
@@ -65,10 +68,10 @@ public class PaneOrganizer {
         this.makeImages();
         this.setUpStartScreen();
         this.setUpStartButton();
-        this.setUpEndScreen(win, "Victory!", VICTORY);
-        this.setUpEndScreen(loss, "Game Over", LOSS);
+        this.setUpEndScreen(win, "Victory!", VICTORY, false);
+        this.setUpEndScreen(loss, "Game Over", LOSS, true);
 
-        this.game = new BloonsGame(this.primary, this.lives, this.cash, this.level,
+        this.game = new BloonsGame(this.primary, this.lives, this.cash, this.level, this.message,
                 this.root, loss, win, this.playPause, this.gameRight);
 
         this.setUpGameRight();
@@ -166,7 +169,7 @@ public class PaneOrganizer {
         this.setUpButton(this.playPause, PLAY_BUTTON_OFFSET, MENU_BUTTON_BORDER);
 
         home.setOnMouseClicked((MouseEvent a) -> this.reset());
-        quit.setOnMouseClicked((MouseEvent a) -> System.exit(0));
+        quit.setOnMouseClicked((MouseEvent a) -> this.quit());
         this.playPause.setOnMouseClicked((MouseEvent a) -> this.game.play());
 
         VBox rightButtons = new VBox();
@@ -284,13 +287,19 @@ public class PaneOrganizer {
 
     /**
      * Sets up the three Cash, Lives, and Level labels in the upper-left corner
-     * of the game screen and adds them to a VBox...
+     * of the game screen, and the smaller message label below them, and adds them to a VBox...
+     * The level label is filled in by the Hud, which knows how many levels there are.
      */
     private void setUpGameLeft(){
         this.setUpLabel(this.lives, "Lives  100");
         this.setUpLabel(this.cash, "Cash  $500");
-        this.setUpLabel(this.level, "Level  1/30");
-        this.cashLives.getChildren().addAll(this.cash, this.lives, this.level);
+        this.setUpLabel(this.level, "Level  1");
+        this.setUpLabel(this.message, "");
+        this.message.setFont(LIL_GAME);
+        this.message.setWrapText(true);
+        this.message.setMinWidth(0);
+        this.message.setMaxWidth(MESSAGE_WIDTH);
+        this.cashLives.getChildren().addAll(this.cash, this.lives, this.level, this.message);
     }
 
     /**
@@ -319,6 +328,21 @@ public class PaneOrganizer {
         this.root.setRight(this.gameRight);
     }
 
+    /**
+     * This method is called when the window is closed, and it lets the BloonsGame finish its recording.
+     */
+    public void close(){
+        this.game.close();
+    }
+
+    /**
+     * This method is called when either quit button is clicked, and it closes the game and exits.
+     */
+    private void quit(){
+        this.close();
+        System.exit(0);
+    }
+
     /**
      * This method is called whenever the game is first started and when it is restarted, and it
      * replaces the game screen with the start screen and calls the BloonsGame's restart method.
@@ -337,9 +361,10 @@ public class PaneOrganizer {
     /**
      * This method is called from the Constructor to set up both the win and loss panes, which displays
      * a win/loss message and  the home and quit buttons that were previously in the menu on the
-     * right side. The loss and win panes are then displayed from within the BloonsGame when needed.
+     * right side. The loss pane also has a retry button to play the level that was lost again. The loss
+     * and win panes are then displayed from within the BloonsGame when needed.
      */
-    private void setUpEndScreen(BorderPane pane,  String text, Color color){
+    private void setUpEndScreen(BorderPane pane,  String text, Color color, boolean canRetry){
         Rectangle colorScreen = new Rectangle(0, 0, SCENE_WIDTH, SCENE_HEIGHT);
         colorScreen.setFill(color);
 
@@ -351,7 +376,7 @@ public class PaneOrganizer {
         // Same style buttons as in the menu, but centered...
         Text quit = new Text("Quit");
         this.setUpButton(quit, QUIT_OFFSET, 0);
-        quit.setOnMouseClicked((MouseEvent a) -> System.exit(0));
+        quit.setOnMouseClicked((MouseEvent a) -> this.quit());
 
         Text home = new Text("Home");
         this.setUpButton(home, HOME_OFFSET, 0);
@@ -359,7 +384,14 @@ public class PaneOrganizer {
 
         VBox vBox = new VBox();
         vBox.setAlignment(Pos.CENTER);
-        vBox.getChildren().addAll(gameOverText, home, quit);
+        vBox.getChildren().add(gameOverText);
+        if (canRetry){
+            Text retry = new Text("Retry");
+            this.setUpButton(retry, RETRY_OFFSET, 0);
+            retry.setOnMouseClicked((MouseEvent a) -> this.game.retryLevel());
+            vBox.getChildren().add(retry);
+        }
+        vBox.getChildren().addAll(home, quit);
 
         pane.setMinWidth(SCENE_WIDTH);
         pane.setMinHeight(SCENE_HEIGHT);
@@ -367,6 +399,46 @@ public class PaneOrganizer {
         pane.setCenter(vBox);
     }
 
+    /**
+     * This method is called from the Scene (set up in the App class) whenever a key is pressed. The number
+     * keys change the game speed: 1 is normal, 2 is fast, 3, 4, and 5 are the turbo speeds, and 0 runs the
+     * game as fast as the computer can. R reloads the levels from their file between levels, S saves the
+     * game, and L loads the last save.
+     */
+    public void handleKeyPress(KeyEvent e){
+        switch (e.getCode()){
+            case DIGIT1:
+                this.game.setSpeed(SPEED_SLOW);
+                break;
+            case DIGIT2:
+                this.game.setSpeed(SPEED_FAST);
+                break;
+            case DIGIT3:
+                this.game.setSpeed(TURBO_SPEEDS[0]);
+                break;
+            case DIGIT4:
+                this.game.setSpeed(TURBO_SPEEDS[1]);
+                break;
+            case DIGIT5:
+                this.game.setSpeed(TURBO_SPEEDS[2]);
+                break;
+            case DIGIT0:
+                this.game.setSpeed(SPEED_MAX);
+                break;
+            case R:
+                this.game.reloadLevels();
+                break;
+            case S:
+                this.game.save();
+                break;
+            case L:
+                this.game.load();
+                break;
+            default:
+                break;
+        }
+    }
+
     /**
      * This accessor method returns the root pane used to set up the Scene in the App class.
      */
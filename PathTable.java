@@ -0,0 +1,185 @@
+package indy;
+
+import java.util.Arrays;
+
+/**
+ * This is the PathTable class. It is built once from the track's checkpoints, and it stores, for every
+ * straight segment of the track, where the segment starts, which direction it points in, and how far
+ * along the track it begins (its cumulative arc length). With this table, a Bloon only needs to know how
+ * far it has traveled: its x and y position are found by looking up the segment it is on and stepping
+ * that far along the segment's direction, without any trigonometry while the game is running.
+ */
+public class PathTable {
+
+    private double[] startX;
+    private double[] startY;
+    private double[] dirX;
+    private double[] dirY;
+    private double[] startDistance;
+    private double length;
+
+    /**
+     * This is the PathTable class' Constructor. It takes in the point where Bloons are spawned and the
+     * track's checkpoints, and measures each segment between them (the first segment runs from the
+     * spawn point to the first checkpoint).
+     */
+    public PathTable(double spawnX, double spawnY, int[][] checkpoints){
+        int segments = checkpoints.length;
+        this.startX = new double[segments];
+        this.startY = new double[segments];
+        this.dirX = new double[segments];
+        this.dirY = new double[segments];
+        this.startDistance = new double[segments];
+
+        double x = spawnX;
+        double y = spawnY;
+        double traveled = 0;
+        for (int i = 0; i < segments; i++){
+            double xDiff = checkpoints[i][0] - x;
+            double yDiff = checkpoints[i][1] - y;
+            double segmentLength = Math.sqrt(xDiff*xDiff + yDiff*yDiff);
+
+            this.startX[i] = x;
+            this.startY[i] = y;
+            this.startDistance[i] = traveled;
+            if (segmentLength > 0){
+                this.dirX[i] = xDiff / segmentLength;
+                this.dirY[i] = yDiff / segmentLength;
+            }
+            traveled += segmentLength;
+            x = checkpoints[i][0];
+            y = checkpoints[i][1];
+        }
+        this.length = traveled;
+    }
+
+    /**
+     * This method returns the segment of the track that the distance passed in falls on. Bloons only
+     * ever move forward, so it starts from the segment the Bloon was last on (the 'hint') and moves up
+     * one segment at a time, which is almost always no steps at all.
+     */
+    public int segmentAt(double distance, int hint){
+        int segment = hint;
+        while (segment < this.startDistance.length - 1 && distance >= this.startDistance[segment + 1]){
+            segment++;
+        }
+        return segment;
+    }
+
+    /**
+     * Accessor method to get the x position at the distance passed in, which must lie on the segment
+     * passed in. A distance before the start of the track is placed behind the spawn point.
+     */
+    public double getX(int segment, double distance){
+        return this.startX[segment] + this.dirX[segment] * (distance - this.startDistance[segment]);
+    }
+
+    /**
+     * Accessor method to get the y position at the distance passed in, which must lie on the segment
+     * passed in.
+     */
+    public double getY(int segment, double distance){
+        return this.startY[segment] + this.dirY[segment] * (distance - this.startDistance[segment]);
+    }
+
+    /**
+     * This method finds every stretch of the track whose points lie inside the circle passed in (a
+     * monkey's range), and returns them as pairs of distances along the track ({start, end, start,
+     * end...}) from the start of the track onwards. For each segment, it solves where the segment's line
+     * crosses the circle, and stretches that run into one another across a checkpoint are joined. The
+     * first segment is also allowed to extend backwards, since an AndyBloon starts behind the spawn point.
+     */
+    public double[] rangeIntervals(double centerX, double centerY, double radius){
+        double[] intervals = new double[this.startDistance.length * 2];
+        int count = 0;
+        for (int i = 0; i < this.startDistance.length; i++){
+            double segmentEnd = (i < this.startDistance.length - 1) ? this.startDistance[i + 1] : this.length;
+            double segmentLength = segmentEnd - this.startDistance[i];
+            if (segmentLength <= 0){
+                continue;
+            }
+
+            // Solve |start + t * dir - center| = radius for the distance t along the segment.
+            double fromX = this.startX[i] - centerX;
+            double fromY = this.startY[i] - centerY;
+            double half = fromX * this.dirX[i] + fromY * this.dirY[i];
+            double discriminant = half * half - (fromX * fromX + fromY * fromY - radius * radius);
+            if (discriminant < 0){
+                continue;
+            }
+            double root = Math.sqrt(discriminant);
+            double enter = -half - root;
+            double exit = Math.min(-half + root, segmentLength);
+            if (i > 0){
+                enter = Math.max(enter, 0);
+            }
+            if (enter > exit){
+                continue;
+            }
+
+            // Join this stretch onto the last one if they meet at the checkpoint.
+            double start = this.startDistance[i] + enter;
+            double end = this.startDistance[i] + exit;
+            if (count > 0 && intervals[count - 1] >= start){
+                intervals[count - 1] = Math.max(intervals[count - 1], end);
+            }
+            else {
+                intervals[count] = start;
+                intervals[count + 1] = end;
+                count += 2;
+            }
+        }
+        return Arrays.copyOf(intervals, count);
+    }
+
+    /**
+     * This method finds the same stretches of track as the rangeIntervals method, but without joining
+     * them across checkpoints, so that each piece lies on one straight segment. It returns them as
+     * {start, end, closest...}, where 'closest' is the distance along the track of the piece's point
+     * nearest the center of the circle. Along a straight segment, the distance to the center shrinks until
+     * that point and then grows, which is what lets the TargetIndex find the closest Bloon so quickly.
+     */
+    public double[] closestPoints(double centerX, double centerY, double radius){
+        double[] pieces = new double[this.startDistance.length * 3];
+        int count = 0;
+        for (int i = 0; i < this.startDistance.length; i++){
+            double segmentEnd = (i < this.startDistance.length - 1) ? this.startDistance[i + 1] : this.length;
+            double segmentLength = segmentEnd - this.startDistance[i];
+            if (segmentLength <= 0){
+                continue;
+            }
+
+            // Solve for where the segment crosses the circle, as in the rangeIntervals method.
+            double fromX = this.startX[i] - centerX;
+            double fromY = this.startY[i] - centerY;
+            double half = fromX * this.dirX[i] + fromY * this.dirY[i];
+            double discriminant = half * half - (fromX * fromX + fromY * fromY - radius * radius);
+            if (discriminant < 0){
+                continue;
+            }
+            double root = Math.sqrt(discriminant);
+            double enter = -half - root;
+            double exit = Math.min(-half + root, segmentLength);
+            if (i > 0){
+                enter = Math.max(enter, 0);
+            }
+            if (enter > exit){
+                continue;
+            }
+
+            // The closest point is where the line passes nearest the center, kept within the piece.
+            pieces[count] = this.startDistance[i] + enter;
+            pieces[count + 1] = this.startDistance[i] + exit;
+            pieces[count + 2] = this.startDistance[i] + Math.max(enter, Math.min(-half, exit));
+            count += 3;
+        }
+        return Arrays.copyOf(pieces, count);
+    }
+
+    /**
+     * Accessor method to get the total length of the track, at which point a Bloon has leaked.
+     */
+    public double getLength(){
+        return this.length;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,370 @@
+package indy;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.util.Callback;
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import static indy.Constants.*;
+
+/**
+ * This is the PixelRenderer class. It is the GameRenderer used when the game is started with
+ * -Dindy.renderer=pixels, for when there are so many Bloons that even drawing them onto a Canvas is too
+ * slow. The darts, explosions, bloons, and pops are drawn by a Raster straight into one array of pixels,
+ * which JavaFX shows through a PixelBuffer in the bloon pane without copying it. Andy and his health bar
+ * are drawn into a second Raster that is shown in the andy pane, so that (just as with the other
+ * renderers) he is drawn above the monkeys. The map underneath is still the usual picture, since the
+ * Rasters' empty pixels are see-through.
+ *
+ * Every Bloon style (the colours and radii that BloonStore.setUpBloon and BloonView.setUpBloon pick for
+ * each strength, with and without camo), every pop size, a cannonball, and darts pointing in
+ * DART_ANGLE_STAMPS directions are painted once into Sprites when the renderer is made, so drawing a
+ * Bloon is just a matter of stamping it. Only the tiles of the Raster that changed are wiped and sent on.
+ */
+public class PixelRenderer implements GameRenderer {
+
+    // The bloon styles, indexed by strength (every strength from ANDY_POP up is drawn as Andy's body).
+    private static final double[] X_RADII = {0, RED_XRAD, BLUE_XRAD, GREEN_XRAD, YELLOW_XRAD, PINK_XRAD,
+            BLACK_XRAD, BLUE_XRAD, ANDY_XRAD};
+    private static final double[] Y_RADII = {0, RED_YRAD, BLUE_YRAD, GREEN_YRAD, YELLOW_YRAD, PINK_YRAD,
+            BLACK_YRAD, BLUE_YRAD, ANDY_YRAD};
+    private static final Color[] FILLS = {null, RED_COLOR, BLUE_COLOR, GREEN_COLOR, YELLOW_COLOR,
+            PINK_COLOR, BLACK_COLOR, Color.DARKGRAY, Color.BLACK};
+    private static final Color[] BORDERS = {null, Color.MAROON, Color.BLUE, Color.GREEN, YELLOW_BORDER,
+            PINK_BORDER, Color.BLACK, BLACK_COLOR, Color.BLACK};
+    private static final double[] TAIL_Y1 = {0, RED_Y1, BLUE_Y1, GREEN_Y1, YELLOW_Y1, PINK_Y1, BLACK_Y1,
+            BLUE_Y1, 0};
+    private static final double[] TAIL_Y2 = {0, RED_Y2, BLUE_Y2, GREEN_Y2, YELLOW_Y2, PINK_Y2, BLACK_Y2,
+            BLUE_Y2, 0};
+    private static final double POP_CENTER_X = SpritePainter.popCenter(0);
+    private static final double POP_CENTER_Y = SpritePainter.popCenter(1);
+
+    private Raster raster;
+    private PixelBuffer<IntBuffer> buffer;
+    private Callback<PixelBuffer<IntBuffer>, Rectangle2D> dirtyRegion;
+    private Raster andyRaster;
+    private PixelBuffer<IntBuffer> andyBuffer;
+    private Callback<PixelBuffer<IntBuffer>, Rectangle2D> andyDirtyRegion;
+    private ArrayList<Dart> darts;
+    private EffectScheduler effects;
+    private Sprite[] bloonSprites;
+    private Sprite[] dartSprites;
+    private Sprite[] popSprites;
+    private Sprite ballSprite;
+    private Sprite andySprite;
+    private int[] yellowFades;
+    private int[] orangeFades;
+    private int[] redFades;
+    private int health;
+    private int healthBack;
+    private int healthBorder;
+    private double[] xs;
+    private double[] ys;
+    private BloonStore lastBloons;
+    private boolean renderedSinceAnimate;
+    private boolean effectsShown;
+
+    /**
+     * This is the PixelRenderer class' Constructor. It is associated with the bloon and andy panes, where
+     * it adds the ImageViews that show the two Rasters, and it paints every Sprite and fading colour that
+     * it needs.
+     */
+    public PixelRenderer(Pane bloonPane, Pane andyPane){
+        this.raster = new Raster(SCENE_WIDTH, SCENE_HEIGHT);
+        this.buffer = this.show(this.raster, bloonPane);
+        this.dirtyRegion = dirtyRegionOf(this.raster);
+        this.andyRaster = new Raster(SCENE_WIDTH, SCENE_HEIGHT);
+        this.andyBuffer = this.show(this.andyRaster, andyPane);
+        this.andyDirtyRegion = dirtyRegionOf(this.andyRaster);
+
+        this.darts = new ArrayList<>();
+        this.effects = new EffectScheduler(null, null);
+        this.xs = new double[POP_SHAPES.length / 2];
+        this.ys = new double[POP_SHAPES.length / 2];
+        this.setUpSprites();
+    }
+
+    /**
+     * This helper method wraps the pixels of the Raster passed in in a PixelBuffer, and adds an ImageView
+     * that shows it to the pane passed in.
+     */
+    private PixelBuffer<IntBuffer> show(Raster surface, Pane pane){
+        PixelBuffer<IntBuffer> pixels = new PixelBuffer<>(SCENE_WIDTH, SCENE_HEIGHT,
+                IntBuffer.wrap(surface.getPixels()), PixelFormat.getIntArgbPreInstance());
+        ImageView view = new ImageView(new WritableImage(pixels));
+        view.setMouseTransparent(true);
+        pane.getChildren().add(view);
+        return pixels;
+    }
+
+    /**
+     * This helper method returns the callback that tells a PixelBuffer which part of the Raster passed in
+     * changed during the last frame.
+     */
+    private static Callback<PixelBuffer<IntBuffer>, Rectangle2D> dirtyRegionOf(Raster surface){
+        return (PixelBuffer<IntBuffer> changed) -> {
+            int[] dirty = surface.getDirty();
+            return new Rectangle2D(dirty[0], dirty[1], dirty[2] - dirty[0], dirty[3] - dirty[1]);
+        };
+    }
+
+    /**
+     * This method is called from the Constructor, and it paints the Sprites for every bloon style (camo
+     * ones at odd indexes), every dart direction, every pop size, the cannonball, and Andy's picture, along
+     * with the fading colours of the explosions.
+     */
+    private void setUpSprites(){
+        this.bloonSprites = new Sprite[(ANDY_POP + 1) * 2];
+        for (int style = 1; style <= ANDY_POP; style++){
+            int fill = pixel(FILLS[style]);
+            int border = pixel(BORDERS[style]);
+            this.bloonSprites[style * 2] = SpritePainter.bloon(X_RADII[style], Y_RADII[style], TAIL_Y1[style],
+                    TAIL_Y2[style], fill, border, fill, border, 0, 0);
+            this.bloonSprites[style * 2 + 1] = SpritePainter.bloon(X_RADII[style], Y_RADII[style],
+                    TAIL_Y1[style], TAIL_Y2[style], pixel(CAMO_LIGHT), pixel(CAMO_LIGHT), pixel(CAMO_LIGHT),
+                    pixel(CAMO_DARK), fill, border);
+        }
+
+        this.dartSprites = new Sprite[DART_ANGLE_STAMPS];
+        for (int i = 0; i < DART_ANGLE_STAMPS; i++){
+            double angle = Math.toRadians(i * CIRCLE / DART_ANGLE_STAMPS);
+            this.dartSprites[i] = SpritePainter.dart(Math.sin(angle), -Math.cos(angle), pixel(Color.BLACK));
+        }
+        this.ballSprite = SpritePainter.circle(CANNONBALL_RADIUS, pixel(Color.BLACK));
+
+        this.popSprites = new Sprite[NUM_GROWTHS];
+        for (int growths = 0; growths < NUM_GROWTHS; growths++){
+            this.popSprites[growths] = SpritePainter.pop(1 + growths * POP_X_SCALE, 1 + growths * POP_Y_SCALE,
+                    Raster.argb(1, 1, 1, 1 - ((double) growths)/NUM_GROWTHS));
+        }
+
+        this.yellowFades = fades(YELLOW_COLOR_VALUES);
+        this.orangeFades = fades(ORANGE_COLOR_VALUES);
+        this.redFades = fades(RED_COLOR_VALUES);
+        this.health = pixel(HEALTH_COLOR);
+        this.healthBack = pixel(Color.LIGHTGRAY);
+        this.healthBorder = pixel(Color.BLACK);
+
+        Image andy = new Image("indy/A.N.D.Y.png", ANDY_DIMENSIONS, ANDY_DIMENSIONS, false, true);
+        int[] andyPixels = new int[ANDY_DIMENSIONS * ANDY_DIMENSIONS];
+        andy.getPixelReader().getPixels(0, 0, ANDY_DIMENSIONS, ANDY_DIMENSIONS, PixelFormat.getIntArgbPreInstance(),
+                andyPixels, 0, ANDY_DIMENSIONS);
+        this.andySprite = new Sprite(andyPixels, ANDY_DIMENSIONS, ANDY_DIMENSIONS, ANDY_DIMENSIONS/2,
+                ANDY_DIMENSIONS/2);
+    }
+
+    /**
+     * This helper method turns a Color into a premultiplied pixel.
+     */
+    private static int pixel(Color color){
+        return Raster.argb(color.getRed(), color.getGreen(), color.getBlue(), color.getOpacity());
+    }
+
+    /**
+     * This helper method makes the fading pixels of one explosion colour, passed in as its red, green, and
+     * blue parts (entry i is the colour i/EXPLOSION_FADE_LEVELS of the way through the explosion).
+     */
+    private static int[] fades(double[] rgb){
+        int[] pixels = new int[EXPLOSION_FADE_LEVELS + 1];
+        for (int i = 0; i <= EXPLOSION_FADE_LEVELS; i++){
+            pixels[i] = Raster.argb(rgb[0], rgb[1], rgb[2], 1 - EXPLODE_SCALAR * i / EXPLOSION_FADE_LEVELS);
+        }
+        return pixels;
+    }
+
+    /**
+     * This method is called from the BloonsGame once per display frame with the Simulation's BloonStore,
+     * and it redraws the frame with everything 'alpha' of the way through the current tick.
+     */
+    @Override
+    public void render(BloonStore bloons, double alpha){
+        this.lastBloons = bloons;
+        this.draw(bloons, alpha);
+        this.renderedSinceAnimate = true;
+    }
+
+    /**
+     * This method is called from the BloonsGame on every display frame, and it steps the effects. If the
+     * game isn't running (so render won't be called), it redraws the frame itself while any effects are
+     * still playing.
+     */
+    @Override
+    public void animate(long now){
+        this.effects.step(now);
+        if (!this.renderedSinceAnimate && (this.effects.getCount() > 0 || this.effectsShown)){
+            this.draw(this.lastBloons, 1);
+        }
+        this.renderedSinceAnimate = false;
+        this.effectsShown = this.effects.getCount() > 0;
+    }
+
+    /**
+     * This helper method draws a whole frame into the Rasters, from the bottom layer up (darts, explosions,
+     * bloons, and pops, and then Andy into his own Raster), and tells each PixelBuffer which part of it
+     * changed.
+     */
+    private void draw(BloonStore bloons, double alpha){
+        this.raster.beginFrame();
+        this.andyRaster.beginFrame();
+        this.drawDarts(alpha);
+        this.drawExplosions();
+
+        int andy = -1;
+        if (bloons != null){
+            // Draw the Bloons furthest back first, so that the ones in the lead are on top.
+            for (int slot = bloons.getSize() - 1; slot >= 0; slot--){
+                if (bloons.isAlive(slot)){
+                    int style = Math.min(bloons.getStrength(slot), ANDY_POP);
+                    if (style == ANDY_POP){
+                        andy = slot;
+                    }
+                    this.raster.stamp(this.bloonSprites[style * 2 + (bloons.getCamo(slot) ? 1 : 0)],
+                            this.lerp(bloons.getPrevX(slot), bloons.getX(slot), alpha),
+                            this.lerp(bloons.getPrevY(slot), bloons.getY(slot), alpha));
+                }
+            }
+        }
+
+        for (int effect = 0; effect < this.effects.getCount(); effect++){
+            if (!this.effects.isExplosion(effect)){
+                this.raster.stamp(this.popSprites[(int) this.effects.getProgress(effect)],
+                        this.effects.getX(effect), this.effects.getY(effect));
+            }
+        }
+        if (andy >= 0){
+            this.drawAndy(bloons, andy, alpha);
+        }
+
+        if (this.raster.endFrame()){
+            this.buffer.updateBuffer(this.dirtyRegion);
+        }
+        if (this.andyRaster.endFrame()){
+            this.andyBuffer.updateBuffer(this.andyDirtyRegion);
+        }
+    }
+
+    /**
+     * This helper method stamps every dart, picking the dart Sprite that points closest to its direction.
+     */
+    private void drawDarts(double alpha){
+        for (int i = 0; i < this.darts.size(); i++){
+            Dart dart = this.darts.get(i);
+            Sprite sprite = this.ballSprite;
+            if (!(dart instanceof Cannonball)){
+                int step = (int) Math.round(dart.getAngle() / CIRCLE * DART_ANGLE_STAMPS);
+                sprite = this.dartSprites[Math.floorMod(step, DART_ANGLE_STAMPS)];
+            }
+            this.raster.stamp(sprite, this.lerp(dart.getPrevX(), dart.getX(), alpha),
+                    this.lerp(dart.getPrevY(), dart.getY(), alpha));
+        }
+    }
+
+    /**
+     * This helper method fills the three booms of every explosion as polygons, each turned by its own
+     * angle and stretched around the center of the pop shape's bounds.
+     */
+    private void drawExplosions(){
+        for (int effect = 0; effect < this.effects.getCount(); effect++){
+            if (this.effects.isExplosion(effect)){
+                double pct = this.effects.getProgress(effect);
+                int fade = this.effects.getFade(effect);
+                this.drawBoom(effect, 0, YELLOW_X_SCALE * pct, YELLOW_Y_SCALE * pct, this.yellowFades[fade]);
+                this.drawBoom(effect, 1, ORANGE_X_SCALE * pct, ORANGE_Y_SCALE * pct, this.orangeFades[fade]);
+                this.drawBoom(effect, 2, RED_X_SCALE * pct, RED_Y_SCALE * pct, this.redFades[fade]);
+            }
+        }
+    }
+
+    /**
+     * This helper method fills one boom (0 is yellow, 1 is orange, and 2 is red) of the explosion with the
+     * index passed in, turned by the boom's angle, stretched by the scales passed in, and in the colour
+     * passed in.
+     */
+    private void drawBoom(int effect, int boom, double xScale, double yScale, int color){
+        double angle = Math.toRadians(this.effects.getAngle(effect, boom));
+        double cos = Math.cos(angle);
+        double sin = Math.sin(angle);
+        double centerX = this.effects.getX(effect) + POP_CENTER_X;
+        double centerY = this.effects.getY(effect) + POP_CENTER_Y;
+        for (int i = 0; i < this.xs.length; i++){
+            double x = (POP_SHAPES[i * 2] - POP_CENTER_X) * xScale;
+            double y = (POP_SHAPES[i * 2 + 1] - POP_CENTER_Y) * yScale;
+            this.xs[i] = centerX + x * cos - y * sin;
+            this.ys[i] = centerY + x * sin + y * cos;
+        }
+        this.raster.fillPolygon(this.xs, this.ys, this.xs.length, color);
+    }
+
+    /**
+     * This helper method stamps Andy's picture over his body, and draws his health bar at the top of
+     * the screen, both into the andy Raster.
+     */
+    private void drawAndy(BloonStore bloons, int slot, double alpha){
+        Raster surface = this.andyRaster;
+        surface.stamp(this.andySprite, this.lerp(bloons.getPrevX(slot), bloons.getX(slot), alpha),
+                this.lerp(bloons.getPrevY(slot), bloons.getY(slot), alpha));
+        surface.fillRect(HEALTH_X, HEALTH_Y, HEALTH_WIDTH, HEALTH_HEIGHT, this.healthBack);
+        surface.fillRect(HEALTH_X, HEALTH_Y, HEALTH_WIDTH-(ANDY_STRENGTH-(float)bloons.getStrength(slot))
+                /(ANDY_STRENGTH-ANDY_POP)*HEALTH_WIDTH, HEALTH_HEIGHT, this.health);
+
+        // Draw the border as four thin rectangles centered on the edges of the bar.
+        double half = HEALTH_BORDER / 2.0;
+        surface.fillRect(HEALTH_X - half, HEALTH_Y - half, HEALTH_WIDTH + HEALTH_BORDER, HEALTH_BORDER,
+                this.healthBorder);
+        surface.fillRect(HEALTH_X - half, HEALTH_Y + HEALTH_HEIGHT - half, HEALTH_WIDTH + HEALTH_BORDER,
+                HEALTH_BORDER, this.healthBorder);
+        surface.fillRect(HEALTH_X - half, HEALTH_Y + half, HEALTH_BORDER, HEALTH_HEIGHT - HEALTH_BORDER,
+                this.healthBorder);
+        surface.fillRect(HEALTH_X + HEALTH_WIDTH - half, HEALTH_Y + half, HEALTH_BORDER,
+                HEALTH_HEIGHT - HEALTH_BORDER, this.healthBorder);
+    }
+
+    /**
+     * This helper method returns the value 'alpha' of the way from 'from' to 'to'.
+     */
+    private double lerp(double from, double to, double alpha){
+        return from + (to - from) * alpha;
+    }
+
+    /**
+     * This method is called when the game is restarted, and it wipes the Raster.
+     */
+    @Override
+    public void clear(){
+        this.darts.clear();
+        this.effects.clear();
+        this.lastBloons = null;
+        this.draw(null, 1);
+    }
+
+    @Override
+    public void dartAdded(Dart dart){
+        this.darts.add(dart);
+    }
+
+    @Override
+    public void dartRemoved(Dart dart){
+        this.darts.remove(dart);
+    }
+
+    @Override
+    public void bloonPopped(double x, double y){
+        this.effects.pop(x, y);
+    }
+
+    @Override
+    public void setSeed(long seed){
+        this.effects.setSeed(seed);
+    }
+
+    @Override
+    public void explosion(double x, double y, int size){
+        this.effects.explode(x, y, size);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+package indy;
+
+import java.util.Arrays;
+import static indy.Constants.*;
+
+/**
+ * This is the Raster class. It is a software drawing surface: a plain array of premultiplied ARGB pixels
+ * that the PixelRenderer hands straight to JavaFX through a PixelBuffer, so nothing is copied between
+ * drawing a frame and showing it. It can stamp Sprites, fill rectangles, and fill polygons, blending
+ * each pixel over whatever is already there.
+ *
+ * The surface is split into square tiles, and every drawing call marks the tiles that it touches. At the
+ * start of each frame, only the tiles that were drawn on during the last frame are wiped, and at the end
+ * of the frame the dirty rectangle (the box around every tile drawn on in either frame) is what JavaFX
+ * needs to upload. This class uses no JavaFX at all, so the RasterBenchmark can time it without a display.
+ */
+public class Raster {
+
+    private int[] pixels;
+    private int width;
+    private int height;
+    private int tileColumns;
+    private int tileRows;
+    private boolean[] drawn;
+    private int[] dirty;
+    private int[] lastBox;
+    private int[] polygonXs;
+
+    /**
+     * This is the Raster class' Constructor. It takes in the size of the surface and creates the
+     * (fully see-through) pixels and the tiles.
+     */
+    public Raster(int myWidth, int myHeight){
+        this.width = myWidth;
+        this.height = myHeight;
+        this.pixels = new int[myWidth * myHeight];
+        this.tileColumns = (myWidth + RASTER_TILE_SIZE - 1) / RASTER_TILE_SIZE;
+        this.tileRows = (myHeight + RASTER_TILE_SIZE - 1) / RASTER_TILE_SIZE;
+        this.drawn = new boolean[this.tileColumns * this.tileRows];
+        this.dirty = new int[4];
+        this.lastBox = new int[4];
+        this.polygonXs = new int[16];
+    }
+
+    /**
+     * This method turns a colour (each part from 0 to 1) into a premultiplied ARGB pixel.
+     */
+    public static int argb(double red, double green, double blue, double opacity){
+        int a = (int) Math.round(opacity * 255);
+        int r = (int) Math.round(red * opacity * 255);
+        int g = (int) Math.round(green * opacity * 255);
+        int b = (int) Math.round(blue * opacity * 255);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * This method returns the premultiplied pixel passed in with its opacity scaled by 'coverage' (from
+     * 0 to 1), which is how much of the pixel a shape's edge covers.
+     */
+    public static int scale(int pixel, double coverage){
+        int a = (int) Math.round((pixel >>> 24) * coverage);
+        int r = (int) Math.round(((pixel >> 16) & 0xFF) * coverage);
+        int g = (int) Math.round(((pixel >> 8) & 0xFF) * coverage);
+        int b = (int) Math.round((pixel & 0xFF) * coverage);
+        return (a << 24) | (r << 16) | (g << 8) | b;
+    }
+
+    /**
+     * This method returns the premultiplied pixel 'source' drawn over the pixel 'target'. The target's
+     * red and blue parts, and then its alpha and green parts, are scaled two at a time in one int (each
+     * pair is 8 bits apart, so they never run into each other), dividing by 255 with rounding.
+     */
+    public static int blend(int source, int target){
+        int sourceAlpha = source >>> 24;
+        if (sourceAlpha == 0xFF || target == 0){
+            return source;
+        }
+        int keep = 0xFF - sourceAlpha;
+        int redBlue = (target & 0x00FF00FF) * keep + 0x00800080;
+        redBlue = ((redBlue + ((redBlue >>> 8) & 0x00FF00FF)) >>> 8) & 0x00FF00FF;
+        int alphaGreen = ((target >>> 8) & 0x00FF00FF) * keep + 0x00800080;
+        alphaGreen = (alphaGreen + ((alphaGreen >>> 8) & 0x00FF00FF)) & 0xFF00FF00;
+        return source + (alphaGreen | redBlue);
+    }
+
+    /**
+     * This method is called at the start of every frame. It wipes the tiles that were drawn on during the
+     * last frame (remembering the box around them for the dirty rectangle) and unmarks every tile.
+     */
+    public void beginFrame(){
+        this.findBox(this.lastBox);
+        for (int tile = 0; tile < this.drawn.length; tile++){
+            if (this.drawn[tile]){
+                int left = (tile % this.tileColumns) * RASTER_TILE_SIZE;
+                int top = (tile / this.tileColumns) * RASTER_TILE_SIZE;
+                int right = Math.min(left + RASTER_TILE_SIZE, this.width);
+                int bottom = Math.min(top + RASTER_TILE_SIZE, this.height);
+                for (int y = top; y < bottom; y++){
+                    Arrays.fill(this.pixels, y * this.width + left, y * this.width + right, 0);
+                }
+                this.drawn[tile] = false;
+            }
+        }
+    }
+
+    /**
+     * This method is called at the end of every frame, and it works out the dirty rectangle: the box
+     * around every tile drawn on during this frame or wiped at the start of it. It returns false if
+     * nothing changed at all.
+     */
+    public boolean endFrame(){
+        this.findBox(this.dirty);
+        if (this.lastBox[2] > this.lastBox[0]){
+            if (this.dirty[2] > this.dirty[0]){
+                this.dirty[0] = Math.min(this.dirty[0], this.lastBox[0]);
+                this.dirty[1] = Math.min(this.dirty[1], this.lastBox[1]);
+                this.dirty[2] = Math.max(this.dirty[2], this.lastBox[2]);
+                this.dirty[3] = Math.max(this.dirty[3], this.lastBox[3]);
+            }
+            else {
+                System.arraycopy(this.lastBox, 0, this.dirty, 0, 4);
+            }
+        }
+        return this.dirty[2] > this.dirty[0];
+    }
+
+    /**
+     * This helper method fills 'box' with the pixel bounds {left, top, right, bottom} of every tile that
+     * is marked as drawn, or with an empty box if none are.
+     */
+    private void findBox(int[] box){
+        int left = this.tileColumns;
+        int top = this.tileRows;
+        int right = -1;
+        int bottom = -1;
+        for (int tile = 0; tile < this.drawn.length; tile++){
+            if (this.drawn[tile]){
+                int column = tile % this.tileColumns;
+                int row = tile / this.tileColumns;
+                left = Math.min(left, column);
+                right = Math.max(right, column);
+                top = Math.min(top, row);
+                bottom = Math.max(bottom, row);
+            }
+        }
+        if (right < 0){
+            Arrays.fill(box, 0);
+            return;
+        }
+        box[0] = left * RASTER_TILE_SIZE;
+        box[1] = top * RASTER_TILE_SIZE;
+        box[2] = Math.min((right + 1) * RASTER_TILE_SIZE, this.width);
+        box[3] = Math.min((bottom + 1) * RASTER_TILE_SIZE, this.height);
+    }
+
+    /**
+     * This helper method marks every tile touched by the pixel box passed in (already clipped to the
+     * surface, with the right and bottom edges excluded).
+     */
+    private void mark(int left, int top, int right, int bottom){
+        int firstColumn = left / RASTER_TILE_SIZE;
+        int lastColumn = (right - 1) / RASTER_TILE_SIZE;
+        int firstRow = top / RASTER_TILE_SIZE;
+        int lastRow = (bottom - 1) / RASTER_TILE_SIZE;
+        for (int row = firstRow; row <= lastRow; row++){
+            for (int column = firstColumn; column <= lastColumn; column++){
+                this.drawn[row * this.tileColumns + column] = true;
+            }
+        }
+    }
+
+    /**
+     * This method draws the sprite passed in with its anchor on the point (x, y), rounded to the nearest
+     * pixel. For each row, the see-through ends are skipped, the opaque run is copied straight over, and
+     * only the pixels in between are blended.
+     */
+    public void stamp(Sprite sprite, double x, double y){
+        int left = (int) Math.floor(x + 0.5) - sprite.getAnchorX();
+        int top = (int) Math.floor(y + 0.5) - sprite.getAnchorY();
+        int firstRow = Math.max(0, -top);
+        int lastRow = Math.min(sprite.getHeight(), this.height - top);
+        int minColumn = Math.max(0, -left);
+        int maxColumn = Math.min(sprite.getWidth(), this.width - left);
+        if (firstRow >= lastRow || minColumn >= maxColumn){
+            return;
+        }
+        this.mark(left + minColumn, top + firstRow, left + maxColumn, top + lastRow);
+
+        int[] source = sprite.getPixels();
+        int spriteWidth = sprite.getWidth();
+        for (int row = firstRow; row < lastRow; row++){
+            int start = Math.max(sprite.getRowStart(row), minColumn);
+            int end = Math.min(sprite.getRowEnd(row), maxColumn);
+            if (start >= end){
+                continue;
+            }
+            int opaqueStart = Math.min(Math.max(sprite.getOpaqueStart(row), start), end);
+            int opaqueEnd = Math.max(Math.min(sprite.getOpaqueEnd(row), end), opaqueStart);
+            int from = row * spriteWidth;
+            int to = (top + row) * this.width + left;
+
+            for (int column = start; column < opaqueStart; column++){
+                this.pixels[to + column] = blend(source[from + column], this.pixels[to + column]);
+            }
+            System.arraycopy(source, from + opaqueStart, this.pixels, to + opaqueStart, opaqueEnd - opaqueStart);
+            for (int column = opaqueEnd; column < end; column++){
+                this.pixels[to + column] = blend(source[from + column], this.pixels[to + column]);
+            }
+        }
+    }
+
+    /**
+     * This method fills the rectangle passed in (rounded to whole pixels) with a colour.
+     */
+    public void fillRect(double x, double y, double rectWidth, double rectHeight, int color){
+        int left = Math.max(0, (int) Math.round(x));
+        int top = Math.max(0, (int) Math.round(y));
+        int right = Math.min(this.width, (int) Math.round(x + rectWidth));
+        int bottom = Math.min(this.height, (int) Math.round(y + rectHeight));
+        if (left >= right || top >= bottom){
+            return;
+        }
+        this.mark(left, top, right, bottom);
+        for (int row = top; row < bottom; row++){
+            this.fillSpan(row * this.width, left, right, color);
+        }
+    }
+
+    /**
+     * This method fills the polygon passed in with a colour, one row of pixels at a time: for each row,
+     * it finds where the polygon's edges cross the row's center, sorts those crossings, and fills between
+     * every other pair (the even-odd rule, like a JavaFX Polygon).
+     */
+    public void fillPolygon(double[] xs, double[] ys, int points, int color){
+        double minY = Double.MAX_VALUE;
+        double maxY = -Double.MAX_VALUE;
+        double minX = Double.MAX_VALUE;
+        double maxX = -Double.MAX_VALUE;
+        for (int i = 0; i < points; i++){
+            minY = Math.min(minY, ys[i]);
+            maxY = Math.max(maxY, ys[i]);
+            minX = Math.min(minX, xs[i]);
+            maxX = Math.max(maxX, xs[i]);
+        }
+        int top = Math.max(0, (int) Math.floor(minY));
+        int bottom = Math.min(this.height, (int) Math.ceil(maxY));
+        int left = Math.max(0, (int) Math.floor(minX));
+        int right = Math.min(this.width, (int) Math.ceil(maxX));
+        if (top >= bottom || left >= right){
+            return;
+        }
+        this.mark(left, top, right, bottom);
+        if (this.polygonXs.length < points){
+            this.polygonXs = new int[points];
+        }
+
+        for (int row = top; row < bottom; row++){
+            double center = row + 0.5;
+            int crossings = 0;
+            for (int i = 0; i < points; i++){
+                int j = (i + 1) % points;
+                if ((ys[i] <= center) != (ys[j] <= center)){
+                    double t = (center - ys[i]) / (ys[j] - ys[i]);
+                    this.polygonXs[crossings] = (int) Math.floor(xs[i] + t * (xs[j] - xs[i]) + 0.5);
+                    crossings++;
+                }
+            }
+            Arrays.sort(this.polygonXs, 0, crossings);
+            for (int i = 0; i + 1 < crossings; i += 2){
+                int start = Math.max(this.polygonXs[i], left);
+                int end = Math.min(this.polygonXs[i + 1], right);
+                this.fillSpan(row * this.width, start, end, color);
+            }
+        }
+    }
+
+    /**
+     * This helper method fills one row of pixels from 'start' to 'end' (excluded) with a colour.
+     */
+    private void fillSpan(int rowBase, int start, int end, int color){
+        if ((color >>> 24) == 0xFF){
+            Arrays.fill(this.pixels, rowBase + start, rowBase + end, color);
+            return;
+        }
+        for (int column = start; column < end; column++){
+            this.pixels[rowBase + column] = blend(color, this.pixels[rowBase + column]);
+        }
+    }
+
+    /**
+     * Accessor method to get the pixels, which the PixelBuffer wraps.
+     */
+    public int[] getPixels(){
+        return this.pixels;
+    }
+
+    /**
+     * Accessor method to get the dirty rectangle found by the last endFrame, as {left, top, right, bottom}.
+     */
+    public int[] getDirty(){
+        return this.dirty;
+    }
+}
\ No newline at end of file
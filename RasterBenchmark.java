@@ -0,0 +1,69 @@
+package indy;
+
+import java.util.Random;
+import static indy.Constants.*;
+
+/**
+ * This is the RasterBenchmark class. Like the Headless class, it runs without any display. For each of
+ * the BLOON_COUNTS, it scatters that many Bloons of every style over the whole scene and times how long
+ * the Raster takes to draw a frame of them the way the PixelRenderer does: wiping the tiles from the last
+ * frame, stamping every Bloon's Sprite, and finding the dirty rectangle. Uploading the pixels to the
+ * screen is left out, since it needs a display (and JavaFX only copies the dirty rectangle).
+ */
+public class RasterBenchmark {
+
+    private static final int[] BLOON_COUNTS = {12500, 25000, 50000};
+    private static final int WARM_UP_FRAMES = 100;
+    private static final int FRAMES = 200;
+    private static final double FRAME_BUDGET = 1000.0 / 60;
+    // RADII[style][xRad, yRad, tailY1, tailY2]
+    private static final double[][] RADII = {{RED_XRAD, RED_YRAD, RED_Y1, RED_Y2},
+            {BLUE_XRAD, BLUE_YRAD, BLUE_Y1, BLUE_Y2}, {GREEN_XRAD, GREEN_YRAD, GREEN_Y1, GREEN_Y2},
+            {YELLOW_XRAD, YELLOW_YRAD, YELLOW_Y1, YELLOW_Y2}, {PINK_XRAD, PINK_YRAD, PINK_Y1, PINK_Y2},
+            {BLACK_XRAD, BLACK_YRAD, BLACK_Y1, BLACK_Y2}};
+
+    /**
+     * This method builds a Sprite for every style (in made-up colours, since the colours don't change
+     * the time it takes to stamp them), and then draws and times the frames for each count.
+     */
+    public static void main(String[] args){
+        Sprite[] sprites = new Sprite[RADII.length];
+        for (int style = 0; style < RADII.length; style++){
+            int fill = Raster.argb(style / (double) RADII.length, 0.5, 1 - style / (double) RADII.length, 1);
+            int border = Raster.argb(0, 0, 0, 1);
+            sprites[style] = SpritePainter.bloon(RADII[style][0], RADII[style][1], RADII[style][2],
+                    RADII[style][3], fill, border, fill, border, 0, 0);
+        }
+
+        Random random = new Random(15);
+        for (int count : BLOON_COUNTS){
+            double[] x = new double[count];
+            double[] y = new double[count];
+            int[] style = new int[count];
+            for (int i = 0; i < count; i++){
+                x[i] = random.nextDouble() * SCENE_WIDTH;
+                y[i] = random.nextDouble() * SCENE_HEIGHT;
+                style[i] = random.nextInt(RADII.length);
+            }
+
+            Raster raster = new Raster(SCENE_WIDTH, SCENE_HEIGHT);
+            long nanos = 0;
+            for (int frame = 0; frame < WARM_UP_FRAMES + FRAMES; frame++){
+                long start = System.nanoTime();
+                raster.beginFrame();
+                for (int i = 0; i < count; i++){
+                    // Nudge every Bloon along a little each frame, like a moving wave.
+                    raster.stamp(sprites[style[i]], (x[i] + frame) % SCENE_WIDTH, y[i]);
+                }
+                raster.endFrame();
+                if (frame >= WARM_UP_FRAMES){
+                    nanos += System.nanoTime() - start;
+                }
+            }
+
+            double millis = nanos / 1e6 / FRAMES;
+            System.out.printf("%6d bloons: %.3f ms/frame, %.1f ns/bloon (%.0f%% of a 60 fps frame)%n", count,
+                    millis, (double) nanos / FRAMES / count, millis / FRAME_BUDGET * 100);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,151 @@
+package indy;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import static indy.SimConstants.*;
+
+/**
+ * This is the Replay class. It plays back a replay file written by the ReplayRecorder without any
+ * display. Every command in the file is given to a fresh Simulation on the tick it was recorded on, the
+ * Simulation is stepped forward to the tick of every checksum in the file, and the two checksums are
+ * compared, so the replay stops (and says so) on the very first tick where the game has played out
+ * differently. Levels are ended as soon as they are over, just as the BloonsGame ends them.
+ *
+ * It is run as java indy.Replay (replay file), with the same levels that the game was recorded with.
+ */
+public class Replay {
+
+    private ReplayReader reader;
+    private Simulation sim;
+    private long commands;
+    private long checksums;
+
+    /**
+     * This is the Replay class' Constructor. It opens the replay file at the path passed in and sets up
+     * the Simulation that it is played back in.
+     */
+    public Replay(Path path){
+        this.reader = new ReplayReader(path);
+        this.sim = new Simulation(new SimulationListener(){});
+        this.commands = 0;
+        this.checksums = 0;
+    }
+
+    /**
+     * This method plays back the replay file passed in as the first argument and prints out how it went.
+     */
+    public static void main(String[] args){
+        if (args.length < 1){
+            System.out.println("Usage: java indy.Replay (replay file)");
+            return;
+        }
+        long start = System.nanoTime();
+        Replay replay;
+        try {
+            replay = new Replay(Path.of(args[0]));
+            replay.run();
+        }
+        catch (IllegalArgumentException | IllegalStateException | UncheckedIOException e){
+            System.err.println("The replay failed: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        double millis = (System.nanoTime() - start) / 1e6;
+
+        Simulation sim = replay.getSimulation();
+        System.out.printf("Replayed %d commands and matched %d checksums in %.1f ms%n", replay.commands,
+                replay.checksums, millis);
+        System.out.println("Ended at level " + sim.getLevel() + " (tick " + sim.getTick() + ") with "
+                + sim.getLives() + " lives and $" + sim.getBank().getCash());
+    }
+
+    /**
+     * This method plays back every record in the file, using Factory Pattern to apply each kind of record
+     * to the Simulation. It throws an IllegalStateException as soon as the game stops matching the
+     * recording, and an IllegalArgumentException if the file has a record that makes no sense.
+     */
+    public void run(){
+        while (this.reader.next()){
+            long tick = this.reader.getTick();
+            int kind = this.reader.getKind();
+            if (kind != RESTART_RECORD && kind != CHECKSUM_RECORD && tick != this.sim.getTick()){
+                throw new IllegalStateException("a command was recorded on tick " + tick
+                        + ", but the replay is on tick " + this.sim.getTick());
+            }
+            switch (kind){
+                case RESTART_RECORD:
+                    this.sim.restart(this.reader.readLong());
+                    this.checkLevels(this.sim.getSchedule(), this.reader.readInt());
+                    break;
+                case PLACE_RECORD:
+                    MonkeyModel monkey = new MonkeyModel(this.reader.readByte());
+                    monkey.place(this.reader.readDouble(), this.reader.readDouble());
+                    this.sim.placeMonkey(monkey, this.reader.readInt());
+                    break;
+                case UPGRADE_RECORD:
+                    MonkeyModel upgraded = this.sim.getMonkey(this.reader.readInt());
+                    if (!this.sim.buyUpgrade(upgraded, this.reader.readByte(), this.reader.readInt())){
+                        throw new IllegalStateException("an upgrade bought on tick " + tick + " could not be bought");
+                    }
+                    break;
+                case PRIORITY_RECORD:
+                    this.sim.setPriority(this.sim.getMonkey(this.reader.readInt()), this.reader.readByte());
+                    break;
+                case PLAY_RECORD:
+                    this.sim.startLevel();
+                    break;
+                case SPEED_RECORD:
+                    this.sim.setSpeed(this.reader.readDouble());
+                    break;
+                case LOAD_RECORD:
+                    this.sim.load(this.reader.readLoad());
+                    break;
+                case RELOAD_RECORD:
+                    WaveSchedule schedule = new WaveSchedule(LevelLoader.load());
+                    this.checkLevels(schedule, this.reader.readInt());
+                    this.sim.setSchedule(schedule);
+                    break;
+                case CHECKSUM_RECORD:
+                    this.stepTo(tick, this.reader.readInt());
+                    this.checksums++;
+                    continue;
+                default:
+                    throw new IllegalArgumentException("the replay has a record of unknown kind " + kind);
+            }
+            this.commands++;
+        }
+    }
+
+    /**
+     * This helper method steps the Simulation up to the tick passed in, checks its checksum against the
+     * recorded one, and then ends the level if it is over.
+     */
+    private void stepTo(long tick, int checksum){
+        while (this.sim.getTick() < tick){
+            this.sim.step();
+        }
+        if (this.sim.getTick() != tick || this.sim.checksum() != checksum){
+            throw new IllegalStateException("the game played out differently on tick " + tick + " of level "
+                    + this.sim.getLevel());
+        }
+        if (this.sim.isLevelOver()){
+            this.sim.endLevel();
+        }
+    }
+
+    /**
+     * This helper method checks that the levels being played are the ones the replay was recorded with.
+     */
+    private void checkLevels(WaveSchedule schedule, int checksum){
+        if (schedule.checksum() != checksum){
+            throw new IllegalStateException("the levels are not the ones that the replay was recorded with");
+        }
+    }
+
+    /**
+     * Accessor method to get the Simulation that the replay is played back in.
+     */
+    public Simulation getSimulation(){
+        return this.sim;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,150 @@
+package indy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import static indy.SimConstants.*;
+
+/**
+ * This is the ReplayReader class. It reads back the records written by the ReplayRecorder, one at a
+ * time. The whole file is memory-mapped through a FileChannel rather than read in, so even a replay of a
+ * very long game opens straight away, and records are only paged in from the disk as they are read.
+ * After each call to next, the record's kind and tick can be asked for, and then its values are read in
+ * the same order that the ReplayRecorder wrote them. A file that ends partway through a record, or has a
+ * tick count that never ends, is turned away with an IllegalArgumentException that says at which byte.
+ */
+public class ReplayReader {
+
+    private MappedByteBuffer buffer;
+    private Path path;
+    private int kind;
+    private long tick;
+
+    /**
+     * This is the ReplayReader class' Constructor. It maps the replay file at the path passed in and checks
+     * its header. It throws an UncheckedIOException if the file can't be read, and an
+     * IllegalArgumentException if it isn't a replay file of this version.
+     */
+    public ReplayReader(Path path){
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (IOException e){
+            throw new UncheckedIOException("Could not read the replay " + path + ": " + e.getMessage(), e);
+        }
+        if (this.buffer.remaining() < Integer.BYTES + Short.BYTES || this.buffer.getInt() != REPLAY_MAGIC){
+            throw new IllegalArgumentException(path + " is not a replay file");
+        }
+        short version = this.buffer.getShort();
+        if (version != REPLAY_VERSION){
+            throw new IllegalArgumentException(path + " is a version " + version + " replay, but only version "
+                    + REPLAY_VERSION + " can be played");
+        }
+        this.path = path;
+        this.tick = 0;
+    }
+
+    /**
+     * This method moves on to the next record, and returns false once there are none left.
+     */
+    public boolean next(){
+        if (!this.buffer.hasRemaining()){
+            return false;
+        }
+        this.kind = this.buffer.get();
+        long delta = 0;
+        int shift = 0;
+        byte part;
+        do {
+            if (shift >= Long.SIZE){
+                throw new IllegalArgumentException(this.path + " is damaged at byte " + this.buffer.position());
+            }
+            this.need(1);
+            part = this.buffer.get();
+            delta |= (long) (part & 0x7F) << shift;
+            shift += 7;
+        } while (part < 0);
+
+        // A restart counts the ticks from 0 again, just as the ReplayRecorder does.
+        this.tick = (this.kind == RESTART_RECORD) ? 0 : this.tick + delta;
+        return true;
+    }
+
+    /**
+     * Accessor method to get the kind of the current record.
+     */
+    public int getKind(){
+        return this.kind;
+    }
+
+    /**
+     * Accessor method to get the tick that the current record happened on.
+     */
+    public long getTick(){
+        return this.tick;
+    }
+
+    /**
+     * This method reads the rest of a load record: the tick that the loaded game starts over on, which the
+     * ticks of the records after it count from, and the state that was loaded, which is returned as a
+     * buffer of its own, ready for Simulation.load.
+     */
+    public ByteBuffer readLoad(){
+        long loadedTick = this.readLong();
+        int length = this.readInt();
+        if (length < 0){
+            throw new IllegalArgumentException(this.path + " is damaged at byte " + this.buffer.position());
+        }
+        this.need(length);
+        ByteBuffer state = this.buffer.slice(this.buffer.position(), length);
+        this.buffer.position(this.buffer.position() + length);
+        this.tick = loadedTick;
+        return state;
+    }
+
+    /**
+     * This method reads the next value of the current record as a byte.
+     */
+    public int readByte(){
+        this.need(1);
+        return this.buffer.get();
+    }
+
+    /**
+     * This method reads the next value of the current record as an int.
+     */
+    public int readInt(){
+        this.need(Integer.BYTES);
+        return this.buffer.getInt();
+    }
+
+    /**
+     * This method reads the next value of the current record as a long.
+     */
+    public long readLong(){
+        this.need(Long.BYTES);
+        return this.buffer.getLong();
+    }
+
+    /**
+     * This method reads the next value of the current record as a double.
+     */
+    public double readDouble(){
+        this.need(Double.BYTES);
+        return this.buffer.getDouble();
+    }
+
+    /**
+     * This helper method throws an IllegalArgumentException, naming the byte it got to, if the file ends
+     * before the number of bytes passed in can be read.
+     */
+    private void need(int bytes){
+        if (this.buffer.remaining() < bytes){
+            throw new IllegalArgumentException(this.path + " is cut short at byte " + this.buffer.position());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package indy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import static indy.SimConstants.*;
+
+/**
+ * This is the ReplayRecorder class. It writes everything the player does to the Simulation (placing a
+ * monkey, buying an upgrade, changing a monkey's targeting, pressing play, changing the speed, reloading
+ * the levels, restarting, and loading a saved game or retrying a level) into a replay file, each with the tick it happened on, along with a
+ * checksum of the Simulation's state after every tick, so that the Replay class can play the game back
+ * and check that it ends up in exactly the same place. The file is only ever added to: it starts with
+ * REPLAY_MAGIC and REPLAY_VERSION, and every record after that is a byte for its kind, the number of
+ * ticks since the record before it (in as few bytes as it fits in, so a checksum on every tick only
+ * costs six bytes), and then its values. The records are gathered in a buffer and written out through a
+ * FileChannel whenever the buffer fills up, and whenever the Simulation asks for them to be flushed.
+ */
+public class ReplayRecorder {
+
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private long lastTick;
+
+    /**
+     * This is the ReplayRecorder class' Constructor. It creates (or empties) the replay file at the path
+     * passed in and writes its header. It throws an UncheckedIOException if the file can't be written.
+     */
+    public ReplayRecorder(Path path){
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException("Could not record to " + path + ": " + e.getMessage(), e);
+        }
+        this.buffer = ByteBuffer.allocate(REPLAY_BUFFER_SIZE);
+        this.buffer.putInt(REPLAY_MAGIC);
+        this.buffer.putShort(REPLAY_VERSION);
+        this.lastTick = 0;
+    }
+
+    /**
+     * This method records that the game was (re)started with the random seed passed in, and with levels
+     * whose WaveSchedule has the checksum passed in. Ticks are counted from 0 again after it.
+     */
+    public void restart(long seed, int levels){
+        this.begin(RESTART_RECORD, this.lastTick);
+        this.buffer.putLong(seed);
+        this.buffer.putInt(levels);
+        this.lastTick = 0;
+    }
+
+    /**
+     * This method records that a monkey of the type passed in was placed at (x, y) for 'cost' cash.
+     */
+    public void place(long tick, int type, double x, double y, int cost){
+        this.begin(PLACE_RECORD, tick);
+        this.buffer.put((byte) type);
+        this.buffer.putDouble(x);
+        this.buffer.putDouble(y);
+        this.buffer.putInt(cost);
+    }
+
+    /**
+     * This method records that an upgrade was bought for the monkey passed in (by the order in which the
+     * monkeys were placed) for 'cost' cash.
+     */
+    public void upgrade(long tick, int monkey, int upgradeNum, int cost){
+        this.begin(UPGRADE_RECORD, tick);
+        this.buffer.putInt(monkey);
+        this.buffer.put((byte) upgradeNum);
+        this.buffer.putInt(cost);
+    }
+
+    /**
+     * This method records that the monkey passed in (by the order in which the monkeys were placed) was
+     * switched to a new targeting priority.
+     */
+    public void priority(long tick, int monkey, int priority){
+        this.begin(PRIORITY_RECORD, tick);
+        this.buffer.putInt(monkey);
+        this.buffer.put((byte) priority);
+    }
+
+    /**
+     * This method records that the player pressed play to start the next level.
+     */
+    public void play(long tick){
+        this.begin(PLAY_RECORD, tick);
+    }
+
+    /**
+     * This method records that the game was sped up or slowed down. The speed doesn't change what
+     * happens on each tick, but it shows how the game was played.
+     */
+    public void speed(long tick, double speed){
+        this.begin(SPEED_RECORD, tick);
+        this.buffer.putDouble(speed);
+    }
+
+    /**
+     * This method records that the levels were reloaded, and the checksum of their new WaveSchedule.
+     */
+    public void reload(long tick, int levels){
+        this.begin(RELOAD_RECORD, tick);
+        this.buffer.putInt(levels);
+    }
+
+    /**
+     * This method records that a saved game (or the snapshot of a level being retried) was loaded on the
+     * tick passed in, along with the whole state that was loaded (written by Simulation.save), which
+     * starts over on the tick 'loadedTick'. The state is written straight out after the buffer, since it
+     * can be far bigger than the buffer is.
+     */
+    public void load(long tick, long loadedTick, ByteBuffer state){
+        this.begin(LOAD_RECORD, tick);
+        this.buffer.putLong(loadedTick);
+        this.buffer.putInt(state.remaining());
+        this.flush();
+        this.write(state.duplicate());
+        this.lastTick = loadedTick;
+    }
+
+    /**
+     * This method records the checksum of the Simulation's state at the end of a tick.
+     */
+    public void checksum(long tick, int checksum){
+        this.begin(CHECKSUM_RECORD, tick);
+        this.buffer.putInt(checksum);
+    }
+
+    /**
+     * This helper method starts a new record of the kind passed in, writing out the buffer first if the
+     * record might not fit in it, so that a record is never split between two writes.
+     */
+    private void begin(int kind, long tick){
+        if (this.buffer.remaining() < REPLAY_RECORD_MAX){
+            this.flush();
+        }
+        this.buffer.put((byte) kind);
+        long delta = tick - this.lastTick;
+        while (delta >= 0x80){
+            this.buffer.put((byte) (delta | 0x80));
+            delta >>>= 7;
+        }
+        this.buffer.put((byte) delta);
+        this.lastTick = tick;
+    }
+
+    /**
+     * This method writes every record in the buffer out to the file.
+     */
+    public void flush(){
+        this.buffer.flip();
+        this.write(this.buffer);
+        this.buffer.clear();
+    }
+
+    /**
+     * This helper method writes everything left in the buffer passed in out to the file.
+     */
+    private void write(ByteBuffer bytes){
+        try {
+            while (bytes.hasRemaining()){
+                this.channel.write(bytes);
+            }
+        }
+        catch (IOException e){
+            throw new UncheckedIOException("Could not write the replay: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method writes out the last of the records and closes the file.
+     */
+    public void close(){
+        this.flush();
+        try {
+            this.channel.close();
+        }
+        catch (IOException e){
+            throw new UncheckedIOException("Could not close the replay: " + e.getMessage(), e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,147 @@
+package indy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import static indy.SimConstants.*;
+
+/**
+ * This is the SaveFile class. It saves the whole state of a Simulation (the level's progress, the cash,
+ * every Bloon partway along the track, every dart in flight, and every monkey with its upgrades) to a
+ * binary file, and loads it back so that the game carries on exactly as it would have. A save file starts
+ * with a header of SAVE_MAGIC, SAVE_VERSION, the number of bytes of state that follow, and their CRC32,
+ * so a file from another version, or one that was cut short or damaged, is turned away before the game
+ * is touched. Taking a snapshot only copies the state into a buffer, so it is quick enough to do between
+ * two ticks, and writing it out can then happen on another thread. Files are written through a
+ * FileChannel to a temporary file that is moved over the old one once it is complete, so a crash while
+ * saving never leaves a half-written save behind. A snapshot is never changed once it is taken, so the
+ * same one can be written to the disk on one thread and kept in memory to be loaded again on another.
+ */
+public class SaveFile {
+
+    /**
+     * This method copies the whole state of the Simulation passed in into a new buffer, header first,
+     * which is ready to be written out by the write method or loaded straight back by the load method. If
+     * the state doesn't fit, it tries again with a buffer twice as big, and the snapshot is then trimmed
+     * to its length, so one taken between levels (with no Bloons or darts) only takes a few hundred bytes.
+     */
+    public static ByteBuffer snapshot(Simulation sim){
+        int capacity = SAVE_START_CAPACITY;
+        while (true){
+            ByteBuffer buffer = ByteBuffer.allocate(capacity);
+            buffer.position(SAVE_HEADER_SIZE);
+            try {
+                sim.save(buffer);
+            }
+            catch (BufferOverflowException e){
+                capacity *= 2;
+                continue;
+            }
+            int length = buffer.position() - SAVE_HEADER_SIZE;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.array(), SAVE_HEADER_SIZE, length);
+            buffer.putInt(0, SAVE_MAGIC);
+            buffer.putShort(Integer.BYTES, SAVE_VERSION);
+            buffer.putInt(Integer.BYTES + Short.BYTES, length);
+            buffer.putInt(2 * Integer.BYTES + Short.BYTES, (int) crc.getValue());
+            return ByteBuffer.wrap(Arrays.copyOf(buffer.array(), buffer.position()));
+        }
+    }
+
+    /**
+     * This method writes a snapshot to the path passed in, replacing whatever save was there only once the
+     * whole snapshot is safely on the disk. It doesn't touch the Simulation, so it can be called from any
+     * thread. It throws an UncheckedIOException if the file can't be written.
+     */
+    public static void write(ByteBuffer snapshot, Path path){
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        ByteBuffer buffer = snapshot.duplicate();
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)){
+                while (buffer.hasRemaining()){
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e){
+            throw new UncheckedIOException("Could not save to " + path + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * This method saves the Simulation passed in to the path passed in, all at once.
+     */
+    public static void save(Simulation sim, Path path){
+        write(snapshot(sim), path);
+    }
+
+    /**
+     * This method loads the save file at the path passed in into the Simulation passed in. It throws an
+     * UncheckedIOException if the file can't be read, and an IllegalArgumentException (before the
+     * Simulation is changed) if it isn't a save file of this version, if it is damaged, or if it was saved
+     * with different levels.
+     */
+    public static void load(Simulation sim, Path path){
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)){
+            if (channel.size() > Integer.MAX_VALUE){
+                throw new IllegalArgumentException(path + " is not a save file");
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0){
+                continue;
+            }
+            buffer.flip();
+        }
+        catch (IOException e){
+            throw new UncheckedIOException("Could not read the save " + path + ": " + e.getMessage(), e);
+        }
+        restore(sim, buffer, path.toString());
+    }
+
+    /**
+     * This method loads a snapshot taken by the snapshot method into the Simulation passed in, without
+     * changing the snapshot, so it can be loaded again later. It throws an IllegalArgumentException (before
+     * the Simulation is changed) if the snapshot was taken with different levels.
+     */
+    public static void load(Simulation sim, ByteBuffer snapshot){
+        restore(sim, snapshot.duplicate(), "The snapshot");
+    }
+
+    /**
+     * This helper method checks the header and CRC32 of the save in the buffer passed in (called 'name'
+     * in any error) and then loads it into the Simulation.
+     */
+    private static void restore(Simulation sim, ByteBuffer buffer, String name){
+        if (buffer.remaining() < SAVE_HEADER_SIZE || buffer.getInt() != SAVE_MAGIC){
+            throw new IllegalArgumentException(name + " is not a save file");
+        }
+        short version = buffer.getShort();
+        if (version != SAVE_VERSION){
+            throw new IllegalArgumentException(name + " is a version " + version + " save, but only version "
+                    + SAVE_VERSION + " can be loaded");
+        }
+        int length = buffer.getInt();
+        int expected = buffer.getInt();
+        if (length != buffer.remaining()){
+            throw new IllegalArgumentException(name + " is cut short or damaged");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), buffer.position(), length);
+        if ((int) crc.getValue() != expected){
+            throw new IllegalArgumentException(name + " is damaged");
+        }
+        sim.load(buffer);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,146 @@
+package indy;
+
+import javafx.scene.layout.Pane;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * This is the SceneRenderer class. It is the default GameRenderer for the game when it is shown on the
+ * screen, and it keeps a BloonView for every Bloon (by its id, in a BloonViewTable) and a DartView for every Dart in the
+ * Simulation. It also starts the pop and explosion animations on its EffectScheduler whenever the
+ * Simulation says that they have happened. BloonViews and DartViews are kept on free lists (one for
+ * bloons, one for darts, and one for cannonballs) when what they draw leaves the game, so that spawning,
+ * splitting, and shooting don't create and throw away a set of shapes for every Bloon and dart.
+ */
+public class SceneRenderer implements GameRenderer {
+
+    private BloonViewTable bloonViews;
+    private IdentityHashMap<Dart, DartView> dartViews;
+    private ArrayList<BloonView> freeBloonViews;
+    private ArrayList<DartView> freeDartViews;
+    private ArrayList<DartView> freeBallViews;
+    private EffectScheduler effects;
+    private Pane dartPane;
+    private Pane bloonPane;
+    private Pane andyPane;
+
+    /**
+     * This is the SceneRenderer class' Constructor. It is associated with the dart, bloon, pop, and andy
+     * panes, and it initializes the tables from each Bloon and Dart to the view that draws it, along with
+     * the EffectScheduler that plays the pops (in the pop pane) and explosions (in the dart pane).
+     */
+    public SceneRenderer(Pane myDartPane, Pane myBloonPane, Pane myPopPane, Pane myAndyPane){
+        this.bloonViews = new BloonViewTable();
+        this.dartViews = new IdentityHashMap<>();
+        this.freeBloonViews = new ArrayList<>();
+        this.freeDartViews = new ArrayList<>();
+        this.freeBallViews = new ArrayList<>();
+        this.effects = new EffectScheduler(myPopPane, myDartPane);
+        this.dartPane = myDartPane;
+        this.bloonPane = myBloonPane;
+        this.andyPane = myAndyPane;
+    }
+
+    /**
+     * This method is called from the BloonsGame once per display frame with the Simulation's BloonStore,
+     * and it moves every bloon and dart on the screen to its position, interpolated 'alpha' of the way
+     * through the current tick.
+     */
+    @Override
+    public void render(BloonStore bloons, double alpha){
+        for (int slot = 0; slot < bloons.getSize(); slot++){
+            if (bloons.isAlive(slot)){
+                BloonView view = this.bloonViews.get(bloons.getId(slot));
+                if (view != null){
+                    view.update(slot, alpha);
+                }
+            }
+        }
+        for (DartView view : this.dartViews.values()){
+            view.update(alpha);
+        }
+    }
+
+    /**
+     * This method is called from the BloonsGame on every display frame (even between levels, so that the
+     * last pops of a level finish) with the frame's timestamp, and it steps every running effect.
+     */
+    @Override
+    public void animate(long now){
+        this.effects.step(now);
+    }
+
+    /**
+     * This method is called when the game is restarted, and it removes every remaining view from the screen.
+     */
+    @Override
+    public void clear(){
+        for (int spot = 0; spot < this.bloonViews.getCapacity(); spot++){
+            BloonView view = this.bloonViews.getView(spot);
+            if (view != null){
+                view.detach();
+                this.freeBloonViews.add(view);
+            }
+        }
+        this.bloonViews.clear();
+        for (Dart dart : new ArrayList<>(this.dartViews.keySet())){
+            this.dartRemoved(dart);
+        }
+        this.effects.clear();
+    }
+
+    @Override
+    public void bloonAdded(BloonStore bloons, int slot){
+        BloonView view;
+        if (this.freeBloonViews.isEmpty()){
+            view = new BloonView(bloons, this.bloonPane, this.andyPane);
+        }
+        else {
+            view = this.freeBloonViews.remove(this.freeBloonViews.size() - 1);
+        }
+        view.attach(slot);
+        this.bloonViews.put(bloons.getId(slot), view);
+    }
+
+    @Override
+    public void bloonRemoved(int id){
+        BloonView view = this.bloonViews.remove(id);
+        if (view != null){
+            view.detach();
+            this.freeBloonViews.add(view);
+        }
+    }
+
+    @Override
+    public void bloonPopped(double x, double y){
+        this.effects.pop(x, y);
+    }
+
+    @Override
+    public void dartAdded(Dart dart){
+        boolean ball = dart instanceof Cannonball;
+        ArrayList<DartView> free = ball ? this.freeBallViews : this.freeDartViews;
+        DartView view = free.isEmpty() ? new DartView(ball, this.dartPane) : free.remove(free.size() - 1);
+        view.attach(dart);
+        this.dartViews.put(dart, view);
+    }
+
+    @Override
+    public void dartRemoved(Dart dart){
+        DartView view = this.dartViews.remove(dart);
+        if (view != null){
+            view.detach();
+            (dart instanceof Cannonball ? this.freeBallViews : this.freeDartViews).add(view);
+        }
+    }
+
+    @Override
+    public void setSeed(long seed){
+        this.effects.setSeed(seed);
+    }
+
+    @Override
+    public void explosion(double x, double y, int size){
+        this.effects.explode(x, y, size);
+    }
+}
\ No newline at end of file
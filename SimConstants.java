@@ -0,0 +1,67 @@
+package indy;
+
+import static indy.Constants.*;
+
+/**
+ * This is the SimConstants class. It holds the constants that the simulation reads at runtime (the
+ * levels' format and schedule, and the track checkpoints). They used to live in Constants, but that
+ * class loads fonts, colors, and shapes as soon as any of its arrays are touched, so keeping them
+ * separate means the simulation can run without JavaFX. Plain numeric constants are still read from
+ * Constants, since the compiler copies those in and never loads the class for them. The checkpoints are
+ * also baked into the TRACK PathTable here, once, when the game starts.
+ */
+public class SimConstants {
+
+    // The LevelLoader reads the levels from levels.txt (or the file named by the indy.levels property)
+    // into levels[level][wave][bloonCount, bloonStrength, bloonSpacing, camo], using these indices, and
+    // WAVES (below) is compiled from them when the game starts. A bloonStrength of 0 creates a pause
+    // between waves...
+    public static final int COUNT_INDEX = 0;
+    public static final int STRENGTH_INDEX = 1;
+    public static final int SPACING_INDEX = 2;
+    public static final int CAMO_INDEX = 3;
+    public static final String LEVELS_FILE = "levels.txt";
+    public static final String LEVELS_PROPERTY = "indy.levels";
+
+
+    // REPLAY FILES (a header of REPLAY_MAGIC and REPLAY_VERSION, then records of one of these kinds)
+    public static final int REPLAY_MAGIC = 0x42544452;
+    public static final short REPLAY_VERSION = 2;
+    public static final int RESTART_RECORD = 0;
+    public static final int PLACE_RECORD = 1;
+    public static final int UPGRADE_RECORD = 2;
+    public static final int PRIORITY_RECORD = 3;
+    public static final int PLAY_RECORD = 4;
+    public static final int SPEED_RECORD = 5;
+    public static final int RELOAD_RECORD = 6;
+    public static final int CHECKSUM_RECORD = 7;
+    public static final int LOAD_RECORD = 8;
+    public static final int REPLAY_BUFFER_SIZE = 1 << 16;
+    public static final int REPLAY_RECORD_MAX = 32;
+    public static final String RECORD_PROPERTY = "indy.record";
+
+
+    // SAVE FILES (a header of SAVE_MAGIC, SAVE_VERSION, the length of the game's state, and its CRC32)
+    public static final int SAVE_MAGIC = 0x42544453;
+    public static final short SAVE_VERSION = 1;
+    public static final int SAVE_HEADER_SIZE = 14;
+    public static final int SAVE_START_CAPACITY = 1 << 16;
+    public static final String SAVE_FILE = "bloons.sav";
+    public static final String SAVE_PROPERTY = "indy.save";
+    public static final int RETRY_LEVELS = 5;
+
+
+    // TRACK CHECKPOINTS
+    public static int[][] MAP_PATH = {{560, 295}, {587, 280}, {587, 140}, {560, 116}, {415, 111}, {385, 140},
+            {386, 300}, {389, 558}, {360, 585}, {225, 590}, {192, 555}, {195, 450}, {220, 420}, {490, 421},
+            {680, 416}, {715, 403}, {745, 373}, {750, 293}, {750, 238}, {820, 225}, {890, 240}, {887, 485},
+            {845, 525}, {548, 532}, {525, 600}, {521, 800}};
+
+
+    // TRACK LOOKUP TABLE (baked from MAP_PATH, starting where the Bloons spawn)
+    public static final PathTable TRACK = new PathTable(X_START, Y_START, MAP_PATH);
+
+
+    // WAVE SCHEDULE (the levels compiled into one flat array of spawn events)
+    public static final WaveSchedule WAVES = new WaveSchedule(LevelLoader.load());
+}
\ No newline at end of file
@@ -0,0 +1,416 @@
+package indy;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import static indy.Constants.*;
+
+/**
+ * This is the Simulation class. It is the core of the game, and it contains the BloonStore that holds
+ * every Bloon, the MoneyTracker, the Bloon and Dart organizers, and the models of every placed monkey. It
+ * uses no JavaFX at all: each call to step advances the game by exactly one tick, and anything that
+ * needs to draw the game listens to it through a SimulationListener. This lets the game be run on the
+ * screen by the BloonsGame or without any display at all by the Headless class.
+ *
+ * Everything the player does to the game (placing monkeys, buying upgrades, changing targeting, pressing
+ * play) goes through the Simulation's methods, so that if a ReplayRecorder has been set, each one is
+ * recorded with its tick, along with a checksum of the game's state after every tick. Since nothing in
+ * the Simulation is random, that is all the Replay class needs to play the game back exactly.
+ */
+public class Simulation {
+
+    private BloonStore bloons;
+    private TargetIndex targets;
+    private MoneyTracker bank;
+    private BloonOrganizer bloonOrg;
+    private DartOrganizer dartOrg;
+    private ArrayList<MonkeyModel> monkeys;
+    private long tick;
+    private long seed;
+    private AllocationCounter dartAllocations;
+    private ReplayRecorder recorder;
+
+    /**
+     * This is the Simulation class' Constructor. It takes in the SimulationListener that is told about
+     * everything that appears or disappears, and instantiates the store of Bloons and all the organizers.
+     */
+    public Simulation(SimulationListener listener){
+        this.bloons = new BloonStore();
+        this.targets = new TargetIndex(this.bloons);
+        this.bank = new MoneyTracker();
+        this.bloonOrg = new BloonOrganizer(this.bloons, this.bank, listener);
+        this.dartOrg = new DartOrganizer(this.bloons, this.bloonOrg, listener);
+        this.monkeys = new ArrayList<>();
+        this.tick = 0;
+        this.seed = 0;
+    }
+
+    /**
+     * This method advances the game by a single tick. It moves all bloons, adds any new bloons, lets
+     * every monkey aim and shoot (using the TargetIndex, which is marked out of date as soon as the Bloons
+     * have moved), and then moves all of the darts, in the same order every tick. Bloons
+     * popped by the darts are squeezed out of the store at the very end of the tick. If an
+     * AllocationCounter has been set, it measures the shooting and dart moving part of the tick.
+     */
+    public void step(){
+        this.bloonOrg.moveAllBloons();
+        this.bloonOrg.addBloons();
+        this.targets.invalidate();
+
+        if (this.dartAllocations != null){
+            this.dartAllocations.start();
+        }
+        for (int i = 0; i < this.monkeys.size(); i++){
+            this.monkeys.get(i).shoot(this.targets, this.dartOrg);
+        }
+        this.dartOrg.moveDarts();
+        if (this.dartAllocations != null){
+            this.dartAllocations.stop();
+        }
+        this.bloons.compact();
+        this.tick++;
+        if (this.recorder != null){
+            this.recorder.checksum(this.tick, this.checksum());
+        }
+    }
+
+    /**
+     * This method moves the game forward without looking at every tick. If nothing can happen for a
+     * while (no darts are flying, no Bloon is due to spawn or leak, and no monkey could shoot), it skips
+     * straight over those quiet ticks, up to 'limit' of them. Otherwise it steps a single tick as usual.
+     * The game ends up exactly where the same number of steps would have left it, so it returns how
+     * many ticks it moved the game forward by. The listener hears nothing about the skipped ticks.
+     */
+    public long fastForward(long limit){
+        long quiet = 0;
+        if (!this.dartOrg.hasDarts()){
+            quiet = this.bloonOrg.quietTicks(limit);
+            for (int i = 0; i < this.monkeys.size() && quiet > 0; i++){
+                quiet = Math.min(quiet, this.monkeys.get(i).quietTicks(this.bloons, quiet));
+            }
+        }
+        if (quiet < 1){
+            this.step();
+            return 1;
+        }
+
+        this.bloonOrg.skip(quiet);
+        for (int i = 0; i < this.monkeys.size(); i++){
+            this.monkeys.get(i).skip(quiet);
+        }
+        this.targets.invalidate();
+        this.tick += quiet;
+        if (this.recorder != null){
+            this.recorder.checksum(this.tick, this.checksum());
+        }
+        return quiet;
+    }
+
+    /**
+     * This method returns a checksum of the game's state: the tick, lives, cash, and level, every Bloon
+     * (where it is and how strong it is), every dart, and every monkey's shot clock and stats. Two games
+     * with the same checksum on every tick have, as far as anyone could tell, played out the same way.
+     */
+    public int checksum(){
+        int hash = Long.hashCode(this.tick);
+        hash = 31 * hash + this.getLives();
+        hash = 31 * hash + this.bank.getCash();
+        hash = 31 * hash + this.getLevel();
+        hash = 31 * hash + this.bloons.checksum();
+        hash = 31 * hash + this.dartOrg.checksum();
+        for (int i = 0; i < this.monkeys.size(); i++){
+            hash = 31 * hash + this.monkeys.get(i).checksum();
+        }
+        return hash;
+    }
+
+    /**
+     * This method sets the AllocationCounter that measures the darts on every tick (or null for none).
+     */
+    public void setDartAllocations(AllocationCounter counter){
+        this.dartAllocations = counter;
+    }
+
+    /**
+     * This method sets the CollisionAudit that sees every check for a hit between a dart and a Bloon (or
+     * null for none).
+     */
+    public void setCollisionAudit(CollisionAudit audit){
+        this.dartOrg.setCollisionAudit(audit);
+    }
+
+    /**
+     * This method writes the whole state of the game into the buffer passed in for a save file (see the
+     * SaveFile class): the tick and seed, the cash, the level's progress and every Bloon, every dart in
+     * flight, and every monkey in the order they were placed.
+     */
+    public void save(ByteBuffer buffer){
+        buffer.putLong(this.tick);
+        buffer.putLong(this.seed);
+        buffer.putInt(this.bank.getCash());
+        this.bloonOrg.save(buffer);
+        this.dartOrg.save(buffer);
+        buffer.putInt(this.monkeys.size());
+        for (int i = 0; i < this.monkeys.size(); i++){
+            this.monkeys.get(i).save(buffer);
+        }
+    }
+
+    /**
+     * This method replaces the whole state of the game with the one written by the save method, telling
+     * the listener about everything that is removed and loaded. The game carries on from there exactly as
+     * the saved game would have. If the game is being recorded, the whole state that was loaded is
+     * recorded too, so that a replay can follow the game past the load. If the save was made with
+     * different levels, an IllegalArgumentException is thrown before anything changes.
+     */
+    public void load(ByteBuffer buffer){
+        int start = buffer.position();
+        long oldTick = this.tick;
+        long newTick = buffer.getLong();
+        long newSeed = buffer.getLong();
+        int cash = buffer.getInt();
+        this.bloonOrg.load(buffer);
+        this.dartOrg.load(buffer);
+        this.monkeys.clear();
+        int loaded = buffer.getInt();
+        for (int i = 0; i < loaded; i++){
+            this.addMonkey(MonkeyModel.load(buffer));
+        }
+        this.bank.setCash(cash);
+        this.tick = newTick;
+        this.seed = newSeed;
+        this.targets.invalidate();
+        if (this.recorder != null){
+            this.recorder.load(oldTick, this.tick, buffer.duplicate().limit(buffer.position()).position(start));
+        }
+    }
+
+    /**
+     * This method sets the ReplayRecorder that everything the player does is recorded with (or null for
+     * none).
+     */
+    public void setRecorder(ReplayRecorder myRecorder){
+        this.recorder = myRecorder;
+    }
+
+    /**
+     * This method writes out everything recorded so far, if the game is being recorded.
+     */
+    public void flushRecording(){
+        if (this.recorder != null){
+            this.recorder.flush();
+        }
+    }
+
+    /**
+     * This method finishes the recording, if the game is being recorded, and stops recording.
+     */
+    public void closeRecording(){
+        if (this.recorder != null){
+            this.recorder.close();
+            this.recorder = null;
+        }
+    }
+
+    /**
+     * This method is called when the player presses play between levels, and it starts the next level.
+     */
+    public void startLevel(){
+        this.bloonOrg.setInLevel(true);
+        if (this.recorder != null){
+            this.recorder.play(this.tick);
+        }
+    }
+
+    /**
+     * This method is called once a level is over. It clears the remaining darts and pays the player
+     * the bonus cash for finishing the level, and writes out the level's recording.
+     */
+    public void endLevel(){
+        this.dartOrg.clear();
+        this.bank.modifyCash(LEVEL_CASH);
+        this.flushRecording();
+    }
+
+    /**
+     * This method is called whenever the game is restarted. It removes all monkeys, bloons, and darts,
+     * and resets the cash and level back to the beginning of the game. It takes in the seed for the
+     * random numbers of the new game (which only decide how the explosions are turned on the screen),
+     * so that it can be recorded.
+     */
+    public void restart(long newSeed){
+        this.monkeys.clear();
+        this.bloonOrg.clear();
+        this.dartOrg.clear();
+        this.bank.resetCash();
+        this.tick = 0;
+        this.seed = newSeed;
+        if (this.recorder != null){
+            this.recorder.restart(this.seed, this.bloonOrg.getSchedule().checksum());
+        }
+    }
+
+    /**
+     * This method is called between levels to switch to a newly loaded WaveSchedule (see the
+     * BloonOrganizer's setSchedule method).
+     */
+    public void setSchedule(WaveSchedule schedule){
+        this.bloonOrg.setSchedule(schedule);
+        if (this.recorder != null){
+            this.recorder.reload(this.tick, schedule.checksum());
+        }
+    }
+
+    /**
+     * This method is called whenever the player places a monkey. It adds the monkey to the game and
+     * takes away its cost.
+     */
+    public void placeMonkey(MonkeyModel monkey, int cost){
+        this.addMonkey(monkey);
+        this.bank.modifyCash(-cost);
+        if (this.recorder != null){
+            this.recorder.place(this.tick, monkey.getType(), monkey.getX(), monkey.getY(), cost);
+        }
+    }
+
+    /**
+     * This method is called whenever the player tries to buy an upgrade for a monkey. If there is enough
+     * cash and the monkey doesn't have the upgrade yet, it upgrades the monkey, takes away the cost, and
+     * returns true.
+     */
+    public boolean buyUpgrade(MonkeyModel monkey, int upgradeNum, int cost){
+        if (this.bank.getCash() < cost || !monkey.upgrade(upgradeNum)){
+            return false;
+        }
+        this.bank.modifyCash(-cost);
+        if (this.recorder != null){
+            this.recorder.upgrade(this.tick, this.monkeys.indexOf(monkey), upgradeNum, cost);
+        }
+        return true;
+    }
+
+    /**
+     * This method is called whenever the player changes a monkey's targeting priority.
+     */
+    public void setPriority(MonkeyModel monkey, int priority){
+        monkey.setPriority(priority);
+        if (this.recorder != null){
+            this.recorder.priority(this.tick, this.monkeys.indexOf(monkey), priority);
+        }
+    }
+
+    /**
+     * This method is called whenever the player changes how fast the game runs. The Simulation always
+     * runs the same ticks whatever the speed, so this only records the change.
+     */
+    public void setSpeed(double speed){
+        if (this.recorder != null){
+            this.recorder.speed(this.tick, speed);
+        }
+    }
+
+    /**
+     * This method spawns a number of Bloons at the start of the track all at once, which is used to
+     * stress test the Simulation with very large waves.
+     */
+    public void spawnBloons(int strength, boolean isCamo, int count){
+        this.bloonOrg.spawnBloons(strength, isCamo, count);
+    }
+
+    /**
+     * This helper method adds a newly placed monkey to the game, so that it aims and shoots on every tick.
+     */
+    private void addMonkey(MonkeyModel monkey){
+        this.monkeys.add(monkey);
+    }
+
+    /**
+     * This method returns true once the player has run out of lives.
+     */
+    public boolean isLost(){
+        return this.bloonOrg.getLives() <= 0;
+    }
+
+    /**
+     * This method returns true once the final level is over and every Bloon is gone.
+     */
+    public boolean isWon(){
+        return this.bloonOrg.getVictory() && this.bloons.getCount() < 1;
+    }
+
+    /**
+     * This method returns true once every Bloon in the current level has been spawned and removed.
+     */
+    public boolean isLevelOver(){
+        return this.bloons.getCount() < 1 && !this.bloonOrg.getInLevel();
+    }
+
+    /**
+     * Accessor method that returns the number of lives remaining.
+     */
+    public int getLives(){
+        return this.bloonOrg.getLives();
+    }
+
+    /**
+     * Accessor method that returns the level that the player is at.
+     */
+    public int getLevel(){
+        return this.bloonOrg.getLevel();
+    }
+
+    /**
+     * Accessor method that returns the number of darts and cannonballs still flying.
+     */
+    public int getDartCount(){
+        return this.dartOrg.getDartCount();
+    }
+
+    /**
+     * Accessor method that returns the number of monkeys that have been placed.
+     */
+    public int getMonkeyCount(){
+        return this.monkeys.size();
+    }
+
+    /**
+     * Accessor method that returns the monkey that was placed 'index'th, counting from 0.
+     */
+    public MonkeyModel getMonkey(int index){
+        return this.monkeys.get(index);
+    }
+
+    /**
+     * Accessor method that returns the WaveSchedule that the levels are spawned from.
+     */
+    public WaveSchedule getSchedule(){
+        return this.bloonOrg.getSchedule();
+    }
+
+    /**
+     * Accessor method that returns the seed for the random numbers of the current game.
+     */
+    public long getSeed(){
+        return this.seed;
+    }
+
+    /**
+     * Accessor method that returns the number of ticks since the game was started.
+     */
+    public long getTick(){
+        return this.tick;
+    }
+
+    /**
+     * Accessor method to get the MoneyTracker.
+     */
+    public MoneyTracker getBank(){
+        return this.bank;
+    }
+
+    /**
+     * Accessor method to get the BloonStore.
+     */
+    public BloonStore getBloons(){
+        return this.bloons;
+    }
+}
\ No newline at end of file
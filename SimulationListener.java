@@ -0,0 +1,47 @@
+package indy;
+
+/**
+ * This is the SimulationListener interface. The Simulation never touches the scene graph itself, so
+ * anything that needs to draw the game (the SceneRenderer) listens for the moments where something
+ * appears or disappears. All methods do nothing by default, so a headless run can ignore them.
+ */
+public interface SimulationListener {
+
+    /**
+     * Called whenever a new Bloon is spawned or split off from another Bloon, with the store and the
+     * slot that the new Bloon was added to (the slot is only valid until the end of the tick).
+     */
+    default void bloonAdded(BloonStore bloons, int slot){
+    }
+
+    /**
+     * Called whenever a Bloon is removed, either because it was popped or because it leaked, with the
+     * id of the Bloon.
+     */
+    default void bloonRemoved(int id){
+    }
+
+    /**
+     * Called whenever a Bloon loses a layer, at the position where the pop animation should play.
+     */
+    default void bloonPopped(double x, double y){
+    }
+
+    /**
+     * Called whenever a new Dart or Cannonball is shot.
+     */
+    default void dartAdded(Dart dart){
+    }
+
+    /**
+     * Called whenever a Dart or Cannonball is removed from the game.
+     */
+    default void dartRemoved(Dart dart){
+    }
+
+    /**
+     * Called whenever a Cannonball explodes, with the center and blast radius of the explosion.
+     */
+    default void explosion(double x, double y, int size){
+    }
+}
\ No newline at end of file
@@ -0,0 +1,149 @@
+package indy;
+
+import java.util.Arrays;
+import static indy.Constants.*;
+
+/**
+ * This is the SpatialGrid class. It splits the play field into equal square cells, and every tick each
+ * Bloon is listed in every cell that its box touches. A dart then only has to check the Bloons listed
+ * in the one cell that it is in, rather than every Bloon in the game. Anything outside the play field
+ * is counted as being in the nearest cell along the edge, so nothing is ever missed.
+ *
+ * Each cell is a linked list of entries kept in plain int arrays, and entries are always added to the
+ * end of a cell's list. Since the Bloons are added in order of their slot in the BloonStore, each cell
+ * lists its Bloons from furthest along the track to furthest back, just like the store itself.
+ *
+ * Explosions use the same grid to find the Bloons near them: every cell that the blast's box touches is
+ * checked, and each Bloon is only looked at in the one cell that its center is in, so that a Bloon listed
+ * in several of those cells is never counted twice.
+ */
+public class SpatialGrid {
+
+    private double cellSize;
+    private int columns;
+    private int rows;
+    private int[] head;
+    private int[] tail;
+    private int[] next;
+    private int[] slots;
+    private int entries;
+
+    /**
+     * This is the SpatialGrid class' Constructor. It takes in the width and height of the play field
+     * and the size of each cell, and creates the empty grid.
+     */
+    public SpatialGrid(double width, double height, double myCellSize){
+        this.cellSize = myCellSize;
+        this.columns = (int) Math.ceil(width / myCellSize);
+        this.rows = (int) Math.ceil(height / myCellSize);
+        this.head = new int[this.columns * this.rows];
+        this.tail = new int[this.columns * this.rows];
+        this.next = new int[GRID_STARTING_ENTRIES];
+        this.slots = new int[GRID_STARTING_ENTRIES];
+        this.clear();
+    }
+
+    /**
+     * This method is called at the start of every tick's collision checks, and it empties every cell
+     * (the entry arrays keep their capacity).
+     */
+    public void clear(){
+        Arrays.fill(this.head, -1);
+        Arrays.fill(this.tail, -1);
+        this.entries = 0;
+    }
+
+    /**
+     * This method lists the Bloon in the slot passed in in every cell that the box passed in touches.
+     */
+    public void insert(int slot, double minX, double minY, double maxX, double maxY){
+        int firstColumn = this.column(minX);
+        int lastColumn = this.column(maxX);
+        int firstRow = this.row(minY);
+        int lastRow = this.row(maxY);
+        for (int row = firstRow; row <= lastRow; row++){
+            for (int column = firstColumn; column <= lastColumn; column++){
+                this.append(row * this.columns + column, slot);
+            }
+        }
+    }
+
+    /**
+     * This helper method adds an entry for the slot passed in to the end of a cell's list, growing the
+     * entry arrays if they are full.
+     */
+    private void append(int cell, int slot){
+        if (this.entries == this.slots.length){
+            this.next = Arrays.copyOf(this.next, this.entries * 2);
+            this.slots = Arrays.copyOf(this.slots, this.entries * 2);
+        }
+        int entry = this.entries;
+        this.entries++;
+        this.slots[entry] = slot;
+        this.next[entry] = -1;
+
+        if (this.tail[cell] < 0){
+            this.head[cell] = entry;
+        }
+        else {
+            this.next[this.tail[cell]] = entry;
+        }
+        this.tail[cell] = entry;
+    }
+
+    /**
+     * These helper methods return the column or row that a coordinate falls in, keeping anything off
+     * the play field in the nearest column or row along the edge.
+     */
+    private int column(double x){
+        return Math.max(0, Math.min((int) Math.floor(x / this.cellSize), this.columns - 1));
+    }
+
+    private int row(double y){
+        return Math.max(0, Math.min((int) Math.floor(y / this.cellSize), this.rows - 1));
+    }
+
+    /**
+     * These methods return the column or row that a coordinate falls in (see above), and the cell in
+     * the row and column passed in.
+     */
+    public int getColumn(double x){
+        return this.column(x);
+    }
+
+    public int getRow(double y){
+        return this.row(y);
+    }
+
+    public int getCell(int row, int column){
+        return row * this.columns + column;
+    }
+
+    /**
+     * This method returns the cell that the point passed in falls in.
+     */
+    public int cellAt(double x, double y){
+        return this.row(y) * this.columns + this.column(x);
+    }
+
+    /**
+     * This method returns the first entry in the cell passed in, or -1 if the cell is empty.
+     */
+    public int first(int cell){
+        return this.head[cell];
+    }
+
+    /**
+     * This method returns the entry after the one passed in within the same cell, or -1 if there is none.
+     */
+    public int next(int entry){
+        return this.next[entry];
+    }
+
+    /**
+     * Accessor method to get the slot of the Bloon that the entry passed in lists.
+     */
+    public int getSlot(int entry){
+        return this.slots[entry];
+    }
+}
\ No newline at end of file
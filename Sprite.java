@@ -0,0 +1,131 @@
+package indy;
+
+/**
+ * This is the Sprite class. It is a small premultiplied ARGB picture (a "stamp") that the Raster copies
+ * into its pixels, such as a Bloon of one strength or a dart pointing in one direction. The anchor is the
+ * pixel of the sprite that is placed on the point being drawn. When the sprite is made, it works out for
+ * every row which pixels are see-through at either end, and which run in the middle is fully opaque, so
+ * that the Raster can skip the first, copy the run straight over, and only blend the edges.
+ */
+public class Sprite {
+
+    private int[] pixels;
+    private int width;
+    private int height;
+    private int anchorX;
+    private int anchorY;
+    private int[] rowStart;
+    private int[] rowEnd;
+    private int[] opaqueStart;
+    private int[] opaqueEnd;
+
+    /**
+     * This is the Sprite class' Constructor. It takes in the sprite's pixels (row by row), its size, and
+     * its anchor, and it finds the visible and opaque stretch of every row.
+     */
+    public Sprite(int[] myPixels, int myWidth, int myHeight, int myAnchorX, int myAnchorY){
+        this.pixels = myPixels;
+        this.width = myWidth;
+        this.height = myHeight;
+        this.anchorX = myAnchorX;
+        this.anchorY = myAnchorY;
+        this.rowStart = new int[myHeight];
+        this.rowEnd = new int[myHeight];
+        this.opaqueStart = new int[myHeight];
+        this.opaqueEnd = new int[myHeight];
+
+        for (int row = 0; row < myHeight; row++){
+            int base = row * myWidth;
+            int start = 0;
+            int end = myWidth;
+            while (start < end && myPixels[base + start] == 0){
+                start++;
+            }
+            while (end > start && myPixels[base + end - 1] == 0){
+                end--;
+            }
+
+            // Find the longest run of fully opaque pixels in the row.
+            int bestStart = start;
+            int bestEnd = start;
+            int run = start;
+            for (int column = start; column <= end; column++){
+                if (column == end || (myPixels[base + column] >>> 24) != 0xFF){
+                    if (column - run > bestEnd - bestStart){
+                        bestStart = run;
+                        bestEnd = column;
+                    }
+                    run = column + 1;
+                }
+            }
+            this.rowStart[row] = start;
+            this.rowEnd[row] = end;
+            this.opaqueStart[row] = bestStart;
+            this.opaqueEnd[row] = bestEnd;
+        }
+    }
+
+    /**
+     * Accessor method to get the sprite's pixels.
+     */
+    public int[] getPixels(){
+        return this.pixels;
+    }
+
+    /**
+     * Accessor method to get the sprite's width.
+     */
+    public int getWidth(){
+        return this.width;
+    }
+
+    /**
+     * Accessor method to get the sprite's height.
+     */
+    public int getHeight(){
+        return this.height;
+    }
+
+    /**
+     * Accessor method to get the column of the sprite that is placed on the X it is stamped at.
+     */
+    public int getAnchorX(){
+        return this.anchorX;
+    }
+
+    /**
+     * Accessor method to get the row of the sprite that is placed on the Y it is stamped at.
+     */
+    public int getAnchorY(){
+        return this.anchorY;
+    }
+
+    /**
+     * Accessor method to get the first visible column of a row.
+     */
+    public int getRowStart(int row){
+        return this.rowStart[row];
+    }
+
+    /**
+     * Accessor method to get the last-plus-one visible column of a row.
+     */
+    public int getRowEnd(int row){
+        return this.rowEnd[row];
+    }
+
+    /**
+     * Accessor method to get the first column of a row's opaque run.
+     */
+    public int getOpaqueStart(int row){
+        return this.opaqueStart[row];
+    }
+
+    /**
+     * Accessor method to get the last-plus-one column of a row's opaque run (which is empty if
+     * it is equal to the first).
+     */
+    public int getOpaqueEnd(int row){
+        return this.opaqueEnd[row];
+    }
+}
\ No newline at end of file
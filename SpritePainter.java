@@ -0,0 +1,259 @@
+package indy;
+
+import static indy.Constants.*;
+
+/**
+ * This is the SpritePainter class. It paints the shapes that make up a Sprite (ellipses, polygons, and
+ * their outlines) onto a small premultiplied ARGB picture, so that the PixelRenderer can build every stamp
+ * it needs once, before the game starts. Each pixel is split into SPRITE_SUBSAMPLES x SPRITE_SUBSAMPLES
+ * points, and a shape covers the pixel by the share of those points that it contains, which smooths the
+ * edges the way JavaFX does. Shapes are given relative to the anchor, which sits in the middle of the
+ * picture. Like the Raster, it uses no JavaFX.
+ */
+public class SpritePainter {
+
+    private int[] pixels;
+    private int width;
+    private int height;
+    private int anchorX;
+    private int anchorY;
+
+    /**
+     * This is the SpritePainter class' Constructor. It takes in how far the picture reaches from its
+     * anchor in each direction, and creates the see-through picture.
+     */
+    public SpritePainter(double reachX, double reachY){
+        this.anchorX = (int) Math.ceil(reachX) + 1;
+        this.anchorY = (int) Math.ceil(reachY) + 1;
+        this.width = this.anchorX * 2;
+        this.height = this.anchorY * 2;
+        this.pixels = new int[this.width * this.height];
+    }
+
+    /**
+     * This method builds the stamp for a Bloon of one style: its tail (a triangle hanging below it from
+     * tailY1 to tailY2), its body, and, if 'filmFill' is not 0, its camo film. The colours are
+     * premultiplied ARGB pixels, and the outlines are BLOON_BORDER_WIDTH wide, matching a BloonView.
+     */
+    public static Sprite bloon(double xRad, double yRad, double tailY1, double tailY2, int tailFill,
+                               int tailStroke, int bodyFill, int bodyStroke, int filmFill, int filmStroke){
+        double reachY = Math.max(yRad, Math.max(tailY1, tailY2)) + BLOON_BORDER_WIDTH;
+        SpritePainter painter = new SpritePainter(xRad + BLOON_BORDER_WIDTH, reachY);
+        double[] tailXs = {0, -TAIL_RAD, TAIL_RAD};
+        double[] tailYs = {tailY1, tailY2, tailY2};
+        painter.fillPolygon(tailXs, tailYs, tailFill);
+        painter.strokePolygon(tailXs, tailYs, BLOON_BORDER_WIDTH, tailStroke);
+        painter.fillEllipse(xRad, yRad, bodyFill);
+        painter.strokeEllipse(xRad, yRad, BLOON_BORDER_WIDTH, bodyStroke);
+        if (filmFill != 0){
+            painter.fillEllipse(xRad, CAMO_FILM_HEIGHT, filmFill);
+            painter.strokeEllipse(xRad, CAMO_FILM_HEIGHT, BLOON_BORDER_WIDTH, filmStroke);
+        }
+        return painter.toSprite();
+    }
+
+    /**
+     * This method builds the stamp for a dart pointing in the direction passed in: a DART_WIDTH by
+     * DART_HEIGHT rectangle centered on the anchor.
+     */
+    public static Sprite dart(double dirX, double dirY, int color){
+        double lengthX = dirX * DART_HEIGHT/2.0;
+        double lengthY = dirY * DART_HEIGHT/2.0;
+        double widthX = -dirY * DART_WIDTH/2.0;
+        double widthY = dirX * DART_WIDTH/2.0;
+        SpritePainter painter = new SpritePainter(DART_HEIGHT/2.0, DART_HEIGHT/2.0);
+        painter.fillPolygon(new double[]{lengthX + widthX, lengthX - widthX, -lengthX - widthX, -lengthX + widthX},
+                new double[]{lengthY + widthY, lengthY - widthY, -lengthY - widthY, -lengthY + widthY}, color);
+        return painter.toSprite();
+    }
+
+    /**
+     * This method builds the stamp for a filled circle, such as a cannonball.
+     */
+    public static Sprite circle(double radius, int color){
+        SpritePainter painter = new SpritePainter(radius, radius);
+        painter.fillEllipse(radius, radius, color);
+        return painter.toSprite();
+    }
+
+    /**
+     * This method builds the stamp for the pop shape, stretched by the scales passed in around the center
+     * of its bounds (as JavaFX scales a Polygon), with its position being the anchor.
+     */
+    public static Sprite pop(double xScale, double yScale, int color){
+        double[] xs = new double[POP_SHAPES.length / 2];
+        double[] ys = new double[POP_SHAPES.length / 2];
+        double centerX = popCenter(0);
+        double centerY = popCenter(1);
+        double reach = 0;
+        for (int i = 0; i < xs.length; i++){
+            xs[i] = centerX + (POP_SHAPES[i * 2] - centerX) * xScale;
+            ys[i] = centerY + (POP_SHAPES[i * 2 + 1] - centerY) * yScale;
+            reach = Math.max(reach, Math.max(Math.abs(xs[i]), Math.abs(ys[i])));
+        }
+        SpritePainter painter = new SpritePainter(reach, reach);
+        painter.fillPolygon(xs, ys, color);
+        return painter.toSprite();
+    }
+
+    /**
+     * This method returns the middle of the pop shape's x (0) or y (1) coordinates, which is the point
+     * JavaFX scales and rotates a pop around.
+     */
+    public static double popCenter(int axis){
+        double min = Double.MAX_VALUE;
+        double max = -Double.MAX_VALUE;
+        for (int i = axis; i < POP_SHAPES.length; i += 2){
+            min = Math.min(min, POP_SHAPES[i]);
+            max = Math.max(max, POP_SHAPES[i]);
+        }
+        return (min + max) / 2;
+    }
+
+    /**
+     * This method fills an ellipse centered on the anchor with the radii passed in.
+     */
+    public void fillEllipse(double xRad, double yRad, int color){
+        for (int y = 0; y < this.height; y++){
+            for (int x = 0; x < this.width; x++){
+                int inside = 0;
+                for (int sample = 0; sample < SPRITE_SUBSAMPLES * SPRITE_SUBSAMPLES; sample++){
+                    double xScaled = this.sampleX(x, sample) / xRad;
+                    double yScaled = this.sampleY(y, sample) / yRad;
+                    if (xScaled*xScaled + yScaled*yScaled <= 1){
+                        inside++;
+                    }
+                }
+                this.cover(x, y, inside, color);
+            }
+        }
+    }
+
+    /**
+     * This method paints the outline of an ellipse centered on the anchor: the ring between the ellipse
+     * shrunk and grown by half of the outline's width.
+     */
+    public void strokeEllipse(double xRad, double yRad, double lineWidth, int color){
+        double half = lineWidth / 2;
+        for (int y = 0; y < this.height; y++){
+            for (int x = 0; x < this.width; x++){
+                int inside = 0;
+                for (int sample = 0; sample < SPRITE_SUBSAMPLES * SPRITE_SUBSAMPLES; sample++){
+                    double sampleX = this.sampleX(x, sample);
+                    double sampleY = this.sampleY(y, sample);
+                    double outerX = sampleX / (xRad + half);
+                    double outerY = sampleY / (yRad + half);
+                    double innerX = sampleX / Math.max(xRad - half, 1e-9);
+                    double innerY = sampleY / Math.max(yRad - half, 1e-9);
+                    if (outerX*outerX + outerY*outerY <= 1 && innerX*innerX + innerY*innerY > 1){
+                        inside++;
+                    }
+                }
+                this.cover(x, y, inside, color);
+            }
+        }
+    }
+
+    /**
+     * This method fills a polygon (relative to the anchor) using the even-odd rule.
+     */
+    public void fillPolygon(double[] xs, double[] ys, int color){
+        for (int y = 0; y < this.height; y++){
+            for (int x = 0; x < this.width; x++){
+                int inside = 0;
+                for (int sample = 0; sample < SPRITE_SUBSAMPLES * SPRITE_SUBSAMPLES; sample++){
+                    if (insidePolygon(xs, ys, this.sampleX(x, sample), this.sampleY(y, sample))){
+                        inside++;
+                    }
+                }
+                this.cover(x, y, inside, color);
+            }
+        }
+    }
+
+    /**
+     * This method paints the outline of a polygon (relative to the anchor): every point within half of
+     * the outline's width of one of its edges.
+     */
+    public void strokePolygon(double[] xs, double[] ys, double lineWidth, int color){
+        double half = lineWidth / 2;
+        for (int y = 0; y < this.height; y++){
+            for (int x = 0; x < this.width; x++){
+                int inside = 0;
+                for (int sample = 0; sample < SPRITE_SUBSAMPLES * SPRITE_SUBSAMPLES; sample++){
+                    double sampleX = this.sampleX(x, sample);
+                    double sampleY = this.sampleY(y, sample);
+                    for (int i = 0; i < xs.length; i++){
+                        int j = (i + 1) % xs.length;
+                        if (distanceToSegment(sampleX, sampleY, xs[i], ys[i], xs[j], ys[j]) <= half){
+                            inside++;
+                            break;
+                        }
+                    }
+                }
+                this.cover(x, y, inside, color);
+            }
+        }
+    }
+
+    /**
+     * These helper methods return the position (relative to the anchor) of one of the sample points
+     * inside a pixel.
+     */
+    private double sampleX(int x, int sample){
+        return x - this.anchorX + (sample % SPRITE_SUBSAMPLES + 0.5) / SPRITE_SUBSAMPLES;
+    }
+
+    private double sampleY(int y, int sample){
+        return y - this.anchorY + (sample / SPRITE_SUBSAMPLES + 0.5) / SPRITE_SUBSAMPLES;
+    }
+
+    /**
+     * This helper method blends a colour over a pixel, scaled by the share of its sample points covered.
+     */
+    private void cover(int x, int y, int inside, int color){
+        if (inside > 0){
+            int index = y * this.width + x;
+            double coverage = (double) inside / (SPRITE_SUBSAMPLES * SPRITE_SUBSAMPLES);
+            this.pixels[index] = Raster.blend(Raster.scale(color, coverage), this.pixels[index]);
+        }
+    }
+
+    /**
+     * This helper method checks whether a point is inside a polygon, by counting how many of its edges
+     * a line running to the right of the point crosses.
+     */
+    private static boolean insidePolygon(double[] xs, double[] ys, double x, double y){
+        boolean inside = false;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i, i++){
+            if ((ys[i] > y) != (ys[j] > y) && x < xs[j] + (y - ys[j]) * (xs[i] - xs[j]) / (ys[i] - ys[j])){
+                inside = !inside;
+            }
+        }
+        return inside;
+    }
+
+    /**
+     * This helper method returns the distance from a point to a line segment.
+     */
+    private static double distanceToSegment(double x, double y, double startX, double startY,
+                                            double endX, double endY){
+        double segmentX = endX - startX;
+        double segmentY = endY - startY;
+        double lengthSquared = segmentX*segmentX + segmentY*segmentY;
+        double t = 0;
+        if (lengthSquared > 0){
+            t = Math.max(0, Math.min(1, ((x - startX)*segmentX + (y - startY)*segmentY) / lengthSquared));
+        }
+        double xDiff = startX + segmentX * t - x;
+        double yDiff = startY + segmentY * t - y;
+        return Math.sqrt(xDiff*xDiff + yDiff*yDiff);
+    }
+
+    /**
+     * This method returns the finished picture as a Sprite.
+     */
+    public Sprite toSprite(){
+        return new Sprite(this.pixels, this.width, this.height, this.anchorX, this.anchorY);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,285 @@
+package indy;
+
+import java.util.Arrays;
+import static indy.Constants.*;
+
+/**
+ * This is the TargetIndex class. It answers the monkeys' questions about which Bloon to aim at, for each
+ * of the targeting priorities: the Bloon in range that is furthest along the track (First), furthest back
+ * (Last), strongest (Strong), or nearest to the monkey (Close). Every answer takes a handful of binary
+ * searches, rather than a look at every Bloon in range.
+ *
+ * The index keeps two lists of Bloons, each sorted from furthest along the track to furthest back like
+ * the BloonStore itself: one of every living Bloon, for monkeys that can see camo Bloons, and one of only
+ * the Bloons that aren't camo, for monkeys that can't. A stretch of track in range is then just a run of
+ * each list, found by binary searching the distances traveled. For the Strong priority, each list also has
+ * a segment tree (a binary tree over the list where each node holds the strongest Bloon below it), so the
+ * strongest Bloon in a run is found by combining a few nodes. For the Close priority, a monkey splits its
+ * stretches at the corners of the track, since along one straight segment the distance to the monkey only
+ * shrinks and then grows again, so the nearest Bloon is always one of the two on either side of the
+ * segment's closest point.
+ *
+ * The Bloons only move or change between the monkeys' turns to shoot, so the Simulation marks the index
+ * as out of date once per tick, and it is rebuilt the first time a monkey asks for a target in that tick
+ * (and its segment trees only the first time a Strong monkey asks). The lists keep their capacity, so
+ * rebuilding creates nothing once the game has warmed up.
+ */
+public class TargetIndex {
+
+    private static final int HIDDEN = 0;
+    private static final int ALL = 1;
+
+    private BloonStore bloons;
+    // slots[list][position], where list is HIDDEN (no camo Bloons) or ALL.
+    private int[][] slots;
+    private double[][] distances;
+    private int[][] trees;
+    private int[] counts;
+    private int[] leaves;
+    private boolean built;
+    private boolean treesBuilt;
+
+    /**
+     * This is the TargetIndex class' Constructor. It is associated with the BloonStore, and it creates
+     * the two lists with the BloonStore's starting capacity.
+     */
+    public TargetIndex(BloonStore myBloons){
+        this.bloons = myBloons;
+        this.slots = new int[2][STARTING_BLOON_CAPACITY];
+        this.distances = new double[2][STARTING_BLOON_CAPACITY];
+        this.trees = new int[2][2 * STARTING_BLOON_CAPACITY];
+        this.counts = new int[2];
+        this.leaves = new int[2];
+        this.built = false;
+        this.treesBuilt = false;
+    }
+
+    /**
+     * This method is called from the Simulation on every tick, once the Bloons have moved and spawned,
+     * and it marks the index as out of date so that it is rebuilt before the next target is found.
+     */
+    public void invalidate(){
+        this.built = false;
+        this.treesBuilt = false;
+    }
+
+    /**
+     * This method returns the slot of the Bloon within the stretches of track passed in ({start, end,
+     * start, end...}, as distances along the track) that is furthest along the track, or -1 if there
+     * isn't one. Camo Bloons are left out unless 'seesCamo' is true.
+     */
+    public int first(boolean seesCamo, double[] intervals){
+        int list = this.prepare(seesCamo);
+        for (int i = intervals.length - 2; i >= 0; i -= 2){
+            int position = this.firstAtMost(list, intervals[i + 1]);
+            if (position < this.counts[list] && this.distances[list][position] >= intervals[i]){
+                return this.slots[list][position];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method returns the slot of the Bloon within the stretches of track passed in that is furthest
+     * back along the track, or -1 if there isn't one.
+     */
+    public int last(boolean seesCamo, double[] intervals){
+        int list = this.prepare(seesCamo);
+        for (int i = 0; i < intervals.length; i += 2){
+            int position = this.firstBelow(list, intervals[i]) - 1;
+            if (position >= 0 && this.distances[list][position] <= intervals[i + 1]){
+                return this.slots[list][position];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This method returns the slot of the strongest Bloon within the stretches of track passed in (the
+     * one furthest along the track if there is a tie), or -1 if there isn't one.
+     */
+    public int strong(boolean seesCamo, double[] intervals){
+        int list = this.prepare(seesCamo);
+        if (!this.treesBuilt){
+            this.buildTree(HIDDEN);
+            this.buildTree(ALL);
+            this.treesBuilt = true;
+        }
+        int best = -1;
+        for (int i = 0; i < intervals.length; i += 2){
+            int low = this.firstAtMost(list, intervals[i + 1]) + this.leaves[list];
+            int high = this.firstBelow(list, intervals[i]) + this.leaves[list];
+            while (low < high){
+                if ((low & 1) == 1){
+                    best = this.stronger(list, best, this.trees[list][low]);
+                    low++;
+                }
+                if ((high & 1) == 1){
+                    high--;
+                    best = this.stronger(list, best, this.trees[list][high]);
+                }
+                low >>= 1;
+                high >>= 1;
+            }
+        }
+        return best < 0 ? -1 : this.slots[list][best];
+    }
+
+    /**
+     * This method returns the slot of the Bloon nearest to the point (x, y) within the pieces of track
+     * passed in ({start, end, closest, start, end, closest...}, where each piece lies on one straight
+     * segment of the track and 'closest' is the distance along the track of the piece's nearest point to
+     * (x, y)), or -1 if there isn't one. If two Bloons are just as near, the one further along wins.
+     */
+    public int close(boolean seesCamo, double[] pieces, double x, double y){
+        int list = this.prepare(seesCamo);
+        int best = -1;
+        double bestDistance = Double.MAX_VALUE;
+        for (int i = 0; i < pieces.length; i += 3){
+            int behind = this.firstAtMost(list, pieces[i + 2]);
+            int ahead = behind - 1;
+            if (behind < this.counts[list] && this.distances[list][behind] >= pieces[i]){
+                double distance = this.bloons.distanceSquaredTo(this.slots[list][behind], x, y);
+                if (distance < bestDistance || (distance == bestDistance && behind < best)){
+                    best = behind;
+                    bestDistance = distance;
+                }
+            }
+            if (ahead >= 0 && this.distances[list][ahead] <= pieces[i + 1]){
+                double distance = this.bloons.distanceSquaredTo(this.slots[list][ahead], x, y);
+                if (distance < bestDistance || (distance == bestDistance && ahead < best)){
+                    best = ahead;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best < 0 ? -1 : this.slots[list][best];
+    }
+
+    /**
+     * Accessor method to get the BloonStore that the index lists.
+     */
+    public BloonStore getBloons(){
+        return this.bloons;
+    }
+
+    /**
+     * This helper method rebuilds the lists if they are out of date, and returns the list to search.
+     */
+    private int prepare(boolean seesCamo){
+        if (!this.built){
+            this.build();
+            this.built = true;
+        }
+        return seesCamo ? ALL : HIDDEN;
+    }
+
+    /**
+     * This helper method rebuilds both lists in a single pass over the BloonStore, growing them first if
+     * the store has grown past their capacity.
+     */
+    private void build(){
+        int size = this.bloons.getSize();
+        if (size > this.slots[ALL].length){
+            int capacity = Math.max(size, this.slots[ALL].length * 2);
+            for (int list = HIDDEN; list <= ALL; list++){
+                this.slots[list] = Arrays.copyOf(this.slots[list], capacity);
+                this.distances[list] = Arrays.copyOf(this.distances[list], capacity);
+            }
+        }
+        this.counts[HIDDEN] = 0;
+        this.counts[ALL] = 0;
+        for (int slot = 0; slot < size; slot++){
+            if (this.bloons.isAlive(slot)){
+                this.append(ALL, slot);
+                if (!this.bloons.getCamo(slot)){
+                    this.append(HIDDEN, slot);
+                }
+            }
+        }
+    }
+
+    /**
+     * This helper method adds the Bloon in the slot passed in to the end of a list.
+     */
+    private void append(int list, int slot){
+        int position = this.counts[list];
+        this.slots[list][position] = slot;
+        this.distances[list][position] = this.bloons.getDistance(slot);
+        this.counts[list]++;
+    }
+
+    /**
+     * This helper method rebuilds a list's segment tree. The leaves (the second half of the tree's
+     * array) hold the list's positions, padded with -1, and every other node holds the stronger of
+     * its two children, from the bottom up.
+     */
+    private void buildTree(int list){
+        int leafCount = 1;
+        while (leafCount < this.counts[list]){
+            leafCount *= 2;
+        }
+        this.leaves[list] = leafCount;
+        if (2 * leafCount > this.trees[list].length){
+            this.trees[list] = new int[2 * leafCount];
+        }
+        int[] tree = this.trees[list];
+        for (int position = 0; position < leafCount; position++){
+            tree[leafCount + position] = position < this.counts[list] ? position : -1;
+        }
+        for (int node = leafCount - 1; node > 0; node--){
+            tree[node] = this.stronger(list, tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    /**
+     * This helper method returns whichever of the two positions in a list holds the stronger Bloon (or the
+     * one further along the track if they are just as strong), where -1 means no Bloon at all.
+     */
+    private int stronger(int list, int a, int b){
+        if (a < 0 || b < 0){
+            return Math.max(a, b);
+        }
+        int strengthA = this.bloons.getStrength(this.slots[list][a]);
+        int strengthB = this.bloons.getStrength(this.slots[list][b]);
+        if (strengthA != strengthB){
+            return strengthA > strengthB ? a : b;
+        }
+        return Math.min(a, b);
+    }
+
+    /**
+     * These helper methods binary search a list (which is sorted from the greatest distance traveled to
+     * the least) for the first position whose distance is no more than, or less than, the one passed in.
+     * Either returns the list's length if there is no such position.
+     */
+    private int firstAtMost(int list, double distance){
+        int low = 0;
+        int high = this.counts[list];
+        while (low < high){
+            int middle = (low + high) >>> 1;
+            if (this.distances[list][middle] > distance){
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int firstBelow(int list, double distance){
+        int low = 0;
+        int high = this.counts[list];
+        while (low < high){
+            int middle = (low + high) >>> 1;
+            if (this.distances[list][middle] >= distance){
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
\ No newline at end of file
@@ -19,7 +19,8 @@ import static indy.Constants.*;
  * This is the UpgradePanel class. It sets up and modifies the upgrade panel that show up whenever any
  * monkey is selected during gameplay. It contains instance variables for the different icons and types
  * of upgrades that correspond to each type of monkey, and depending on which monkey is selected, it
- * shows the corresponding upgrade panel, which allows the user to upgrade their monkeys.
+ * shows the corresponding upgrade panel, which allows the user to upgrade their monkeys. It also lets the
+ * user switch which Bloon the selected monkey targets (First, Last, Strong, or Close).
  */
 public class UpgradePanel {
 
@@ -35,20 +36,24 @@ public class UpgradePanel {
     private VBox bombShooterUpgrades;
     private VBox top;
     private Text typeText;
+    private Text priorityText;
     private MoneyTracker bank;
+    private Simulation sim;
 
     /**
      * This is the UpgradePanel class' Constructor. It sets up the BorderPanes for the local root and the
      * ones that correspond to the game screen itself, and calls an array of methods to set up the visual
      * and functional aspects of the upgrade panel, its buttons, and the specific monkeys.
      */
-    public UpgradePanel(BorderPane myGameRoot, BorderPane myGameRight, MoneyTracker myBank){
+    public UpgradePanel(BorderPane myGameRoot, BorderPane myGameRight, Simulation simulation){
         this.root = new BorderPane();
         this.gameRight = myGameRight;
         this.gameRoot = myGameRoot;
-        this.bank = myBank;
+        this.sim = simulation;
+        this.bank = simulation.getBank();
 
         this.setUpPanel();
+        this.setUpPriorityButton();
         this.setUpBackButton();
         this.setUpDartMonkeyUpgrades();
         this.setUpNinjaMonkeyUpgrades();
@@ -65,6 +70,7 @@ public class UpgradePanel {
 
         this.top.getChildren().removeAll(this.ninjaPic, this.dartPic, this.bombPic);
         this.root.setCenter(null);
+        this.showPriority();
 
         switch (this.monkey.getMonkeyType()){
             case DART_MONKEY_TYPE:
@@ -87,6 +93,39 @@ public class UpgradePanel {
         }
     }
 
+    /**
+     * This method is called from the Constructor, and it styles and sets the mouse functionality of
+     * a button above the 'Back' button that shows the selected monkey's targeting priority and moves
+     * it on to the next one whenever it is clicked.
+     */
+    private void setUpPriorityButton(){
+        this.priorityText = new Text();
+        this.priorityText.setFill(Color.WHITE);
+        this.priorityText.setStroke(BROWN_3);
+        this.priorityText.setFont(MID_GAME);
+        this.priorityText.setTranslateY(PRIORITY_BUTTON_OFFSET);
+        this.priorityText.setOnMouseEntered((MouseEvent a) -> this.priorityText.setFont(GAME));
+        this.priorityText.setOnMouseExited((MouseEvent a) -> this.priorityText.setFont(MID_GAME));
+        this.priorityText.setOnMouseClicked((MouseEvent a) -> this.cyclePriority());
+    }
+
+    /**
+     * This method is called when the priority button is clicked, and it switches the selected monkey to
+     * the next targeting priority, going back to the first after the last.
+     */
+    private void cyclePriority(){
+        MonkeyModel model = this.monkey.getModel();
+        this.sim.setPriority(model, (model.getPriority() + 1) % PRIORITY_NAMES.length);
+        this.showPriority();
+    }
+
+    /**
+     * This helper method shows the selected monkey's targeting priority on the priority button.
+     */
+    private void showPriority(){
+        this.priorityText.setText("Target: " + PRIORITY_NAMES[this.monkey.getModel().getPriority()]);
+    }
+
     /**
      * This method is called from the Constructor, and it styles and sets the mouse functionality of
      * a 'Back' button at the bottom of the upgrade panel that returns the user to the monkey shop.
@@ -103,7 +142,7 @@ public class UpgradePanel {
 
         VBox bottom = new VBox();
         bottom.setAlignment(Pos.CENTER);
-        bottom.getChildren().addAll(back);
+        bottom.getChildren().addAll(this.priorityText, back);
         this.root.setBottom(bottom);
     }
 
@@ -220,13 +259,13 @@ public class UpgradePanel {
     }
 
     /**
-     * This method is called when one of the upgrade texts is clicked for a given monkey. It calls the
-     * monkey's upgrade method, and if it returns true, then it updates the money to adjust for the cost
-     * and removes the button's visual animation.
+     * This method is called when one of the upgrade texts is clicked for a given monkey. It asks the
+     * Simulation to sell the monkey the upgrade (which takes away the cost), and if it does, then it
+     * updates the monkey's range circle and removes the button's visual animation.
      */
     private void buyUpgrade(int upgradeNum, int cost, Text text){
-        if (this.monkey.upgrade(upgradeNum, this.bank.getCash(), cost)){
-            this.bank.modifyCash(-cost);
+        if (this.sim.buyUpgrade(this.monkey.getModel(), upgradeNum, cost)){
+            this.monkey.upgraded();
             text.setFont(GAME);
             text.setFill(Color.WHITE);
         }
@@ -0,0 +1,120 @@
+package indy;
+
+import java.util.Arrays;
+import static indy.Constants.*;
+import static indy.SimConstants.*;
+
+/**
+ * This is the WaveSchedule class. It is built once from the levels ({level}{wave}{bloonCount,
+ * bloonStrength, bloonSpacing, camo}), and it turns every Bloon that the levels spawn into an event in one
+ * flat array of ints: the tick of the level on which the Bloon spawns, its strength, and whether it is
+ * camo. The events are sorted by level and then by tick, so the BloonOrganizer only has to keep a cursor
+ * into the array and, on each tick, spawn every event that is due and move the cursor past them.
+ *
+ * A wave's spacing is measured in the same units as before (a spacing of 1 is 1 / BLOON_TIMER_INCREMENT
+ * ticks), but it is turned into a whole number of ticks once, here, so the Bloons no longer drift later
+ * from adding up a timer a little at a time. Like before, the tick after the last Bloon of a wave is spent
+ * moving on to the next wave, and a wave with a strength of 0 spawns nothing and is just a pause.
+ */
+public class WaveSchedule {
+
+    private static final int EVENT_SIZE = 3;
+    private static final int TICK = 0;
+    private static final int STRENGTH = 1;
+    private static final int CAMO = 2;
+
+    // events[event * EVENT_SIZE + {TICK, STRENGTH, CAMO}]
+    private int[] events;
+    private int[] firstEvent;
+    private int[] length;
+
+    /**
+     * This is the WaveSchedule class' Constructor. It takes in the levels and lays out every level's
+     * events one after another, remembering where each level's events start and the tick on which
+     * each level has finished spawning.
+     */
+    public WaveSchedule(int[][][] levels){
+        int total = 0;
+        for (int[][] level : levels){
+            for (int[] wave : level){
+                if (wave[STRENGTH_INDEX] > 0){
+                    total += wave[COUNT_INDEX];
+                }
+            }
+        }
+        this.events = new int[total * EVENT_SIZE];
+        this.firstEvent = new int[levels.length + 1];
+        this.length = new int[levels.length];
+
+        int event = 0;
+        for (int level = 0; level < levels.length; level++){
+            this.firstEvent[level] = event;
+            int tick = 0;
+            for (int[] wave : levels[level]){
+                int spacing = (int) Math.round(wave[SPACING_INDEX] / BLOON_TIMER_INCREMENT);
+                for (int i = 0; i < wave[COUNT_INDEX]; i++){
+                    tick += spacing;
+                    if (wave[STRENGTH_INDEX] > 0){
+                        this.events[event * EVENT_SIZE + TICK] = tick - 1;
+                        this.events[event * EVENT_SIZE + STRENGTH] = wave[STRENGTH_INDEX];
+                        this.events[event * EVENT_SIZE + CAMO] = wave[CAMO_INDEX];
+                        event++;
+                    }
+                }
+                // The next tick moves on to the next wave (or, after the last wave, ends the level).
+                tick++;
+            }
+            this.length[level] = tick - 1;
+        }
+        this.firstEvent[levels.length] = event;
+    }
+
+    /**
+     * Accessor method to get the number of levels.
+     */
+    public int getLevelCount(){
+        return this.length.length;
+    }
+
+    /**
+     * Accessor method to get the first event of the level passed in. Passing in the number of levels
+     * returns the total number of events, so the events of a level always run up to the first event
+     * of the next one.
+     */
+    public int getFirstEvent(int level){
+        return this.firstEvent[level];
+    }
+
+    /**
+     * Accessor method to get the tick of the level (counting from 0 when the level is started) on which
+     * the level has spawned everything and is over.
+     */
+    public int getLength(int level){
+        return this.length[level];
+    }
+
+    /**
+     * Accessor methods to get the tick of the level on which the event passed in spawns its Bloon,
+     * and the strength and camo of that Bloon.
+     */
+    public int getTick(int event){
+        return this.events[event * EVENT_SIZE + TICK];
+    }
+
+    public int getStrength(int event){
+        return this.events[event * EVENT_SIZE + STRENGTH];
+    }
+
+    public boolean getCamo(int event){
+        return this.events[event * EVENT_SIZE + CAMO] == 1;
+    }
+
+    /**
+     * This method returns a checksum of every event and level length, so that a replay can tell whether
+     * it is being played back with the same levels that it was recorded with.
+     */
+    public int checksum(){
+        return 31 * (31 * Arrays.hashCode(this.events) + Arrays.hashCode(this.firstEvent))
+                + Arrays.hashCode(this.length);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,167 @@
+package indy;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Random;
+import static indy.Constants.*;
+import static indy.SimConstants.*;
+
+/**
+ * This is the BenchFixture class. It builds the same parts that a Simulation is made of (the BloonStore,
+ * the Bloon and Dart organizers, the TargetIndex, and the monkeys), but hands each of them out, so that a
+ * benchmark can time one hot path on its own. The Bloons are spread out along the track, from the furthest
+ * along in slot 0 back towards the start, and come either from the levels (every Bloon that the WAVES
+ * schedule spawns, in order, starting over once they run out) or from a synthetic wave that cycles through
+ * every strength and makes every fifth Bloon camo. Everything random comes from a fixed seed, so every run
+ * of a benchmark starts from exactly the same state.
+ *
+ * Moving Bloons and darts changes the fixture, so the benchmarks that do take a snapshot of it with the
+ * save method once it is built, and put it back with the restore method before each measured batch.
+ */
+public class BenchFixture {
+
+    public static final String SYNTHETIC = "synthetic";
+    public static final String LEVELS = "levels";
+
+    private static final double SPREAD = 0.9;
+    private static final int CAMO_EVERY = 5;
+    private static final int[] SYNTHETIC_STRENGTHS = {RED_STRENGTH, BLUE_STRENGTH, GREEN_STRENGTH,
+            YELLOW_STRENGTH, PINK_STRENGTH, BLACK_STRENGTH, LEAD_STRENGTH};
+    private static final int[] MONKEY_TYPES = {DART_MONKEY_TYPE, NINJA_MONKEY_TYPE, BOMB_SHOOTER_TYPE};
+    private static final int[] PRIORITIES = {FIRST_PRIORITY, LAST_PRIORITY, STRONG_PRIORITY, CLOSE_PRIORITY};
+    private static final int SNAPSHOT_BYTES_PER_BLOON = 96;
+    private static final int SNAPSHOT_BYTES_PER_DART = 160;
+
+    private BloonStore bloons;
+    private MoneyTracker bank;
+    private BloonOrganizer bloonOrg;
+    private DartOrganizer dartOrg;
+    private TargetIndex targets;
+    private ArrayList<MonkeyModel> monkeys;
+    private Random random;
+
+    /**
+     * This is the BenchFixture class' Constructor. It fills the track with 'bloonCount' Bloons from the
+     * source passed in (SYNTHETIC or LEVELS), using the seed for anything random.
+     */
+    public BenchFixture(String source, int bloonCount, long seed){
+        SimulationListener listener = new SimulationListener(){};
+        this.bloons = new BloonStore();
+        this.bank = new MoneyTracker();
+        this.bloonOrg = new BloonOrganizer(this.bloons, this.bank, listener);
+        this.dartOrg = new DartOrganizer(this.bloons, this.bloonOrg, listener);
+        this.targets = new TargetIndex(this.bloons);
+        this.monkeys = new ArrayList<>();
+        this.random = new Random(seed);
+
+        // AndyBloons start a little further back, so each Bloon is sifted into place as it is added.
+        double step = TRACK.getLength() * SPREAD / bloonCount;
+        int event = 0;
+        for (int i = 0; i < bloonCount; i++){
+            double distance = TRACK.getLength() * SPREAD - i * step;
+            int slot;
+            switch (source){
+                case LEVELS:
+                    slot = this.bloons.add(WAVES.getStrength(event), WAVES.getCamo(event), distance, 0);
+                    event = (event + 1) % WAVES.getFirstEvent(WAVES.getLevelCount());
+                    break;
+                default:
+                    slot = this.bloons.add(SYNTHETIC_STRENGTHS[i % SYNTHETIC_STRENGTHS.length],
+                            i % CAMO_EVERY == 0, distance, 0);
+                    break;
+            }
+            this.bloons.sift(slot);
+        }
+    }
+
+    /**
+     * This method places 'count' fully-upgraded monkeys at random spots on the screen, cycling through
+     * every type of monkey and every targeting priority.
+     */
+    public void addMonkeys(int count){
+        for (int i = 0; i < count; i++){
+            MonkeyModel monkey = new MonkeyModel(MONKEY_TYPES[i % MONKEY_TYPES.length]);
+            monkey.place(this.random.nextDouble() * SCENE_WIDTH, this.random.nextDouble() * SCENE_HEIGHT);
+            for (int upgrade = 0; upgrade < NUM_UPGRADES; upgrade++){
+                monkey.upgrade(upgrade);
+            }
+            monkey.setPriority(PRIORITIES[(i / MONKEY_TYPES.length) % PRIORITIES.length]);
+            this.monkeys.add(monkey);
+        }
+    }
+
+    /**
+     * This method launches 'count' darts from random spots near random Bloons, each aimed at its Bloon,
+     * with one in every few being a cannonball or a targeting dart, like the monkeys' mix of shots.
+     */
+    public void addDarts(int count){
+        int[] types = {NORMAL_DART, NORMAL_DART, TARGETING_DART, CANNONBALL};
+        for (int i = 0; i < count; i++){
+            int slot = this.random.nextInt(this.bloons.getSize());
+            double fromX = this.bloons.getX(slot) + (this.random.nextDouble() - 0.5) * BOMB_SHOOTER_RANGE;
+            double fromY = this.bloons.getY(slot) + (this.random.nextDouble() - 0.5) * BOMB_SHOOTER_RANGE;
+            double angle = this.bloons.angleFrom(slot, fromX, fromY) - QUART_CIRCLE;
+            int type = types[i % types.length];
+            this.dartOrg.newDart(fromX, fromY, angle, BOMB_SHOOTER_RANGE, type, type == NORMAL_DART,
+                    NM_SHARPNESS_NEW, true, type == CANNONBALL ? NEW_EXPLOSION_RADIUS : 0);
+        }
+    }
+
+    /**
+     * This method takes a snapshot of the Bloons and darts, to be put back by the restore method.
+     */
+    public ByteBuffer save(){
+        ByteBuffer snapshot = ByteBuffer.allocate(Integer.BYTES * 4
+                + this.bloons.getSize() * SNAPSHOT_BYTES_PER_BLOON
+                + this.dartOrg.getDartCount() * SNAPSHOT_BYTES_PER_DART);
+        this.bloons.save(snapshot);
+        this.dartOrg.save(snapshot);
+        return snapshot.flip();
+    }
+
+    /**
+     * This method puts the Bloons and darts back to how they were when the snapshot passed in was taken,
+     * and marks the TargetIndex as out of date.
+     */
+    public void restore(ByteBuffer snapshot){
+        ByteBuffer buffer = snapshot.duplicate();
+        this.bloons.load(buffer);
+        this.dartOrg.load(buffer);
+        this.targets.invalidate();
+    }
+
+    /**
+     * Accessor method to get the BloonStore.
+     */
+    public BloonStore getBloons(){
+        return this.bloons;
+    }
+
+    /**
+     * Accessor method to get the BloonOrganizer.
+     */
+    public BloonOrganizer getBloonOrg(){
+        return this.bloonOrg;
+    }
+
+    /**
+     * Accessor method to get the DartOrganizer.
+     */
+    public DartOrganizer getDartOrg(){
+        return this.dartOrg;
+    }
+
+    /**
+     * Accessor method to get the TargetIndex over the BloonStore.
+     */
+    public TargetIndex getTargets(){
+        return this.targets;
+    }
+
+    /**
+     * Accessor method to get the monkeys placed by the addMonkeys method.
+     */
+    public ArrayList<MonkeyModel> getMonkeys(){
+        return this.monkeys;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,50 @@
+package indy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * This is the BenchmarkMain class. It is the main class of benchmarks.jar, and it runs the benchmarks
+ * just like JMH's own main class does, taking all of the same arguments (such as a pattern to pick which
+ * benchmarks run, or -p bloons=1000 to pick the counts), except that unless it is told otherwise it
+ * writes the results as JSON to a new file in the results directory, named with the time of the run, so
+ * that runs can be kept and compared with each other over time.
+ */
+public class BenchmarkMain {
+
+    private static final String RESULTS_DIRECTORY = "results";
+    private static final DateTimeFormatter RUN_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+
+    /**
+     * This method reads the arguments, picks the results file, and runs the benchmarks. Asking for the
+     * help or the list of benchmarks is passed straight on to JMH.
+     */
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()){
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()){
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()){
+            Path directory = Files.createDirectories(Path.of(RESULTS_DIRECTORY));
+            options.result(directory.resolve("jmh-" + LocalDateTime.now().format(RUN_TIME) + ".json").toString());
+        }
+        new Runner(options.build()).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package indy;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This is the BloonBenchmark class. It times moving every Bloon by one tick. The moveAllBloons benchmark
+ * is the BloonOrganizer's whole pass: moving, leaking, and keeping the store sorted by distance traveled
+ * (the job that DoublyLinkedList.moveForward used to do). The moveBloons benchmark only moves each Bloon
+ * in the BloonStore, so the difference between the two is the cost of keeping the Bloons in order.
+ *
+ * Each benchmark call moves the Bloons by one tick. Every iteration is a single timed batch of BATCH_TICKS
+ * calls, starting from the same fixture, which is put back before every iteration (outside of the timing),
+ * and the times are reported per tick (JMH doesn't divide a single shot by its batch size, so each call is
+ * counted as BATCH_TICKS operations instead). Timing whole batches, rather than putting the fixture back
+ * before every call, keeps JMH's own timestamps and setup out of the results even with only ten Bloons.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 100, batchSize = BloonBenchmark.BATCH_TICKS)
+@Measurement(iterations = 100, batchSize = BloonBenchmark.BATCH_TICKS)
+public class BloonBenchmark {
+
+    private static final long SEED = 15;
+    static final int BATCH_TICKS = 200;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    private int bloons;
+
+    @Param({BenchFixture.SYNTHETIC, BenchFixture.LEVELS})
+    private String fixture;
+
+    private BenchFixture state;
+    private ByteBuffer snapshot;
+
+    /**
+     * This method builds the fixture once, and takes the snapshot that every batch starts from.
+     */
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.state = new BenchFixture(this.fixture, this.bloons, SEED);
+        this.snapshot = this.state.save();
+    }
+
+    /**
+     * This method puts the Bloons back where they started before every batch.
+     */
+    @Setup(Level.Iteration)
+    public void reset(){
+        this.state.restore(this.snapshot);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_TICKS)
+    public void moveAllBloons(){
+        this.state.getBloonOrg().moveAllBloons();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_TICKS)
+    public boolean moveBloons(){
+        BloonStore store = this.state.getBloons();
+        boolean moved = false;
+        for (int slot = 0; slot < store.getSize(); slot++){
+            moved |= store.move(slot);
+        }
+        return moved;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package indy;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This is the DartBenchmark class. It times the DartOrganizer's moveDarts, which lists every Bloon in the
+ * SpatialGrid and then moves every dart and cannonball and checks it against the Bloons near it, popping,
+ * splitting, and exploding as it goes. The darts are launched from around random Bloons, aimed at them, so
+ * they hit things like they do in the game.
+ *
+ * Each benchmark call moves the darts by one tick. Every iteration is a single timed batch of BATCH_TICKS
+ * calls (about as long as a dart flies), starting from the same fixture, which is put back before every
+ * iteration (outside of the timing), and the times are reported per tick (JMH doesn't divide a single
+ * shot by its batch size, so each call is counted as BATCH_TICKS operations instead).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 100, batchSize = DartBenchmark.BATCH_TICKS)
+@Measurement(iterations = 100, batchSize = DartBenchmark.BATCH_TICKS)
+public class DartBenchmark {
+
+    private static final long SEED = 15;
+    static final int BATCH_TICKS = 100;
+
+    @Param({"10", "100", "1000"})
+    private int darts;
+
+    @Param({"100", "10000"})
+    private int bloons;
+
+    @Param({BenchFixture.SYNTHETIC, BenchFixture.LEVELS})
+    private String fixture;
+
+    private BenchFixture state;
+    private ByteBuffer snapshot;
+
+    /**
+     * This method builds the fixture and launches the darts once, and takes the snapshot that every batch
+     * starts from.
+     */
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.state = new BenchFixture(this.fixture, this.bloons, SEED);
+        this.state.addDarts(this.darts);
+        this.snapshot = this.state.save();
+    }
+
+    /**
+     * This method puts the Bloons and darts back where they started before every batch.
+     */
+    @Setup(Level.Iteration)
+    public void reset(){
+        this.state.restore(this.snapshot);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_TICKS)
+    public void moveDarts(){
+        this.state.getDartOrg().moveDarts();
+        this.state.getBloons().compact();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+package indy;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * This is the MonkeyBenchmark class. It times one tick of aiming: the TargetIndex is marked out of date
+ * (as the Simulation does once the Bloons have moved), and then every monkey aims, so the time includes
+ * rebuilding the index for the first monkey that asks. The monkeys cycle through every type and every
+ * targeting priority, and their shot clocks run just as they do in the game, so some ticks a monkey is
+ * still waiting to shoot and doesn't look for a target at all. Aiming never changes the Bloons, so the
+ * fixture doesn't need to be put back.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class MonkeyBenchmark {
+
+    private static final long SEED = 15;
+
+    @Param({"1", "10", "100"})
+    private int monkeys;
+
+    @Param({"10", "1000", "100000"})
+    private int bloons;
+
+    @Param({BenchFixture.SYNTHETIC, BenchFixture.LEVELS})
+    private String fixture;
+
+    private BenchFixture state;
+
+    /**
+     * This method builds the fixture and places the monkeys once.
+     */
+    @Setup(Level.Trial)
+    public void setUp(){
+        this.state = new BenchFixture(this.fixture, this.bloons, SEED);
+        this.state.addMonkeys(this.monkeys);
+    }
+
+    @Benchmark
+    public void aim(Blackhole blackhole){
+        TargetIndex targets = this.state.getTargets();
+        ArrayList<MonkeyModel> placed = this.state.getMonkeys();
+        targets.invalidate();
+        for (int i = 0; i < placed.size(); i++){
+            blackhole.consume(placed.get(i).aim(targets));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,65 @@
+package indy;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import static indy.SimConstants.*;
+
+/**
+ * This is the TrackBenchmark class. It times looking up where on the screen a Bloon is from how far it
+ * has traveled along the track, which every Bloon does on every tick (this used to be each track Node's
+ * getDist, and is now the TRACK PathTable). Each lookup starts from the segment the Bloon was on a tick
+ * earlier, just like in the game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TrackBenchmark {
+
+    private static final long SEED = 15;
+    private static final double MAX_SPEED = 4;
+
+    @Param({"10", "1000", "100000"})
+    private int bloons;
+
+    private double[] distances;
+    private int[] hints;
+
+    /**
+     * This method picks a random distance along the track for every Bloon, and the segment it was on
+     * one tick earlier.
+     */
+    @Setup
+    public void setUp(){
+        Random random = new Random(SEED);
+        this.distances = new double[this.bloons];
+        this.hints = new int[this.bloons];
+        for (int i = 0; i < this.bloons; i++){
+            this.distances[i] = random.nextDouble() * TRACK.getLength();
+            this.hints[i] = TRACK.segmentAt(Math.max(0, this.distances[i] - MAX_SPEED), 0);
+        }
+    }
+
+    @Benchmark
+    public void lookUpPositions(Blackhole blackhole){
+        for (int i = 0; i < this.bloons; i++){
+            int segment = TRACK.segmentAt(this.distances[i], this.hints[i]);
+            blackhole.consume(TRACK.getX(segment, this.distances[i]));
+            blackhole.consume(TRACK.getY(segment, this.distances[i]));
+        }
+    }
+}
\ No newline at end of file